@@ -0,0 +1,265 @@
+package com.example.taskmanager.admission;
+
+import com.example.taskmanager.datasource.DatabaseOperationHandler;
+import com.example.taskmanager.dtos.TaskQuotaDTO;
+import com.example.taskmanager.enums.AdmissionResult;
+import com.example.taskmanager.exceptions.DuplicateTaskException;
+import com.example.taskmanager.exceptions.TaskLimitExceededException;
+import com.example.taskmanager.repositories.TaskRepository;
+import com.example.taskmanager.services.TaskQuotaService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admits task creates against the quota of their owner and the titles the owner already uses, without querying
+ * the database.
+ * <p>
+ * A create first reserves its title and a quota slot with {@link #tryAdmit(String, String)}, then either
+ * {@link #confirm confirms} the reservation once its transaction has committed or {@link #release releases} it if
+ * the transaction failed. Reserved slots count towards the quota, so concurrent creates cannot overshoot it.
+ * A rename reserves the new title the same way with {@link #tryReserveTitle(Long, String)} and records it with
+ * {@link #retitled} or gives it back with {@link #releaseTitle}.
+ * Every owner has a counter of its own, so creates of different owners never contend.
+ * The unique constraint on {@code task (owner, title)} remains the authority for writes this instance did not see,
+ * such as other instances.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@EnableConfigurationProperties(TaskQuotaProperties.class)
+public class TaskAdmissionControl implements TaskQuotaService {
+
+    public static final String DEFAULT_OWNER = "default";
+
+    private static final Long RESERVED = -1L;
+
+    private final TaskRepository taskRepository;
+    private final TaskQuotaProperties quotaProperties;
+
+    private final Map<String, Quota> quotas = new ConcurrentHashMap<>();
+    private final Map<TaskKey, Long> idsByKey = new ConcurrentHashMap<>();
+    private final Map<Long, TaskKey> keysById = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the owner a task is counted against.
+     */
+    public static String ownerOf(String owner) {
+        return owner == null || owner.isBlank() ? DEFAULT_OWNER : owner;
+    }
+
+    /**
+     * Loads the current tasks, one query at startup.
+     */
+    @PostConstruct
+    public void seed() {
+        List<TaskRepository.TaskTitle> tasks = DatabaseOperationHandler.execute(taskRepository::findAllTitlesBy);
+        quotas.clear();
+        idsByKey.clear();
+        keysById.clear();
+        for (TaskRepository.TaskTitle task : tasks) {
+            String owner = ownerOf(task.getOwner());
+            bind(task.getId(), new TaskKey(owner, task.getTitle()));
+            quota(owner).used.incrementAndGet();
+        }
+        log.info("Task admission control seeded with {} tasks of {} owners", tasks.size(), quotas.size());
+    }
+
+    /**
+     * Reserves the title and a slot in the quota of the owner.
+     *
+     * @param owner the owner of the task to be created.
+     * @param title the title of the task to be created.
+     * @return {@link AdmissionResult#ADMITTED} if both were reserved; nothing is reserved otherwise.
+     */
+    public AdmissionResult tryAdmit(String owner, String title) {
+        TaskKey key = new TaskKey(owner, title);
+        if (title != null && idsByKey.putIfAbsent(key, RESERVED) != null) {
+            return AdmissionResult.DUPLICATE;
+        }
+        if (!quota(owner).tryAcquire()) {
+            if (title != null) {
+                idsByKey.remove(key, RESERVED);
+            }
+            return AdmissionResult.LIMIT_EXCEEDED;
+        }
+        return AdmissionResult.ADMITTED;
+    }
+
+    /**
+     * Reserves the title and a slot in the quota of the owner.
+     *
+     * @param owner the owner of the task to be created.
+     * @param title the title of the task to be created.
+     * @throws DuplicateTaskException     if the owner has a task with the title or is creating one.
+     * @throws TaskLimitExceededException if the quota of the owner has been reached.
+     */
+    public void admit(String owner, String title) {
+        switch (tryAdmit(owner, title)) {
+            case DUPLICATE -> throw new DuplicateTaskException("Task with title " + title + " already exists");
+            case LIMIT_EXCEEDED -> throw new TaskLimitExceededException("Task limit exceeded");
+            case ADMITTED -> {
+            }
+        }
+    }
+
+    /**
+     * Turns an admitted reservation into a created task once its transaction has committed.
+     */
+    public void confirm(Long id, String owner, String title) {
+        bind(id, new TaskKey(owner, title));
+    }
+
+    /**
+     * Gives back an admitted reservation whose transaction did not commit.
+     */
+    public void release(String owner, String title) {
+        if (title != null) {
+            idsByKey.remove(new TaskKey(owner, title), RESERVED);
+        }
+        quota(owner).used.decrementAndGet();
+    }
+
+    /**
+     * Reserves a new title for an existing task before the transaction that renames it.
+     *
+     * @param id    the ID of the task to be renamed.
+     * @param title the new title.
+     * @return {@link AdmissionResult#DUPLICATE} if another task of the owner has the title or is being created or
+     * renamed with it, {@link AdmissionResult#ADMITTED} otherwise. Nothing is reserved if the title does not change
+     * or the task is not known to this instance.
+     */
+    public AdmissionResult tryReserveTitle(Long id, String title) {
+        TaskKey current = keysById.get(id);
+        if (current == null || title == null || title.equals(current.title())) {
+            return AdmissionResult.ADMITTED;
+        }
+        return idsByKey.putIfAbsent(new TaskKey(current.owner(), title), RESERVED) == null
+                ? AdmissionResult.ADMITTED
+                : AdmissionResult.DUPLICATE;
+    }
+
+    /**
+     * Reserves a new title for an existing task before the transaction that renames it.
+     *
+     * @param id    the ID of the task to be renamed.
+     * @param title the new title.
+     * @throws DuplicateTaskException if another task of the owner has the title or is being created or renamed with it.
+     */
+    public void reserveTitle(Long id, String title) {
+        if (tryReserveTitle(id, title) == AdmissionResult.DUPLICATE) {
+            throw new DuplicateTaskException("Task with title " + title + " already exists");
+        }
+    }
+
+    /**
+     * Gives back a title reserved for a rename whose transaction did not commit.
+     */
+    public void releaseTitle(Long id, String title) {
+        TaskKey current = keysById.get(id);
+        if (current != null && title != null) {
+            idsByKey.remove(new TaskKey(current.owner(), title), RESERVED);
+        }
+    }
+
+    /**
+     * Records a committed title change.
+     */
+    public void retitled(Long id, String title) {
+        TaskKey previous = keysById.get(id);
+        if (previous == null || Objects.equals(previous.title(), title)) {
+            return;
+        }
+        TaskKey key = new TaskKey(previous.owner(), title);
+        keysById.put(id, key);
+        if (previous.title() != null) {
+            idsByKey.remove(previous, id);
+        }
+        if (title != null) {
+            idsByKey.put(key, id);
+        }
+    }
+
+    /**
+     * Records committed deletes.
+     */
+    public void removed(Iterable<Long> ids) {
+        for (Long id : ids) {
+            TaskKey key = keysById.remove(id);
+            if (key != null) {
+                if (key.title() != null) {
+                    idsByKey.remove(key, id);
+                }
+                quota(key.owner()).used.decrementAndGet();
+            }
+        }
+    }
+
+    @Override
+    public TaskQuotaDTO getQuota(String owner) {
+        Quota quota = quotas.get(owner);
+        return TaskQuotaDTO.builder()
+                .owner(owner)
+                .limit(quota != null ? quota.limit : configuredLimit(owner))
+                .used(quota != null ? quota.used.get() : 0)
+                .build();
+    }
+
+    /**
+     * Overrides the quota of the owner until the next restart. Lowering it below the current usage only blocks
+     * further creates.
+     */
+    @Override
+    public TaskQuotaDTO setLimit(String owner, int limit) {
+        quota(owner).limit = limit;
+        log.info("Task quota of owner {} set to {}", owner, limit);
+        return getQuota(owner);
+    }
+
+    private Quota quota(String owner) {
+        return quotas.computeIfAbsent(owner, key -> new Quota(configuredLimit(key)));
+    }
+
+    private int configuredLimit(String owner) {
+        return quotaProperties.getLimits().getOrDefault(owner, quotaProperties.getDefaultLimit());
+    }
+
+    private void bind(Long id, TaskKey key) {
+        keysById.put(id, key);
+        if (key.title() != null) {
+            idsByKey.put(key, id);
+        }
+    }
+
+    private record TaskKey(String owner, String title) {
+    }
+
+    private static final class Quota {
+
+        private final AtomicInteger used = new AtomicInteger();
+        private volatile int limit;
+
+        Quota(int limit) {
+            this.limit = limit;
+        }
+
+        boolean tryAcquire() {
+            int count;
+            do {
+                count = used.get();
+                if (count >= limit) {
+                    return false;
+                }
+            } while (!used.compareAndSet(count, count + 1));
+            return true;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.taskmanager.admission;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Task quotas bound from {@code taskmanager.quota}.
+ */
+@Data
+@ConfigurationProperties(prefix = "taskmanager.quota")
+public class TaskQuotaProperties {
+
+    /**
+     * Maximum number of tasks of an owner without a limit of its own.
+     */
+    private int defaultLimit = 100;
+
+    /**
+     * Limits of individual owners, by owner.
+     */
+    private Map<String, Integer> limits = new HashMap<>();
+}
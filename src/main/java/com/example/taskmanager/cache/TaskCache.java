@@ -0,0 +1,57 @@
+package com.example.taskmanager.cache;
+
+import com.example.taskmanager.dtos.TaskDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of task snapshots by ID. Hit, miss and eviction counts are published as {@code cache.*} metrics
+ * tagged {@code cache=tasks}.
+ */
+@Component
+@EnableConfigurationProperties(TaskCacheProperties.class)
+public class TaskCache {
+
+    private static final String CACHE_NAME = "tasks";
+
+    private final Cache<Long, TaskDTO> cache;
+
+    public TaskCache(TaskCacheProperties cacheProperties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheProperties.getMaximumSize())
+                .expireAfterWrite(cacheProperties.getExpireAfterWrite())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached task, loading it on a miss. Concurrent misses for the same ID share one load.
+     *
+     * @param id     the ID of the task.
+     * @param loader loads the task, or returns {@code null} if it does not exist; misses are not cached.
+     * @return the task, or {@code null} if it does not exist.
+     */
+    public TaskDTO get(Long id, Function<Long, TaskDTO> loader) {
+        return cache.get(id, loader);
+    }
+
+    public void put(Long id, TaskDTO taskDTO) {
+        cache.put(id, taskDTO);
+    }
+
+    public void evict(Long id) {
+        cache.invalidate(id);
+    }
+
+    public void evictAll(Collection<Long> ids) {
+        cache.invalidateAll(ids);
+    }
+}
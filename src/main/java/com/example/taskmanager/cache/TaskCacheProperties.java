@@ -0,0 +1,28 @@
+package com.example.taskmanager.cache;
+
+import com.example.taskmanager.enums.CacheInvalidationMode;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Task cache settings bound from {@code taskmanager.cache}.
+ */
+@Data
+@ConfigurationProperties(prefix = "taskmanager.cache")
+public class TaskCacheProperties {
+
+    private long maximumSize = 10_000;
+
+    /**
+     * Upper bound on staleness if an invalidation is ever missed.
+     */
+    private Duration expireAfterWrite = Duration.ofMinutes(10);
+
+    /**
+     * {@code LOCAL} evicts only on the instance that made the change; {@code TOPIC} also evicts on every
+     * instance that consumes the change from {@code taskmanager-topic}.
+     */
+    private CacheInvalidationMode invalidation = CacheInvalidationMode.LOCAL;
+}
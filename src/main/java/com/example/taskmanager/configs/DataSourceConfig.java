@@ -1,15 +1,23 @@
 package com.example.taskmanager.configs;
 
 import com.example.taskmanager.datasource.DataSourceContextHolder;
+import com.example.taskmanager.datasource.ReadReplicaRouter;
 import com.example.taskmanager.datasource.RoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 
 import javax.sql.DataSource;
+import java.sql.Connection;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -18,39 +26,76 @@ import java.util.Map;
 @Configuration
 public class DataSourceConfig {
 
+    /**
+     * HikariCP pool of the main database, configured from {@code spring.datasource} (connection and pool settings
+     * such as {@code maximum-pool-size} or {@code connection-timeout} alike). Flyway migrates its schema on startup.
+     */
     @Bean(name = "mainDataSource")
+    @FlywayDataSource
     @ConfigurationProperties(prefix = "spring.datasource")
-    public DataSource mainDataSource() {
-        return org.springframework.boot.jdbc.DataSourceBuilder.create().build();
+    public HikariDataSource mainDataSource(MeterRegistry meterRegistry) {
+        return pool(meterRegistry);
     }
 
+    /**
+     * HikariCP pool of the backup database, configured from {@code backup.datasource} independently of the main one.
+     * Its schema is migrated by {@link com.example.taskmanager.datasource.BackupSchemaMigrator}.
+     */
     @Bean(name = "backupDataSource")
     @ConfigurationProperties(prefix = "backup.datasource")
-    public DataSource backupDataSource() {
-        return org.springframework.boot.jdbc.DataSourceBuilder.create().build();
+    public HikariDataSource backupDataSource(MeterRegistry meterRegistry) {
+        return pool(meterRegistry);
     }
 
     @Bean
-    @Primary
-    public DataSource dataSource(@Qualifier("mainDataSource") DataSource mainDataSource,
-                                 @Qualifier("backupDataSource") DataSource backupDataSource) {
+    public RoutingDataSource dataSource(@Qualifier("mainDataSource") DataSource mainDataSource,
+                                        @Qualifier("backupDataSource") DataSource backupDataSource) {
         RoutingDataSource routingDataSource = new RoutingDataSource();
         Map<Object, Object> dataSourceMap = new HashMap<>();
-        dataSourceMap.put("MAIN", mainDataSource);
-        dataSourceMap.put("BACKUP", backupDataSource);
+        dataSourceMap.put(DataSourceContextHolder.MAIN, mainDataSource);
+        dataSourceMap.put(DataSourceContextHolder.BACKUP, backupDataSource);
         routingDataSource.setTargetDataSources(dataSourceMap);
         routingDataSource.setDefaultTargetDataSource(mainDataSource);
         routingDataSource.afterPropertiesSet();
         return routingDataSource;
     }
 
+    /**
+     * Data source of the application. Fetches a connection only for the first statement of a transaction, by when
+     * it is known whether the transaction is read-only, so that read-only transactions can go to a read replica.
+     */
+    @Bean
+    @Primary
+    public DataSource readWriteDataSource(@Qualifier("dataSource") RoutingDataSource routingDataSource,
+                                          ReadReplicaRouter readReplicaRouter) {
+        routingDataSource.setReadReplicaRouter(readReplicaRouter);
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy();
+        dataSource.setTargetDataSource(routingDataSource);
+        // the defaults of both HikariCP and the databases; set so that startup does not fetch a connection for them
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        dataSource.afterPropertiesSet();
+        return dataSource;
+    }
+
+    /**
+     * Publishes the {@code hikaricp.connections.*} meters of the pool, tagged with its {@code pool-name}.
+     */
+    private static HikariDataSource pool(MeterRegistry meterRegistry) {
+        HikariDataSource dataSource = DataSourceBuilder.create().type(HikariDataSource.class).build();
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return dataSource;
+    }
+
     public static void switchToBackup() {
-        log.info("Switching to backup data source (PostgreSQL)");
-        DataSourceContextHolder.setDataSourceKey("BACKUP");
+        if (DataSourceContextHolder.setDataSourceKey(DataSourceContextHolder.BACKUP)) {
+            log.warn("Switched all requests to backup data source (PostgreSQL)");
+        }
     }
 
     public static void switchToMain() {
-        log.info("Switching to main data source (H2)");
-        DataSourceContextHolder.setDataSourceKey("MAIN");
+        if (DataSourceContextHolder.setDataSourceKey(DataSourceContextHolder.MAIN)) {
+            log.info("Switched all requests back to main data source (H2)");
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.example.taskmanager.configs;
+
+import com.example.taskmanager.datasource.DataSourceContextHolder;
+import com.example.taskmanager.datasource.DataSourceResilienceProperties;
+import com.example.taskmanager.datasource.DatabaseOperationHandler;
+import com.example.taskmanager.enums.CircuitBreakerState;
+import com.example.taskmanager.enums.FailoverReason;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Applies {@code taskmanager.datasource.resilience} to {@link DatabaseOperationHandler} and publishes
+ * {@code taskmanager.datasource.circuit} (1 for the current state of each breaker, tagged {@code datasource} and
+ * {@code state}) and {@code taskmanager.datasource.failovers} (attempts that went to the backup database, tagged
+ * {@code reason}).
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceResilienceProperties.class)
+public class DataSourceResilienceConfig {
+
+    public DataSourceResilienceConfig(DataSourceResilienceProperties resilienceProperties, MeterRegistry meterRegistry) {
+        DatabaseOperationHandler.configure(resilienceProperties);
+
+        for (String key : List.of(DataSourceContextHolder.MAIN, DataSourceContextHolder.BACKUP)) {
+            for (CircuitBreakerState state : CircuitBreakerState.values()) {
+                Gauge.builder("taskmanager.datasource.circuit", () -> DatabaseOperationHandler.getCircuitState(key) == state ? 1 : 0)
+                        .description("1 while the circuit breaker of the tagged database is in the tagged state")
+                        .tag("datasource", key.toLowerCase(Locale.ROOT))
+                        .tag("state", state.name().toLowerCase(Locale.ROOT))
+                        .register(meterRegistry);
+            }
+        }
+        for (FailoverReason reason : FailoverReason.values()) {
+            FunctionCounter.builder("taskmanager.datasource.failovers", reason, DatabaseOperationHandler::getFailoverCount)
+                    .description("Database operation attempts that went to the backup database")
+                    .tag("reason", reason.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry);
+        }
+    }
+}
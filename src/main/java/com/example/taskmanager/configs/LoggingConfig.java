@@ -0,0 +1,18 @@
+package com.example.taskmanager.configs;
+
+import com.example.taskmanager.logging.PayloadLogSampler;
+import com.example.taskmanager.logging.TaskLoggingProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Applies {@code taskmanager.logging} to {@link PayloadLogSampler}.
+ */
+@Configuration
+@EnableConfigurationProperties(TaskLoggingProperties.class)
+public class LoggingConfig {
+
+    public LoggingConfig(TaskLoggingProperties loggingProperties) {
+        PayloadLogSampler.configure(loggingProperties);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.taskmanager.configs.kafka;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Listener tuning bound from {@code taskmanager.kafka.consumer}.
+ */
+@Data
+@ConfigurationProperties(prefix = "taskmanager.kafka.consumer")
+public class KafkaConsumerProperties {
+
+    /**
+     * Number of listener threads; 0 matches the partition count of the topic. Threads beyond it stay idle.
+     */
+    private int concurrency = 0;
+
+    private int maxPollRecords = 500;
+
+    /**
+     * Redeliveries of a failed record before it is published to the dead-letter topic.
+     */
+    private long retryAttempts = 2;
+
+    private long retryBackoffMs = 500;
+}
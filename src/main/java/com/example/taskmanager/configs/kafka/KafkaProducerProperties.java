@@ -0,0 +1,37 @@
+package com.example.taskmanager.configs.kafka;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Producer tuning bound from {@code taskmanager.kafka.producer}.
+ * The defaults favour throughput; the {@code kafka-throughput} and {@code kafka-low-latency} profiles override them.
+ */
+@Data
+@ConfigurationProperties(prefix = "taskmanager.kafka.producer")
+public class KafkaProducerProperties {
+
+    /**
+     * Upper bound in bytes of a per-partition batch.
+     */
+    private int batchSize = 65536;
+
+    /**
+     * How long the producer waits for a batch to fill before sending it.
+     */
+    private long lingerMs = 10;
+
+    /**
+     * One of none, gzip, snappy, lz4 or zstd.
+     */
+    private String compressionType = "lz4";
+
+    private boolean enableIdempotence = true;
+
+    private String acks = "all";
+
+    /**
+     * Must stay at 5 or below while idempotence is enabled to keep per-partition ordering.
+     */
+    private int maxInFlightRequestsPerConnection = 5;
+}
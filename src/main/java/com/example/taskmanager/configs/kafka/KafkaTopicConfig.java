@@ -1,16 +1,64 @@
 package com.example.taskmanager.configs.kafka;
 
+import lombok.RequiredArgsConstructor;
 import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.config.TopicConfig;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.TopicBuilder;
 
 @Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(KafkaTopicProperties.class)
 public class KafkaTopicConfig {
+
+    public static final String TASK_TOPIC = "taskmanager-topic";
+    public static final String TASK_DEAD_LETTER_TOPIC = TASK_TOPIC + ".DLT";
+    public static final String TASK_DUE_TOPIC = "taskmanager-due-topic";
+
+    private final KafkaTopicProperties topicProperties;
+
     @Bean
     public NewTopic parserConfig() {
         return TopicBuilder
-                .name("taskmanager-topic")
+                .name(TASK_TOPIC)
+                .partitions(topicProperties.getPartitions())
+                .replicas(topicProperties.getReplicationFactor())
+                .config(TopicConfig.CLEANUP_POLICY_CONFIG, topicProperties.getCleanupPolicy())
+                .config(TopicConfig.SEGMENT_BYTES_CONFIG, String.valueOf(topicProperties.getSegmentBytes()))
+                .config(TopicConfig.RETENTION_MS_CONFIG, String.valueOf(topicProperties.getRetentionMs()))
+                .config(TopicConfig.RETENTION_BYTES_CONFIG, String.valueOf(topicProperties.getRetentionBytes()))
+                .config(TopicConfig.DELETE_RETENTION_MS_CONFIG, String.valueOf(topicProperties.getDeleteRetentionMs()))
+                .config(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, String.valueOf(topicProperties.getMinInsyncReplicas()))
+                .build();
+    }
+
+    /**
+     * Poison records are kept until they have been inspected, so the dead-letter topic is never compacted.
+     */
+    @Bean
+    public NewTopic deadLetterTopic() {
+        return TopicBuilder
+                .name(TASK_DEAD_LETTER_TOPIC)
+                .partitions(topicProperties.getPartitions())
+                .replicas(topicProperties.getReplicationFactor())
+                .config(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, String.valueOf(topicProperties.getMinInsyncReplicas()))
+                .build();
+    }
+
+    /**
+     * Due and overdue notifications are not task state: on the compacted task topic they would replace the latest
+     * state of their task, so they go to a topic of their own that is only ever cleaned up by retention.
+     */
+    @Bean
+    public NewTopic dueTopic() {
+        return TopicBuilder
+                .name(TASK_DUE_TOPIC)
+                .partitions(topicProperties.getPartitions())
+                .replicas(topicProperties.getReplicationFactor())
+                .config(TopicConfig.RETENTION_MS_CONFIG, String.valueOf(topicProperties.getRetentionMs()))
+                .config(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, String.valueOf(topicProperties.getMinInsyncReplicas()))
                 .build();
     }
-}
\ No newline at end of file
+}
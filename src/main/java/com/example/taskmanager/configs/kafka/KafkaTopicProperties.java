@@ -0,0 +1,42 @@
+package com.example.taskmanager.configs.kafka;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Definition of {@code taskmanager-topic} bound from {@code taskmanager.kafka.topic}.
+ * Partitions can be added to an existing topic but never removed, and adding them moves keys to other partitions,
+ * so events of a task may be reordered while a resize is in flight.
+ */
+@Data
+@ConfigurationProperties(prefix = "taskmanager.kafka.topic")
+public class KafkaTopicProperties {
+
+    /**
+     * Upper bound of consumer parallelism per consumer group.
+     */
+    private int partitions = 6;
+
+    private int replicationFactor = 1;
+
+    /**
+     * With compaction the topic keeps the latest event of every task, which is all a projection rebuild needs.
+     */
+    private String cleanupPolicy = "compact";
+
+    private long segmentBytes = 104857600;
+
+    /**
+     * Only applies when the cleanup policy includes delete.
+     */
+    private long retentionMs = 604800000;
+
+    private long retentionBytes = -1;
+
+    /**
+     * How long tombstones stay readable; a consumer rebuilding from scratch must finish within this window.
+     */
+    private long deleteRetentionMs = 86400000;
+
+    private int minInsyncReplicas = 1;
+}
@@ -1,7 +1,13 @@
 package com.example.taskmanager.controllers;
 
 
+import com.example.taskmanager.dtos.BatchResultDTO;
 import com.example.taskmanager.dtos.TaskDTO;
+import com.example.taskmanager.dtos.TaskFilterDTO;
+import com.example.taskmanager.dtos.TaskPageDTO;
+import com.example.taskmanager.enums.Priority;
+import com.example.taskmanager.enums.TaskSortField;
+import com.example.taskmanager.exceptions.TaskVersionMismatchException;
 import com.example.taskmanager.models.Task;
 import com.example.taskmanager.services.TaskService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -9,14 +15,22 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+/**
+ * Single tasks carry their version as a strong ETag. GET answers a matching {@code If-None-Match} with 304 and no
+ * body; PUT, PATCH and DELETE with {@code If-Match} only apply to that version of the task and answer 412 otherwise.
+ */
 @RestController
 @AllArgsConstructor
 @RequestMapping("/api/v1")
@@ -38,45 +52,71 @@ public class TaskController {
     @Operation(summary = "Get a task by ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved task"),
+            @ApiResponse(responseCode = "304", description = "Task unchanged since the version in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Task not found")
     })
     @GetMapping("/task/{id}")
-    public ResponseEntity<Task> getTaskById(@PathVariable Long id) {
+    public ResponseEntity<Task> getTaskById(@PathVariable Long id, WebRequest request) {
         Optional<Task> task = taskService.getTaskById(id);
-        return task.map(ResponseEntity::ok)
-                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+        if (task.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        Long version = task.get().getVersion();
+        if (version != null && request.checkNotModified(eTag(version))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag(version)).build();
+        }
+        return ok(task.get(), version);
     }
 
-    @Operation(summary = "Get all tasks")
+    @Operation(summary = "Get a page of tasks",
+            description = "Keyset-paginated listing. Pass the returned nextCursor back to fetch the following page.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Successfully retrieved list of tasks")
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved page of tasks"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or filter")
     })
     @GetMapping("/task")
-    public ResponseEntity<List<TaskDTO>> getAllTasks() {
-        List<TaskDTO> taskList = taskService.getAllTasks();
-        return ResponseEntity.ok(taskList);
+    public ResponseEntity<TaskPageDTO> getAllTasks(
+            @RequestParam(required = false) Boolean completed,
+            @RequestParam(required = false) Priority priority,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueTo,
+            @RequestParam(defaultValue = "ID") TaskSortField sortBy,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        TaskFilterDTO filter = TaskFilterDTO.builder()
+                .completed(completed)
+                .priority(priority)
+                .dueFrom(dueFrom)
+                .dueTo(dueTo)
+                .build();
+        TaskPageDTO taskPage = taskService.getAllTasks(filter, sortBy, cursor, limit);
+        return ResponseEntity.ok(taskPage);
     }
 
     @Operation(summary = "Update an existing task")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully updated task"),
             @ApiResponse(responseCode = "404", description = "Task not found"),
-            @ApiResponse(responseCode = "400", description = "Invalid input")
+            @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "412", description = "Task changed since the version in If-Match")
     })
     @PutMapping("/task/{id}")
-    public ResponseEntity<TaskDTO> updateTask(@PathVariable Long id, @RequestBody @Valid TaskDTO taskDTO) {
-        TaskDTO updatedTask = taskService.updateTask(id, taskDTO);
-        return ResponseEntity.ok(updatedTask);
+    public ResponseEntity<TaskDTO> updateTask(@PathVariable Long id, @RequestBody @Valid TaskDTO taskDTO,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        TaskDTO updatedTask = taskService.updateTask(id, taskDTO, expectedVersion(ifMatch));
+        return ok(updatedTask, updatedTask.getVersion());
     }
 
     @Operation(summary = "Delete a task by ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully deleted task"),
-            @ApiResponse(responseCode = "404", description = "Task not found")
+            @ApiResponse(responseCode = "404", description = "Task not found"),
+            @ApiResponse(responseCode = "412", description = "Task changed since the version in If-Match")
     })
     @DeleteMapping("/task/{id}")
-    public ResponseEntity<String> deleteTask(@PathVariable Long id) {
-        String result = taskService.deleteTask(id);
+    public ResponseEntity<String> deleteTask(@PathVariable Long id,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        String result = taskService.deleteTask(id, expectedVersion(ifMatch));
         return ResponseEntity.ok(result);
     }
 
@@ -84,11 +124,73 @@ public class TaskController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully patched task"),
             @ApiResponse(responseCode = "404", description = "Task not found"),
-            @ApiResponse(responseCode = "400", description = "Invalid input")
+            @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "412", description = "Task changed since the version in If-Match")
     })
     @PatchMapping("/task/{id}")
-    public ResponseEntity<TaskDTO> patchTask(@PathVariable Long id, @RequestBody Map<String, Object> updates) {
-        TaskDTO updatedTask = taskService.patchTask(id, updates);
-        return ResponseEntity.ok(updatedTask);
+    public ResponseEntity<TaskDTO> patchTask(@PathVariable Long id, @RequestBody Map<String, Object> updates,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        TaskDTO updatedTask = taskService.patchTask(id, updates, expectedVersion(ifMatch));
+        return ok(updatedTask, updatedTask.getVersion());
+    }
+
+    @Operation(summary = "Create a batch of tasks in one transaction")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed, see per-item results"),
+            @ApiResponse(responseCode = "400", description = "Batch too large")
+    })
+    @PostMapping("/task/batch")
+    public ResponseEntity<BatchResultDTO> createTasks(@RequestBody List<TaskDTO> taskDTOs) {
+        BatchResultDTO result = taskService.createTasks(taskDTOs);
+        return ResponseEntity.ok(result);
+    }
+
+    @Operation(summary = "Update a batch of tasks in one transaction")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed, see per-item results"),
+            @ApiResponse(responseCode = "400", description = "Batch too large")
+    })
+    @PutMapping("/task/batch")
+    public ResponseEntity<BatchResultDTO> updateTasks(@RequestBody List<TaskDTO> taskDTOs) {
+        BatchResultDTO result = taskService.updateTasks(taskDTOs);
+        return ResponseEntity.ok(result);
+    }
+
+    @Operation(summary = "Delete a batch of tasks by ID in one transaction")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed, see per-item results"),
+            @ApiResponse(responseCode = "400", description = "Batch too large")
+    })
+    @DeleteMapping("/task/batch")
+    public ResponseEntity<BatchResultDTO> deleteTasks(@RequestBody List<Long> ids) {
+        BatchResultDTO result = taskService.deleteTasks(ids);
+        return ResponseEntity.ok(result);
+    }
+
+    private static <T> ResponseEntity<T> ok(T body, Long version) {
+        return version != null ? ResponseEntity.ok().eTag(eTag(version)).body(body) : ResponseEntity.ok(body);
+    }
+
+    private static String eTag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Reads the version a write is conditional on from a single strong entity tag in {@code If-Match}, or
+     * {@code null} without the header or for {@code *}. Any other value can never match an ETag of this controller.
+     */
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.valueOf(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException e) {
+                // not one of our tags
+            }
+        }
+        throw new TaskVersionMismatchException("If-Match " + tag + " does not match the task");
     }
-}
\ No newline at end of file
+}
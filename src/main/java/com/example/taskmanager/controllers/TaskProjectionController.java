@@ -0,0 +1,56 @@
+package com.example.taskmanager.controllers;
+
+import com.example.taskmanager.dtos.TaskDTO;
+import com.example.taskmanager.dtos.TaskFilterDTO;
+import com.example.taskmanager.enums.Priority;
+import com.example.taskmanager.services.TaskProjectionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@AllArgsConstructor
+@RequestMapping("/api/v1/projection")
+public class TaskProjectionController {
+
+    private final TaskProjectionService taskProjectionService;
+
+    @Operation(summary = "Get a task by ID from the read projection",
+            description = "Served from the Kafka-fed projection; may briefly lag behind the main database.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved task"),
+            @ApiResponse(responseCode = "404", description = "Task not found")
+    })
+    @GetMapping("/task/{id}")
+    public ResponseEntity<TaskDTO> getTaskById(@PathVariable Long id) {
+        return ResponseEntity.ok(taskProjectionService.getTask(id));
+    }
+
+    @Operation(summary = "List tasks from the read projection",
+            description = "Served from the Kafka-fed projection in ID order; may briefly lag behind the main database.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved tasks")
+    })
+    @GetMapping("/task")
+    public ResponseEntity<List<TaskDTO>> getTasks(
+            @RequestParam(required = false) Boolean completed,
+            @RequestParam(required = false) Priority priority,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueTo,
+            @RequestParam(defaultValue = "50") int limit) {
+        TaskFilterDTO filter = TaskFilterDTO.builder()
+                .completed(completed)
+                .priority(priority)
+                .dueFrom(dueFrom)
+                .dueTo(dueTo)
+                .build();
+        return ResponseEntity.ok(taskProjectionService.getTasks(filter, limit));
+    }
+}
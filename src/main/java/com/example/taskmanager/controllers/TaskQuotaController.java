@@ -0,0 +1,39 @@
+package com.example.taskmanager.controllers;
+
+import com.example.taskmanager.dtos.TaskQuotaDTO;
+import com.example.taskmanager.services.TaskQuotaService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@AllArgsConstructor
+@RequestMapping("/api/v1/admin")
+public class TaskQuotaController {
+
+    private final TaskQuotaService taskQuotaService;
+
+    @Operation(summary = "Get the task quota and usage of an owner")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved quota")
+    })
+    @GetMapping("/quota/{owner}")
+    public ResponseEntity<TaskQuotaDTO> getQuota(@PathVariable String owner) {
+        return ResponseEntity.ok(taskQuotaService.getQuota(owner));
+    }
+
+    @Operation(summary = "Set the task quota of an owner",
+            description = "Overrides taskmanager.quota on this instance until it restarts.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully set quota"),
+            @ApiResponse(responseCode = "400", description = "Invalid input")
+    })
+    @PutMapping("/quota/{owner}")
+    public ResponseEntity<TaskQuotaDTO> setQuota(@PathVariable String owner, @RequestBody @Valid TaskQuotaDTO quota) {
+        return ResponseEntity.ok(taskQuotaService.setLimit(owner, quota.getLimit()));
+    }
+}
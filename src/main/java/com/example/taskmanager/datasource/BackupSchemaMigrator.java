@@ -0,0 +1,67 @@
+package com.example.taskmanager.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Migrates the schema of the backup database with Flyway. Unlike the main database, whose migration runs before the
+ * application starts, the backup database may be down at startup without keeping the application from serving
+ * requests, so the migration runs on the scheduler and is retried every {@code retry-interval-ms} until it succeeds.
+ * <p>
+ * A backup database that already holds the tables but no migration history is baselined at version 0, so every
+ * migration still runs against it.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(BackupSchemaProperties.class)
+@ConditionalOnProperty(name = "taskmanager.datasource.backup-schema.enabled", havingValue = "true", matchIfMissing = true)
+public class BackupSchemaMigrator {
+
+    private final Flyway flyway;
+    private final BackupSchemaProperties schemaProperties;
+
+    /**
+     * Written only by the scheduler thread.
+     */
+    private volatile boolean migrated;
+
+    public BackupSchemaMigrator(@Qualifier("backupDataSource") DataSource backupDataSource,
+                                BackupSchemaProperties schemaProperties) {
+        this.schemaProperties = schemaProperties;
+        this.flyway = Flyway.configure()
+                .dataSource(backupDataSource)
+                .locations(schemaProperties.getLocations().toArray(String[]::new))
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load();
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${taskmanager.datasource.backup-schema.retry-interval-ms:30000}")
+    public void migrate() {
+        if (migrated) {
+            return;
+        }
+        try {
+            MigrateResult result = flyway.migrate();
+            migrated = true;
+            log.info("Migrated backup database schema to version {}, {} migrations applied",
+                    result.targetSchemaVersion, result.migrationsExecuted);
+        } catch (FlywayException e) {
+            log.warn("Backup database schema migration failed, retrying in {} ms: {}",
+                    schemaProperties.getRetryIntervalMs(), e.getMessage());
+        }
+    }
+
+    public boolean isMigrated() {
+        return migrated;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.taskmanager.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Flyway migration of the backup database bound from {@code taskmanager.datasource.backup-schema}.
+ */
+@Data
+@ConfigurationProperties(prefix = "taskmanager.datasource.backup-schema")
+public class BackupSchemaProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * The migrations shared with the main database followed by the PostgreSQL-only ones.
+     */
+    private List<String> locations = new ArrayList<>(List.of("classpath:db/migration", "classpath:db/postgresql"));
+
+    /**
+     * How long to wait before retrying a migration that failed, e.g. because the backup database was down.
+     */
+    private long retryIntervalMs = 30000;
+}
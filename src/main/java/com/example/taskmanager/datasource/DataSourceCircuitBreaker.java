@@ -0,0 +1,194 @@
+package com.example.taskmanager.datasource;
+
+import com.example.taskmanager.enums.CircuitBreakerState;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Count-based circuit breaker of one target data source.
+ * <p>
+ * While {@link CircuitBreakerState#CLOSED closed} it records the outcome and duration of the last
+ * {@code sliding-window-size} calls and opens once the window holds at least {@code minimum-calls} calls and either
+ * the failure rate or the slow call rate reaches its threshold. An {@link CircuitBreakerState#OPEN open} breaker
+ * rejects calls for {@code open-wait-ms}, then turns {@link CircuitBreakerState#HALF_OPEN half-open} and permits
+ * {@code permitted-half-open-calls} probe calls: it closes if all of them succeed in time and opens again on the
+ * first one that does not.
+ * <p>
+ * Guarded by a {@link ReentrantLock} rather than {@code synchronized}, so that a virtual thread that blocks inside,
+ * e.g. on logging a transition, does not pin its carrier thread.
+ */
+@Slf4j
+public class DataSourceCircuitBreaker {
+
+    private final String name;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final long slowCallDurationNanos;
+    private final int slowCallRateThreshold;
+    private final long openWaitNanos;
+    private final int permittedHalfOpenCalls;
+    private final Consumer<CircuitBreakerState> transitionListener;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final boolean[] failedCalls;
+    private final boolean[] slowCalls;
+    private int next;
+    private int calls;
+    private int failures;
+    private int slow;
+
+    private volatile CircuitBreakerState state = CircuitBreakerState.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    public DataSourceCircuitBreaker(String name,
+                                    DataSourceResilienceProperties.CircuitBreaker properties,
+                                    Consumer<CircuitBreakerState> transitionListener) {
+        this.name = name;
+        this.minimumCalls = Math.min(properties.getMinimumCalls(), properties.getSlidingWindowSize());
+        this.failureRateThreshold = properties.getFailureRateThreshold();
+        this.slowCallDurationNanos = TimeUnit.MILLISECONDS.toNanos(properties.getSlowCallDurationMs());
+        this.slowCallRateThreshold = properties.getSlowCallRateThreshold();
+        this.openWaitNanos = TimeUnit.MILLISECONDS.toNanos(properties.getOpenWaitMs());
+        this.permittedHalfOpenCalls = properties.getPermittedHalfOpenCalls();
+        this.transitionListener = transitionListener;
+        this.failedCalls = new boolean[properties.getSlidingWindowSize()];
+        this.slowCalls = new boolean[properties.getSlidingWindowSize()];
+    }
+
+    /**
+     * Returns whether a call may go to the data source, taking one of the limited probe permits if the breaker is
+     * half-open. Every permitted call must report its outcome through {@link #onResult(boolean, long)}.
+     */
+    public boolean tryAcquirePermission() {
+        if (state == CircuitBreakerState.CLOSED) {
+            return true;
+        }
+        lock.lock();
+        try {
+            if (state == CircuitBreakerState.OPEN) {
+                if (System.nanoTime() - openedAt < openWaitNanos) {
+                    return false;
+                }
+                transitionTo(CircuitBreakerState.HALF_OPEN);
+            }
+            if (state == CircuitBreakerState.HALF_OPEN) {
+                if (halfOpenPermits >= permittedHalfOpenCalls) {
+                    return false;
+                }
+                halfOpenPermits++;
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records the outcome of a permitted call.
+     *
+     * @param failed        whether the call failed because of the data source.
+     * @param durationNanos how long the call took.
+     */
+    public void onResult(boolean failed, long durationNanos) {
+        boolean slowCall = durationNanos >= slowCallDurationNanos;
+        lock.lock();
+        try {
+            record(state, failed, slowCall);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Opens the breaker, restarting the open wait, e.g. because a health check found the data source down.
+     */
+    public void forceOpen() {
+        lock.lock();
+        try {
+            transitionTo(CircuitBreakerState.OPEN);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes the breaker with an empty window, e.g. because a health check found the data source up again.
+     */
+    public void close() {
+        lock.lock();
+        try {
+            transitionTo(CircuitBreakerState.CLOSED);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public CircuitBreakerState getState() {
+        return state;
+    }
+
+    private void record(CircuitBreakerState current, boolean failed, boolean slowCall) {
+        switch (current) {
+            case CLOSED -> {
+                addToWindow(failed, slowCall);
+                if (calls >= minimumCalls
+                        && (failures * 100 >= failureRateThreshold * calls || slow * 100 >= slowCallRateThreshold * calls)) {
+                    log.warn("Circuit breaker of {} data source tripped: {}/{} calls failed, {}/{} calls were slow",
+                            name, failures, calls, slow, calls);
+                    transitionTo(CircuitBreakerState.OPEN);
+                }
+            }
+            case HALF_OPEN -> {
+                if (failed || slowCall) {
+                    transitionTo(CircuitBreakerState.OPEN);
+                } else if (++halfOpenSuccesses >= permittedHalfOpenCalls) {
+                    transitionTo(CircuitBreakerState.CLOSED);
+                }
+            }
+            case OPEN -> {
+                // a call that started before the breaker opened
+            }
+        }
+    }
+
+    private void addToWindow(boolean failed, boolean slowCall) {
+        if (calls == failedCalls.length) {
+            failures -= failedCalls[next] ? 1 : 0;
+            slow -= slowCalls[next] ? 1 : 0;
+        } else {
+            calls++;
+        }
+        failedCalls[next] = failed;
+        slowCalls[next] = slowCall;
+        failures += failed ? 1 : 0;
+        slow += slowCall ? 1 : 0;
+        next = (next + 1) % failedCalls.length;
+    }
+
+    private void transitionTo(CircuitBreakerState target) {
+        CircuitBreakerState previous = state;
+        state = target;
+        switch (target) {
+            case OPEN -> openedAt = System.nanoTime();
+            case HALF_OPEN -> {
+                halfOpenPermits = 0;
+                halfOpenSuccesses = 0;
+            }
+            case CLOSED -> {
+                next = 0;
+                calls = 0;
+                failures = 0;
+                slow = 0;
+            }
+        }
+        if (previous != target) {
+            log.info("Circuit breaker of {} data source changed from {} to {}", name, previous, target);
+            transitionListener.accept(target);
+        }
+    }
+}
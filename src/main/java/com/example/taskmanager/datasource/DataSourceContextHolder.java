@@ -1,16 +1,67 @@
 package com.example.taskmanager.datasource;
 
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Route of the routing data source, shared by all threads so that a failover or failback applies to every request
+ * at once. {@link #callOn(String, Supplier)} pins a single operation of the current thread to a given data source
+ * regardless of the shared route.
+ * <p>
+ * Safe on virtual threads: the route is global rather than per thread, and the pin is bound only while
+ * {@code callOn} runs and is removed afterwards, so nothing outlives the operation or leaks through a pooled
+ * carrier thread. The pin stays a {@link ThreadLocal} because scoped values are still a preview API on the Java
+ * versions the service supports.
+ */
 public class DataSourceContextHolder {
 
-    private static final ThreadLocal<String> CONTEXT = new ThreadLocal<>();
+    public static final String MAIN = "MAIN";
+    public static final String BACKUP = "BACKUP";
+
+    private static final AtomicReference<String> ROUTE = new AtomicReference<>(MAIN);
+    private static final ThreadLocal<String> PINNED = new ThreadLocal<>();
+    private static final AtomicLong SWITCHES_TO_MAIN = new AtomicLong();
+    private static final AtomicLong SWITCHES_TO_BACKUP = new AtomicLong();
 
     private DataSourceContextHolder() {}
 
-    public static void setDataSourceKey(String key) {
-        CONTEXT.set(key);
+    /**
+     * Routes all threads to the data source with the given key.
+     *
+     * @return {@code true} if the route changed.
+     */
+    public static boolean setDataSourceKey(String key) {
+        if (key.equals(ROUTE.getAndSet(key))) {
+            return false;
+        }
+        (MAIN.equals(key) ? SWITCHES_TO_MAIN : SWITCHES_TO_BACKUP).incrementAndGet();
+        return true;
     }
 
     public static String getDataSourceKey() {
-        return CONTEXT.get();
+        String pinned = PINNED.get();
+        return pinned != null ? pinned : ROUTE.get();
+    }
+
+    /**
+     * Runs the operation on the current thread with the data source with the given key.
+     */
+    public static <T> T callOn(String key, Supplier<T> operation) {
+        String previous = PINNED.get();
+        PINNED.set(key);
+        try {
+            return operation.get();
+        } finally {
+            if (previous != null) {
+                PINNED.set(previous);
+            } else {
+                PINNED.remove();
+            }
+        }
+    }
+
+    public static long getSwitchCount(String key) {
+        return (MAIN.equals(key) ? SWITCHES_TO_MAIN : SWITCHES_TO_BACKUP).get();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,93 @@
+package com.example.taskmanager.datasource;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Probes the main database with a validation query and drives the circuit breaker of the main database, and with it
+ * the shared route: the breaker opens as soon as a probe fails, and closes after {@code failback-threshold}
+ * consecutive successful probes even if no request has probed it half-open yet, once the failback guard of
+ * {@link DatabaseOperationHandler} lets it.
+ * <p>
+ * Publishes {@code taskmanager.datasource.route} (1 for the active route, tagged {@code route}) and
+ * {@code taskmanager.datasource.switches} (tagged {@code to}).
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(DataSourceHealthProperties.class)
+@ConditionalOnProperty(name = "taskmanager.datasource.health.enabled", havingValue = "true", matchIfMissing = true)
+public class DataSourceHealthProber {
+
+    private final DataSource mainDataSource;
+    private final DataSourceHealthProperties healthProperties;
+
+    /**
+     * Only touched by the scheduler thread.
+     */
+    private int consecutiveSuccesses;
+
+    public DataSourceHealthProber(@Qualifier("mainDataSource") DataSource mainDataSource,
+                                  DataSourceHealthProperties healthProperties,
+                                  MeterRegistry meterRegistry) {
+        this.mainDataSource = mainDataSource;
+        this.healthProperties = healthProperties;
+
+        for (String route : List.of(DataSourceContextHolder.MAIN, DataSourceContextHolder.BACKUP)) {
+            String tag = route.toLowerCase(Locale.ROOT);
+            Gauge.builder("taskmanager.datasource.route", route, key -> key.equals(DataSourceContextHolder.getDataSourceKey()) ? 1 : 0)
+                    .description("1 while requests are routed to the tagged database")
+                    .tag("route", tag)
+                    .register(meterRegistry);
+            FunctionCounter.builder("taskmanager.datasource.switches", route, DataSourceContextHolder::getSwitchCount)
+                    .description("Route switches to the tagged database")
+                    .tag("to", tag)
+                    .register(meterRegistry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${taskmanager.datasource.health.interval-ms:1000}")
+    public void probe() {
+        boolean onMain = DataSourceContextHolder.MAIN.equals(DataSourceContextHolder.getDataSourceKey());
+        if (!isMainHealthy()) {
+            consecutiveSuccesses = 0;
+            if (onMain) {
+                log.error("Main database failed its health check, switching to backup");
+                DatabaseOperationHandler.openMainCircuit();
+            }
+        } else if (onMain) {
+            consecutiveSuccesses = 0;
+        } else if (++consecutiveSuccesses >= healthProperties.getFailbackThreshold()) {
+            if (DatabaseOperationHandler.closeMainCircuit()) {
+                consecutiveSuccesses = 0;
+            } else {
+                log.debug("Main database is healthy, failback waits for changes on the backup database to reach it");
+            }
+        }
+    }
+
+    private boolean isMainHealthy() {
+        try (Connection connection = mainDataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(healthProperties.getTimeoutSeconds());
+            statement.execute(healthProperties.getValidationQuery());
+            return true;
+        } catch (SQLException | RuntimeException e) {
+            log.warn("Main database health check failed: {}", e.getMessage());
+            return false;
+        }
+    }
+}
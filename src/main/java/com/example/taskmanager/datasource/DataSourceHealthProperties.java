@@ -0,0 +1,26 @@
+package com.example.taskmanager.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Main database health probing bound from {@code taskmanager.datasource.health}.
+ */
+@Data
+@ConfigurationProperties(prefix = "taskmanager.datasource.health")
+public class DataSourceHealthProperties {
+
+    private boolean enabled = true;
+
+    private long intervalMs = 1000;
+
+    private String validationQuery = "SELECT 1";
+
+    private int timeoutSeconds = 2;
+
+    /**
+     * Consecutive successful probes required before switching back to the main database, so that a flapping
+     * database does not bounce requests between the two.
+     */
+    private int failbackThreshold = 3;
+}
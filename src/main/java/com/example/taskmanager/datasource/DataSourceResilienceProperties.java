@@ -0,0 +1,57 @@
+package com.example.taskmanager.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Circuit breaker and retry settings of {@link DatabaseOperationHandler}, bound from
+ * {@code taskmanager.datasource.resilience}.
+ */
+@Data
+@ConfigurationProperties(prefix = "taskmanager.datasource.resilience")
+public class DataSourceResilienceProperties {
+
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    private Retry retry = new Retry();
+
+    @Data
+    public static class CircuitBreaker {
+
+        /**
+         * Number of most recent calls the failure and slow call rates are computed over.
+         */
+        private int slidingWindowSize = 20;
+
+        /**
+         * Calls the window must hold before the breaker may trip.
+         */
+        private int minimumCalls = 10;
+
+        private int failureRateThreshold = 50;
+
+        private long slowCallDurationMs = 2000;
+
+        private int slowCallRateThreshold = 80;
+
+        /**
+         * Time an open breaker rejects calls before letting half-open probes through.
+         */
+        private long openWaitMs = 10000;
+
+        private int permittedHalfOpenCalls = 3;
+    }
+
+    @Data
+    public static class Retry {
+
+        /**
+         * Attempts per operation, including the first one.
+         */
+        private int maxAttempts = 3;
+
+        private long initialBackoffMs = 50;
+
+        private long maxBackoffMs = 1000;
+    }
+}
@@ -2,23 +2,239 @@ package com.example.taskmanager.datasource;
 
 
 import com.example.taskmanager.configs.DataSourceConfig;
+import com.example.taskmanager.enums.CircuitBreakerState;
+import com.example.taskmanager.enums.FailoverReason;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.dao.DataAccessException;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.transaction.CannotCreateTransactionException;
 
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
 import java.util.function.Supplier;
 
+/**
+ * Runs database operations behind a circuit breaker per data source.
+ * <p>
+ * An operation goes to the main database unless its breaker is open, in which case it goes straight to the backup
+ * database. Failures that may succeed on another attempt, such as a connection that cannot be obtained or a query
+ * timeout, are counted by the breaker and retried on the other data source after a jittered backoff, up to
+ * {@code max-attempts} attempts in total. Any other failure, such as a constraint violation, comes from the data
+ * rather than the database and is rethrown as it is. So is a concurrency failure such as a deadlock, a lock wait
+ * timeout or a version conflict: it says the database is up and busy with conflicting work, and the caller has to
+ * decide whether to repeat its transaction.
+ * <p>
+ * The shared route follows the breaker of the main database: it switches to the backup database when the breaker
+ * opens and back once it closes. {@link DataSourceHealthProber} opens and closes the breaker as well.
+ * <p>
+ * A failover guard can hold operations back from the backup database, e.g. while it lags too far behind the main
+ * one; they then keep retrying the main database within their attempts. A failback guard likewise keeps the breaker
+ * of the main database from closing, e.g. while changes made on the backup database have not reached the main one.
+ */
 @Slf4j
 public class DatabaseOperationHandler {
 
+    private static final BooleanSupplier ALWAYS = () -> true;
+
+    private static final Map<FailoverReason, AtomicLong> FAILOVERS = new EnumMap<>(FailoverReason.class);
+
+    static {
+        for (FailoverReason reason : FailoverReason.values()) {
+            FAILOVERS.put(reason, new AtomicLong());
+        }
+    }
+
+    private static volatile Policy policy = new Policy(new DataSourceResilienceProperties());
+    private static volatile BooleanSupplier failoverGuard = ALWAYS;
+    private static volatile BooleanSupplier failbackGuard = ALWAYS;
+
     private DatabaseOperationHandler(){}
 
+    /**
+     * Replaces the breakers and retry settings; the new breakers start closed.
+     */
+    public static void configure(DataSourceResilienceProperties properties) {
+        policy = new Policy(properties);
+        DataSourceConfig.switchToMain();
+    }
+
+    /**
+     * Sets the condition under which operations may go to the backup database; {@code null} always lets them.
+     */
+    public static void setFailoverGuard(BooleanSupplier guard) {
+        failoverGuard = guard != null ? guard : ALWAYS;
+    }
+
+    /**
+     * Sets the condition under which the breaker of the main database may leave the open state; {@code null} always
+     * lets it.
+     */
+    public static void setFailbackGuard(BooleanSupplier guard) {
+        failbackGuard = guard != null ? guard : ALWAYS;
+    }
+
     public static <T> T execute(Supplier<T> operation) {
-        try {
-            return operation.get();
-        } catch (DataAccessException ex) {
-            log.error("Main database failed, switching to backup", ex);
-            DataSourceConfig.switchToBackup();
-            return operation.get();
+        Policy current = policy;
+        RuntimeException failure = null;
+        String failedKey = null;
+        for (int attempt = 1; attempt <= current.retry.getMaxAttempts(); attempt++) {
+            if (attempt > 1 && !current.backOff(attempt - 1)) {
+                break;
+            }
+            String key = current.acquire(failedKey);
+            if (key == null) {
+                break;
+            }
+            if (DataSourceContextHolder.BACKUP.equals(key)) {
+                FAILOVERS.get(failedKey == null ? FailoverReason.CIRCUIT_OPEN : FailoverReason.ERROR).incrementAndGet();
+            }
+            DataSourceCircuitBreaker breaker = current.breaker(key);
+            long start = System.nanoTime();
+            try {
+                T result = DataSourceContextHolder.callOn(key, operation);
+                breaker.onResult(false, System.nanoTime() - start);
+                return result;
+            } catch (RuntimeException ex) {
+                boolean retryable = isRetryable(ex);
+                breaker.onResult(retryable, System.nanoTime() - start);
+                if (!retryable) {
+                    throw ex;
+                }
+                log.warn("Database operation failed on {} data source (attempt {}): {}", key, attempt, ex.getMessage());
+                failure = ex;
+                failedKey = key;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        throw new DataAccessResourceFailureException(
+                "No data source available: the main database circuit is open and the backup database is unavailable");
+    }
+
+    public static CircuitBreakerState getCircuitState(String key) {
+        return policy.breaker(key).getState();
+    }
+
+    /**
+     * Returns how many attempts went to the backup database for the given reason since startup.
+     */
+    public static long getFailoverCount(FailoverReason reason) {
+        return FAILOVERS.get(reason).get();
+    }
+
+    /**
+     * Opens the breaker of the main database, which moves the shared route to the backup database.
+     */
+    public static void openMainCircuit() {
+        policy.main.forceOpen();
+    }
+
+    /**
+     * Closes the breaker of the main database and moves the shared route back to it, unless the failback guard holds
+     * it open.
+     *
+     * @return whether the breaker is closed.
+     */
+    public static boolean closeMainCircuit() {
+        if (policy.main.getState() != CircuitBreakerState.CLOSED && !failbackGuard.getAsBoolean()) {
+            return false;
+        }
+        policy.main.close();
+        DataSourceConfig.switchToMain();
+        return true;
+    }
+
+    static boolean isRetryable(RuntimeException ex) {
+        if (ex instanceof ConcurrencyFailureException) {
+            // lost a lock or a version check to another transaction; the backup database would not settle that
+            return false;
+        }
+        return ex instanceof TransientDataAccessException
+                || ex instanceof RecoverableDataAccessException
+                || ex instanceof DataAccessResourceFailureException
+                || ex instanceof CannotCreateTransactionException;
+    }
+
+    private static final class Policy {
+
+        private final DataSourceResilienceProperties.Retry retry;
+        private final DataSourceCircuitBreaker main;
+        private final DataSourceCircuitBreaker backup;
+
+        Policy(DataSourceResilienceProperties properties) {
+            this.retry = properties.getRetry();
+            this.main = new DataSourceCircuitBreaker(DataSourceContextHolder.MAIN, properties.getCircuitBreaker(),
+                    state -> {
+                        if (state == CircuitBreakerState.OPEN) {
+                            DataSourceConfig.switchToBackup();
+                        } else if (state == CircuitBreakerState.CLOSED) {
+                            DataSourceConfig.switchToMain();
+                        }
+                    });
+            this.backup = new DataSourceCircuitBreaker(DataSourceContextHolder.BACKUP, properties.getCircuitBreaker(),
+                    state -> {
+                    });
+        }
+
+        DataSourceCircuitBreaker breaker(String key) {
+            return DataSourceContextHolder.MAIN.equals(key) ? main : backup;
+        }
+
+        /**
+         * Picks the data source of the next attempt: the main database for the first attempt and the other data
+         * source after a failure, or the remaining one if that one rejects the call.
+         *
+         * @return the key of the data source, or {@code null} if both reject the call.
+         */
+        String acquire(String failedKey) {
+            String preferred = DataSourceContextHolder.MAIN.equals(failedKey)
+                    ? DataSourceContextHolder.BACKUP
+                    : DataSourceContextHolder.MAIN;
+            if (permits(preferred)) {
+                return preferred;
+            }
+            String alternative = DataSourceContextHolder.MAIN.equals(preferred)
+                    ? DataSourceContextHolder.BACKUP
+                    : DataSourceContextHolder.MAIN;
+            return permits(alternative) ? alternative : null;
+        }
+
+        private boolean permits(String key) {
+            if (DataSourceContextHolder.BACKUP.equals(key) && !failoverGuard.getAsBoolean()) {
+                return false;
+            }
+            DataSourceCircuitBreaker breaker = breaker(key);
+            if (DataSourceContextHolder.MAIN.equals(key) && breaker.getState() != CircuitBreakerState.CLOSED
+                    && !failbackGuard.getAsBoolean()) {
+                return false;
+            }
+            return breaker.tryAcquirePermission();
+        }
+
+        /**
+         * Sleeps for an exponential backoff with equal jitter, so that callers failing together do not retry
+         * together.
+         *
+         * @return {@code false} if the thread was interrupted.
+         */
+        boolean backOff(int retry) {
+            long base = Math.min(this.retry.getMaxBackoffMs(),
+                    this.retry.getInitialBackoffMs() << Math.min(retry - 1, 30));
+            long delay = base / 2 + ThreadLocalRandom.current().nextLong(base / 2 + 1);
+            try {
+                TimeUnit.MILLISECONDS.sleep(delay);
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
         }
     }
 }
@@ -0,0 +1,41 @@
+package com.example.taskmanager.datasource;
+
+import com.example.taskmanager.enums.ReplicaBalancing;
+import com.zaxxer.hikari.HikariConfig;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Read replicas of the main database bound from {@code taskmanager.datasource.read-replicas}.
+ */
+@Data
+@ConfigurationProperties(prefix = "taskmanager.datasource.read-replicas")
+public class ReadReplicaProperties {
+
+    private ReplicaBalancing balancing = ReplicaBalancing.LEAST_OUTSTANDING;
+
+    private long healthIntervalMs = 1000;
+
+    private String validationQuery = "SELECT 1";
+
+    /**
+     * Query returning the replication lag of a replica in milliseconds; replicas are not checked for lag if unset.
+     */
+    private String lagQuery;
+
+    /**
+     * Replicas further behind the main database than this do not serve reads until they catch up.
+     */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    private int timeoutSeconds = 2;
+
+    /**
+     * HikariCP pool of each replica by name ({@code jdbc-url}, {@code username}, {@code maximum-pool-size}, ...).
+     */
+    private Map<String, HikariConfig> nodes = new LinkedHashMap<>();
+}
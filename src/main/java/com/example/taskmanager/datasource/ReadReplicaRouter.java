@@ -0,0 +1,232 @@
+package com.example.taskmanager.datasource;
+
+import com.example.taskmanager.enums.ReplicaBalancing;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Balances read-only transactions across the read replicas of the main database.
+ * <p>
+ * A replica serves reads only while its last health check passed: the validation query ran and, if a
+ * {@code lag-query} is configured, the replica was at most {@code max-lag} behind. Replicas start out unhealthy
+ * until their first check, and a replica that refuses a connection is dropped until the next check passes; the read
+ * then goes to the next healthy replica. Without a healthy replica, reads go to the main database, so a refusing
+ * replica never fails a read and never counts against the circuit breaker of the main database.
+ * <p>
+ * Publishes {@code taskmanager.datasource.replica.healthy} and {@code taskmanager.datasource.replica.outstanding}
+ * (connections in use), tagged {@code replica}, next to the {@code hikaricp.connections.*} meters of each pool.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+public class ReadReplicaRouter {
+
+    private final ReadReplicaProperties replicaProperties;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReadReplicaRouter(ReadReplicaProperties replicaProperties, MeterRegistry meterRegistry) {
+        this.replicaProperties = replicaProperties;
+        for (Map.Entry<String, HikariConfig> node : replicaProperties.getNodes().entrySet()) {
+            HikariDataSource pool = new HikariDataSource();
+            node.getValue().copyStateTo(pool);
+            if (pool.getPoolName() == null) {
+                pool.setPoolName("replica-" + node.getKey());
+            }
+            pool.setReadOnly(true);
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            Replica replica = new Replica(node.getKey(), pool);
+            replicas.add(replica);
+
+            Gauge.builder("taskmanager.datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .description("1 while the tagged replica serves reads")
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+            Gauge.builder("taskmanager.datasource.replica.outstanding", replica.outstanding, AtomicInteger::get)
+                    .description("Connections of the tagged replica in use")
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+        }
+        if (!replicas.isEmpty()) {
+            log.info("Routing read-only transactions across {} read replicas ({})", replicas.size(), replicaProperties.getBalancing());
+        }
+    }
+
+    /**
+     * Picks the replica to serve the next read-only transaction.
+     *
+     * @return the replica, or {@code null} if no replica is healthy.
+     */
+    public DataSource select() {
+        int size = replicas.size();
+        if (size == 0) {
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        Replica selected = null;
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.healthy) {
+                continue;
+            }
+            if (replicaProperties.getBalancing() == ReplicaBalancing.ROUND_ROBIN) {
+                return replica;
+            }
+            if (selected == null || replica.outstanding.get() < selected.outstanding.get()) {
+                selected = replica;
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Opens a connection for a read-only transaction on a healthy replica, trying the next healthy replica when one
+     * refuses, and on {@code fallback} once no replica is left.
+     *
+     * @param fallback the main database.
+     */
+    public Connection getConnection(DataSource fallback) throws SQLException {
+        for (int attempt = 0; attempt < replicas.size(); attempt++) {
+            DataSource replica = select();
+            if (replica == null) {
+                break;
+            }
+            try {
+                return replica.getConnection();
+            } catch (SQLException | RuntimeException e) {
+                // the replica has dropped itself, select() skips it
+            }
+        }
+        return fallback.getConnection();
+    }
+
+    @Scheduled(fixedDelayString = "${taskmanager.datasource.read-replicas.health-interval-ms:1000}")
+    public void probe() {
+        for (Replica replica : replicas) {
+            long lagMs = lagMs(replica);
+            boolean healthy = lagMs >= 0 && lagMs <= replicaProperties.getMaxLag().toMillis();
+            if (healthy != replica.healthy) {
+                if (healthy) {
+                    log.info("Read replica {} is healthy, routing reads to it", replica.name);
+                } else if (lagMs >= 0) {
+                    log.warn("Read replica {} is {} ms behind, not routing reads to it", replica.name, lagMs);
+                }
+                replica.healthy = healthy;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    /**
+     * Runs the health check of the replica.
+     *
+     * @return the replication lag in milliseconds, 0 without a lag query, or -1 if the check failed.
+     */
+    private long lagMs(Replica replica) {
+        String lagQuery = replicaProperties.getLagQuery();
+        try (Connection connection = replica.pool.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(replicaProperties.getTimeoutSeconds());
+            if (lagQuery == null || lagQuery.isBlank()) {
+                statement.execute(replicaProperties.getValidationQuery());
+                return 0;
+            }
+            try (ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                return resultSet.next() ? Math.max(0, resultSet.getLong(1)) : 0;
+            }
+        } catch (SQLException | RuntimeException e) {
+            if (replica.healthy) {
+                log.warn("Read replica {} failed its health check, not routing reads to it: {}", replica.name, e.getMessage());
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Counts the connections in use, for least-outstanding balancing.
+     */
+    private static final class Replica extends DelegatingDataSource {
+
+        private final String name;
+        private final HikariDataSource pool;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private volatile boolean healthy;
+
+        Replica(String name, HikariDataSource pool) {
+            super(pool);
+            this.name = name;
+            this.pool = pool;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            outstanding.incrementAndGet();
+            try {
+                return counted(pool.getConnection());
+            } catch (SQLException | RuntimeException e) {
+                outstanding.decrementAndGet();
+                healthy = false;
+                log.warn("Read replica {} refused a connection, not routing reads to it: {}", name, e.getMessage());
+                throw e;
+            }
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return getConnection();
+        }
+
+        private Connection counted(Connection connection) {
+            AtomicBoolean closed = new AtomicBoolean();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "equals" -> {
+                                return proxy == args[0];
+                            }
+                            case "hashCode" -> {
+                                return System.identityHashCode(proxy);
+                            }
+                            case "close" -> {
+                                if (closed.compareAndSet(false, true)) {
+                                    outstanding.decrementAndGet();
+                                }
+                            }
+                            default -> {
+                            }
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        }
+                    });
+        }
+    }
+}
@@ -1,10 +1,63 @@
 package com.example.taskmanager.datasource;
 
 import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Routes connections to the main or backup database by the current {@link DataSourceContextHolder} key, and
+ * connections of read-only transactions on the main database to one of its read replicas, if any is healthy. A
+ * replica that refuses a connection hands the read on to the next replica or the main database, see
+ * {@link ReadReplicaRouter#getConnection(DataSource)}.
+ * Whether a transaction is read-only is only known once it has begun, so connections must be fetched lazily,
+ * see {@link com.example.taskmanager.configs.DataSourceConfig}.
+ */
 public class RoutingDataSource extends AbstractRoutingDataSource {
+
+    private ReadReplicaRouter readReplicaRouter;
+
+    public void setReadReplicaRouter(ReadReplicaRouter readReplicaRouter) {
+        this.readReplicaRouter = readReplicaRouter;
+    }
+
     @Override
     protected Object determineCurrentLookupKey() {
         return DataSourceContextHolder.getDataSourceKey();
     }
-}
\ No newline at end of file
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (readsFromReplica()) {
+            return readReplicaRouter.getConnection(super.determineTargetDataSource());
+        }
+        return super.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (readsFromReplica()) {
+            return readReplicaRouter.getConnection(super.determineTargetDataSource());
+        }
+        return super.getConnection(username, password);
+    }
+
+    @Override
+    protected DataSource determineTargetDataSource() {
+        if (readsFromReplica()) {
+            DataSource replica = readReplicaRouter.select();
+            if (replica != null) {
+                return replica;
+            }
+        }
+        return super.determineTargetDataSource();
+    }
+
+    private boolean readsFromReplica() {
+        return readReplicaRouter != null
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && DataSourceContextHolder.MAIN.equals(determineCurrentLookupKey());
+    }
+}
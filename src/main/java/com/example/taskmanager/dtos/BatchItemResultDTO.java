@@ -0,0 +1,25 @@
+package com.example.taskmanager.dtos;
+
+import com.example.taskmanager.enums.BatchItemStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResultDTO {
+
+    /**
+     * Position of the item in the request array.
+     */
+    private int index;
+
+    private Long id;
+
+    private BatchItemStatus status;
+
+    private String message;
+}
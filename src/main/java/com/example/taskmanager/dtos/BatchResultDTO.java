@@ -0,0 +1,21 @@
+package com.example.taskmanager.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResultDTO {
+
+    private int succeeded;
+
+    private int failed;
+
+    private List<BatchItemResultDTO> results;
+}
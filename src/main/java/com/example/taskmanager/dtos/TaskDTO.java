@@ -17,13 +17,17 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class TaskDTO {
 
+    public static final int TITLE_MAX_LENGTH = 255;
+    public static final int DESCRIPTION_MAX_LENGTH = 1000;
+    public static final int OWNER_MAX_LENGTH = 64;
+
     private Long id;
 
     @NotBlank(message = "Title cannot be blank")
-    @Size(max = 255, message = "Title cannot be longer than 255 characters")
+    @Size(max = TITLE_MAX_LENGTH, message = "Title cannot be longer than 255 characters")
     private String title;
 
-    @Size(max = 1000, message = "Description cannot be longer than 1000 characters")
+    @Size(max = DESCRIPTION_MAX_LENGTH, message = "Description cannot be longer than 1000 characters")
     private String description;
 
     private LocalDateTime createdDate;
@@ -34,4 +38,15 @@ public class TaskDTO {
 
     @NotNull(message = "Priority cannot be null")
     private Priority priority;
+
+    /**
+     * Tenant the task belongs to and is counted against; the default tenant if not given. Fixed once created.
+     */
+    @Size(max = OWNER_MAX_LENGTH, message = "Owner cannot be longer than 64 characters")
+    private String owner;
+
+    /**
+     * Version of the task when it was read, served as its ETag. Ignored on writes; send it in {@code If-Match} instead.
+     */
+    private Long version;
 }
\ No newline at end of file
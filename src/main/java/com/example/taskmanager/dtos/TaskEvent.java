@@ -0,0 +1,42 @@
+package com.example.taskmanager.dtos;
+
+import com.example.taskmanager.enums.TaskEventType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Envelope published to Kafka for every task mutation, keyed by task ID.
+ * A delete is followed by a tombstone record so that a compacted topic keeps only live tasks.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskEvent {
+
+    public static final List<String> ALL_FIELDS =
+            List.of("title", "description", "createdDate", "dueDate", "completed", "priority");
+
+    private TaskEventType eventType;
+
+    private Long taskId;
+
+    /**
+     * Strictly increasing per task; consumers can drop any event whose version is not newer than the one they hold.
+     */
+    private Long version;
+
+    private LocalDateTime occurredAt;
+
+    private List<String> changedFields;
+
+    /**
+     * State of the task after the change, or {@code null} for {@link TaskEventType#DELETED}.
+     */
+    private TaskDTO task;
+}
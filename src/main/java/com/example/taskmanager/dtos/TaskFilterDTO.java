@@ -0,0 +1,24 @@
+package com.example.taskmanager.dtos;
+
+import com.example.taskmanager.enums.Priority;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskFilterDTO {
+
+    private Boolean completed;
+
+    private Priority priority;
+
+    private LocalDateTime dueFrom;
+
+    private LocalDateTime dueTo;
+}
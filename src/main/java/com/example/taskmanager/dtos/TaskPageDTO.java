@@ -0,0 +1,22 @@
+package com.example.taskmanager.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskPageDTO {
+
+    private List<TaskDTO> items;
+
+    /**
+     * Opaque cursor to pass back for the next page, or {@code null} when this is the last page.
+     */
+    private String nextCursor;
+}
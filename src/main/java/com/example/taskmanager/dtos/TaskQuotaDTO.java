@@ -0,0 +1,26 @@
+package com.example.taskmanager.dtos;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskQuotaDTO {
+
+    private String owner;
+
+    @NotNull(message = "Limit cannot be null")
+    @Min(value = 0, message = "Limit cannot be negative")
+    private Integer limit;
+
+    /**
+     * Tasks of the owner, including creates in flight.
+     */
+    private int used;
+}
@@ -0,0 +1,7 @@
+package com.example.taskmanager.enums;
+
+public enum AdmissionResult {
+    ADMITTED,
+    DUPLICATE,
+    LIMIT_EXCEEDED
+}
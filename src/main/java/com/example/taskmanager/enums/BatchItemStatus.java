@@ -0,0 +1,11 @@
+package com.example.taskmanager.enums;
+
+public enum BatchItemStatus {
+    CREATED,
+    UPDATED,
+    DELETED,
+    INVALID,
+    DUPLICATE,
+    NOT_FOUND,
+    LIMIT_EXCEEDED
+}
@@ -0,0 +1,6 @@
+package com.example.taskmanager.enums;
+
+public enum CacheInvalidationMode {
+    LOCAL,
+    TOPIC
+}
@@ -0,0 +1,7 @@
+package com.example.taskmanager.enums;
+
+public enum CircuitBreakerState {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+}
@@ -0,0 +1,10 @@
+package com.example.taskmanager.enums;
+
+/**
+ * Why a database operation went to the backup database: the breaker of the main database was open, or the main
+ * database failed the operation and it was retried on the backup.
+ */
+public enum FailoverReason {
+    CIRCUIT_OPEN,
+    ERROR
+}
@@ -0,0 +1,7 @@
+package com.example.taskmanager.enums;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,6 @@
+package com.example.taskmanager.enums;
+
+public enum ReplicaBalancing {
+    ROUND_ROBIN,
+    LEAST_OUTSTANDING
+}
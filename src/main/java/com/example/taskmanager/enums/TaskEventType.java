@@ -0,0 +1,10 @@
+package com.example.taskmanager.enums;
+
+public enum TaskEventType {
+    CREATED,
+    UPDATED,
+    PATCHED,
+    DELETED,
+    DUE,
+    OVERDUE
+}
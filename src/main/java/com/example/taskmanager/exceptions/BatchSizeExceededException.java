@@ -0,0 +1,7 @@
+package com.example.taskmanager.exceptions;
+
+public class BatchSizeExceededException extends RuntimeException {
+    public BatchSizeExceededException(String message) {
+        super(message);
+    }
+}
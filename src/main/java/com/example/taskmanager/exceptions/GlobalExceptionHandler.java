@@ -1,5 +1,7 @@
 package com.example.taskmanager.exceptions;
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -19,4 +21,28 @@ public class GlobalExceptionHandler {
     public ResponseEntity<String> handleDuplicateTaskException(DuplicateTaskException e) {
         return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
     }
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<String> handleInvalidCursorException(InvalidCursorException e) {
+        return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+    @ExceptionHandler(InvalidTaskPatchException.class)
+    public ResponseEntity<String> handleInvalidTaskPatchException(InvalidTaskPatchException e) {
+        return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+    @ExceptionHandler(BatchSizeExceededException.class)
+    public ResponseEntity<String> handleBatchSizeExceededException(BatchSizeExceededException e) {
+        return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<String> handleDataIntegrityViolationException(DataIntegrityViolationException e) {
+        return new ResponseEntity<>("Task conflicts with an existing task", HttpStatus.BAD_REQUEST);
+    }
+    @ExceptionHandler(TaskVersionMismatchException.class)
+    public ResponseEntity<String> handleTaskVersionMismatchException(TaskVersionMismatchException e) {
+        return new ResponseEntity<>("Task was modified by another request, read it again", HttpStatus.PRECONDITION_FAILED);
+    }
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleOptimisticLockingFailureException(OptimisticLockingFailureException e) {
+        return new ResponseEntity<>("Task was modified by another request at the same time, try again", HttpStatus.CONFLICT);
+    }
 }
\ No newline at end of file
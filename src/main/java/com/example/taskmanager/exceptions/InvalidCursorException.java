@@ -0,0 +1,8 @@
+package com.example.taskmanager.exceptions;
+
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.taskmanager.exceptions;
+
+public class InvalidTaskPatchException extends RuntimeException {
+
+    public InvalidTaskPatchException(String message) {
+        super(message);
+    }
+
+    public InvalidTaskPatchException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.taskmanager.exceptions;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+
+/**
+ * The task exists but no longer has the version the request expected, e.g. from {@code If-Match}.
+ */
+public class TaskVersionMismatchException extends OptimisticLockingFailureException {
+
+    public TaskVersionMismatchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.taskmanager.listeners;
+
+import com.example.taskmanager.cache.TaskCache;
+import com.example.taskmanager.configs.kafka.KafkaTopicConfig;
+import com.example.taskmanager.dtos.TaskEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the task caches of all instances coherent by evicting every task that changes on {@code taskmanager-topic}.
+ * Only the record key is read, so even unreadable events invalidate their task.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "taskmanager.cache.invalidation", havingValue = "topic")
+public class TaskCacheInvalidationListener implements ConsumerSeekAware {
+
+    private final TaskCache taskCache;
+
+    private final Set<TopicPartition> seenPartitions = ConcurrentHashMap.newKeySet();
+
+    @KafkaListener(id = "task-cache-invalidation",
+            topics = KafkaTopicConfig.TASK_TOPIC,
+            groupId = "${taskmanager.cache.group-id}")
+    public void onTaskEvents(List<ConsumerRecord<String, TaskEvent>> records, Acknowledgment acknowledgment) {
+        List<Long> taskIds = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, TaskEvent> record : records) {
+            try {
+                taskIds.add(Long.valueOf(record.key()));
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring task event without a task ID key at offset {}", record.offset());
+            }
+        }
+        taskCache.evictAll(taskIds);
+        acknowledgment.acknowledge();
+    }
+
+    /**
+     * The cache starts empty, so history is skipped the first time a partition is assigned.
+     */
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        List<TopicPartition> unseen = assignments.keySet().stream()
+                .filter(seenPartitions::add)
+                .toList();
+        if (!unseen.isEmpty()) {
+            callback.seekToEnd(unseen);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.taskmanager.listeners;
+
+import com.example.taskmanager.configs.kafka.KafkaTopicConfig;
+import com.example.taskmanager.dtos.TaskEvent;
+import com.example.taskmanager.services.TaskProjectionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Materializes the task projection from {@code taskmanager-topic}.
+ * Each instance keeps a full projection, so it must consume every partition under its own consumer group.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskEventListener implements ConsumerSeekAware {
+
+    private final TaskProjectionService taskProjectionService;
+
+    private final Set<TopicPartition> rebuiltPartitions = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Applies a batch of task events and commits its offsets. A record that cannot be read is reported
+     * by index, so the error handler commits the records before it and sends it to the dead-letter topic.
+     *
+     * @param records        the polled records, in partition order.
+     * @param acknowledgment commits the offsets of the whole batch.
+     */
+    @KafkaListener(id = "task-projection",
+            topics = KafkaTopicConfig.TASK_TOPIC,
+            groupId = "${taskmanager.projection.group-id}",
+            autoStartup = "${taskmanager.projection.enabled:true}")
+    public void onTaskEvents(List<ConsumerRecord<String, TaskEvent>> records, Acknowledgment acknowledgment) {
+        int applied = 0;
+        for (int i = 0; i < records.size(); i++) {
+            ConsumerRecord<String, TaskEvent> record = records.get(i);
+            if (record.headers().lastHeader(SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER) != null) {
+                throw new BatchListenerFailedException("Unreadable task event at offset " + record.offset(), i);
+            }
+            TaskEvent taskEvent = record.value();
+            if (taskEvent == null) {
+                taskProjectionService.evict(taskId(record, i));
+            } else if (taskEvent.getTaskId() == null || taskEvent.getVersion() == null) {
+                throw new BatchListenerFailedException("Task event without task ID or version at offset " + record.offset(), i);
+            } else if (taskProjectionService.apply(taskEvent)) {
+                applied++;
+            }
+        }
+        acknowledgment.acknowledge();
+        log.debug("Applied {} of {} task events to the projection", applied, records.size());
+    }
+
+    /**
+     * Replays every partition from the beginning the first time it is assigned, since the projection starts empty.
+     */
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        List<TopicPartition> unseen = assignments.keySet().stream()
+                .filter(rebuiltPartitions::add)
+                .toList();
+        if (!unseen.isEmpty()) {
+            log.info("Rebuilding task projection from the beginning of {}", unseen);
+            callback.seekToBeginning(unseen);
+        }
+    }
+
+    private static Long taskId(ConsumerRecord<String, TaskEvent> record, int index) {
+        try {
+            return Long.valueOf(record.key());
+        } catch (NumberFormatException e) {
+            throw new BatchListenerFailedException("Tombstone without a task ID key at offset " + record.offset(), e, index);
+        }
+    }
+}
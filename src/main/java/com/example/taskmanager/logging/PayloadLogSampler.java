@@ -0,0 +1,34 @@
+package com.example.taskmanager.logging;
+
+import org.slf4j.Logger;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides whether a call logs its full payloads. Payloads are only logged at DEBUG and then only for the fraction
+ * {@code taskmanager.logging.payload-sample-rate} of calls, so that enabling DEBUG does not render every DTO through
+ * its {@code toString()} on the request thread. Everything else on the request path logs ids and timings only.
+ */
+public final class PayloadLogSampler {
+
+    private static volatile double sampleRate = new TaskLoggingProperties().getPayloadSampleRate();
+
+    private PayloadLogSampler() {
+    }
+
+    public static void configure(TaskLoggingProperties properties) {
+        sampleRate = properties.getPayloadSampleRate();
+    }
+
+    /**
+     * @param log the logger the payload would be written to.
+     * @return whether the payload of the current call should be logged at DEBUG.
+     */
+    public static boolean sample(Logger log) {
+        if (!log.isDebugEnabled()) {
+            return false;
+        }
+        double rate = sampleRate;
+        return rate >= 1 || rate > 0 && ThreadLocalRandom.current().nextDouble() < rate;
+    }
+}
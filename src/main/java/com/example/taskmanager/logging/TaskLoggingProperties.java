@@ -0,0 +1,17 @@
+package com.example.taskmanager.logging;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Request path logging settings bound from {@code taskmanager.logging}.
+ */
+@Data
+@ConfigurationProperties(prefix = "taskmanager.logging")
+public class TaskLoggingProperties {
+
+    /**
+     * Fraction of calls, between 0 and 1, whose full payloads are logged while DEBUG is enabled.
+     */
+    private double payloadSampleRate = 0.01;
+}
@@ -3,6 +3,7 @@ package com.example.taskmanager.mappers;
 import com.example.taskmanager.dtos.TaskDTO;
 import com.example.taskmanager.models.Task;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 
 @Mapper(componentModel = "spring")
@@ -11,5 +12,7 @@ public interface TaskMapper {
 
     Task toEntity(TaskDTO taskDTO);
 
+    @Mapping(target = "owner", ignore = true)
+    @Mapping(target = "version", ignore = true)
     void updateTaskFromDto(TaskDTO dto, @MappingTarget Task entity);
 }
@@ -0,0 +1,59 @@
+package com.example.taskmanager.models;
+
+
+import com.example.taskmanager.enums.OutboxStatus;
+import com.example.taskmanager.enums.TaskEventType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Task event waiting to be relayed to Kafka and replicated to the backup database.
+ * Written in the same transaction as the task change it describes, so an event exists if and only if the change committed.
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "task_outbox")
+public class OutboxEvent {
+
+    /**
+     * Allocated one at a time when the event is persisted. The task service writes an update or delete of the task
+     * first, and the row lock it takes is held until commit, so per task ids follow commit order.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_outbox_seq")
+    @SequenceGenerator(name = "task_outbox_seq", sequenceName = "task_outbox_seq", allocationSize = 1)
+    private Long id;
+    private Long taskId;
+
+    @Enumerated(EnumType.STRING)
+    private TaskEventType eventType;
+
+    /**
+     * The serialized event, which carries the whole task. A {@code TEXT} column bound as a string on both databases;
+     * {@code @Lob} would store it as a large object on PostgreSQL.
+     */
+    @Column(columnDefinition = "text")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    private OutboxStatus status;
+    private int attempts;
+    private LocalDateTime createdDate;
+    private LocalDateTime sentDate;
+
+    /**
+     * When the change was applied to the backup database, or {@code null} while it has not been.
+     */
+    private LocalDateTime replicatedDate;
+
+    @Column(length = 1000)
+    private String lastError;
+}
@@ -19,9 +19,12 @@ import java.time.LocalDateTime;
 public class Task {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = 50)
     private Long id;
     private String title;
+
+    @Column(length = 1000)
     private String description;
     private LocalDateTime createdDate;
     private LocalDateTime dueDate;
@@ -29,4 +32,13 @@ public class Task {
 
     @Enumerated(EnumType.STRING)
     private Priority priority;
+
+    @Column(nullable = false, length = 64)
+    private String owner;
+
+    /**
+     * Incremented on every write; an update that read an older version fails instead of overwriting.
+     */
+    @Version
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.example.taskmanager.pagination;
+
+import com.example.taskmanager.enums.TaskSortField;
+import com.example.taskmanager.exceptions.InvalidCursorException;
+import com.example.taskmanager.models.Task;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position of the last task returned in a page.
+ * Encoded as an opaque URL-safe string so clients never depend on its layout.
+ */
+public record TaskCursor(TaskSortField sortBy, long id, LocalDateTime dueDate) {
+
+    private static final String VERSION = "v1";
+    private static final String SEPARATOR = "|";
+
+    public static TaskCursor after(Task task, TaskSortField sortBy) {
+        return new TaskCursor(sortBy, task.getId(), task.getDueDate());
+    }
+
+    public String encode() {
+        String raw = VERSION + SEPARATOR + sortBy + SEPARATOR + id + SEPARATOR + (dueDate == null ? "" : dueDate);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor previously produced by {@link #encode()}.
+     *
+     * @param cursor the opaque cursor string.
+     * @return the decoded cursor.
+     * @throws InvalidCursorException if the cursor is malformed.
+     */
+    public static TaskCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 4 || !VERSION.equals(parts[0])) {
+                throw new InvalidCursorException("Invalid cursor: " + cursor);
+            }
+            TaskSortField sortBy = TaskSortField.valueOf(parts[1]);
+            long id = Long.parseLong(parts[2]);
+            LocalDateTime dueDate = parts[3].isEmpty() ? null : LocalDateTime.parse(parts[3]);
+            if (sortBy == TaskSortField.DUE_DATE && dueDate == null) {
+                throw new InvalidCursorException("Invalid cursor: " + cursor);
+            }
+            return new TaskCursor(sortBy, id, dueDate);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.taskmanager.replication;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Map;
+
+/**
+ * Moves a sequence of one database past IDs that rows copied from the other database already have, so that rows
+ * created there later get IDs no copied row has. The next value of the sequence is one increment past the highest
+ * copied ID, which for {@code task_seq} is one block of IDs of the pooled optimizer of Task.
+ * <p>
+ * Only used by the replicating thread.
+ */
+@Slf4j
+class SequenceAdvancer {
+
+    private static final String ADVANCE_POSTGRESQL = "SELECT setval('%1$s', GREATEST(?, (SELECT last_value FROM %1$s)))";
+    private static final String SELECT_H2 = "SELECT base_value, increment FROM information_schema.sequences "
+            + "WHERE LOWER(sequence_name) = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String sequenceName;
+
+    /**
+     * Highest ID the sequence is known to be past.
+     */
+    private long floor;
+
+    SequenceAdvancer(JdbcTemplate jdbcTemplate, String sequenceName) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sequenceName = sequenceName;
+    }
+
+    /**
+     * Moves the sequence past {@code maxId}, unless it is already further ahead. Commits on its own, since H2 commits
+     * on ALTER SEQUENCE; a batch that fails before it is marked replicated is copied again, together with this step.
+     */
+    void advancePast(long maxId) {
+        if (maxId <= floor) {
+            return;
+        }
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        switch (product) {
+            case "PostgreSQL" -> jdbcTemplate.queryForObject(ADVANCE_POSTGRESQL.formatted(sequenceName), Long.class, maxId);
+            case "H2" -> {
+                Map<String, Object> sequence = jdbcTemplate.queryForMap(SELECT_H2, sequenceName);
+                long next = ((Number) sequence.get("base_value")).longValue();
+                long restart = maxId + ((Number) sequence.get("increment")).longValue();
+                if (next < restart) {
+                    jdbcTemplate.execute("ALTER SEQUENCE " + sequenceName + " RESTART WITH " + restart);
+                }
+            }
+            default -> log.warn("Cannot move {} of a {} database past the replicated IDs", sequenceName, product);
+        }
+        floor = maxId;
+    }
+}
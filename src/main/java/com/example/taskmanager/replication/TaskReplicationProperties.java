@@ -0,0 +1,29 @@
+package com.example.taskmanager.replication;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Replication of task changes from the main to the backup database, bound from {@code taskmanager.replication}.
+ */
+@Data
+@ConfigurationProperties(prefix = "taskmanager.replication")
+public class TaskReplicationProperties {
+
+    private boolean enabled = true;
+
+    private long intervalMs = 200;
+
+    /**
+     * Outbox events applied to the backup database per transaction.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Largest replication lag at which requests may fail over to the backup database. While the backup database is
+     * further behind, requests keep waiting for the main database within their retry budget.
+     */
+    private Duration maxFailoverLag = Duration.ofSeconds(5);
+}
@@ -0,0 +1,440 @@
+package com.example.taskmanager.replication;
+
+import com.example.taskmanager.admission.TaskAdmissionControl;
+import com.example.taskmanager.datasource.DataSourceContextHolder;
+import com.example.taskmanager.datasource.DatabaseOperationHandler;
+import com.example.taskmanager.dtos.TaskDTO;
+import com.example.taskmanager.dtos.TaskEvent;
+import com.example.taskmanager.enums.OutboxStatus;
+import com.example.taskmanager.enums.TaskEventType;
+import com.example.taskmanager.models.OutboxEvent;
+import com.example.taskmanager.repositories.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streams committed task changes from the main to the backup database, write-behind.
+ * <p>
+ * The changes are read from the outbox of the main database in outbox order, which per task is commit order since
+ * the task service writes a change before recording its event, and applied to the backup database in batches, one
+ * transaction per batch: deletes first, then an update of every changed task, then an insert of those that are not
+ * in the backup database yet. Only the newest state of a task within a batch is written, and an update only
+ * overwrites an older version of the task, so an event applied late never rolls a task back. Every event carries
+ * the full state of its task, so applying a batch again after a failure to mark it replicated leaves the backup
+ * database as it was.
+ * <p>
+ * Replicated tasks keep the IDs the main database gave them, so after each batch the {@code task_seq} sequence of the
+ * backup database is moved past the highest of them; tasks created on the backup database after a failover then get
+ * IDs no replicated task has. The {@code task_outbox_seq} sequence is moved past the replicated outbox IDs in the same
+ * way, since outbox IDs are the versions consumers see: events recorded on the backup database after a failover
+ * must be newer than every event recorded on the main database before it.
+ * <p>
+ * Replication lag is the age of the oldest change the backup database has not received, as of the last pass.
+ * It is published as {@code taskmanager.replication.lag}, and requests only fail over to the backup database while
+ * it is within {@code max-failover-lag}.
+ * <p>
+ * Changes made on the backup database, while requests were routed to it or retried on it, flow back the same way:
+ * every pass moves the events of the backup outbox to the main outbox, where the relay picks up those not sent yet,
+ * and applies their tasks to the main database, moving its sequences past the copied IDs. The breaker of the main
+ * database stays open until the backup outbox has been drained, so that requests never return to a main database
+ * that misses changes. The number of events waiting is published as {@code taskmanager.replication.failback.pending}.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(TaskReplicationProperties.class)
+@ConditionalOnProperty(name = "taskmanager.replication.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskReplicator {
+
+    private static final String UPDATE_TASK = "UPDATE task SET title = ?, description = ?, created_date = ?, "
+            + "due_date = ?, completed = ?, priority = ?, owner = ?, version = ? WHERE id = ? AND version < ?";
+    private static final String INSERT_TASK = "INSERT INTO task (title, description, created_date, due_date, "
+            + "completed, priority, owner, version, id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String DELETE_TASK = "DELETE FROM task WHERE id = ?";
+    private static final String SELECT_TASK_IDS = "SELECT id FROM task WHERE id IN (%s)";
+    private static final String SELECT_OUTBOX = "SELECT id, task_id, event_type, payload, status, attempts, "
+            + "created_date, sent_date, last_error FROM task_outbox ORDER BY id LIMIT ?";
+    private static final String SELECT_OUTBOX_IDS = "SELECT id FROM task_outbox WHERE id IN (%s)";
+    private static final String INSERT_OUTBOX = "INSERT INTO task_outbox (task_id, event_type, payload, status, "
+            + "attempts, created_date, sent_date, last_error, replicated_date, id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String DELETE_OUTBOX = "DELETE FROM task_outbox WHERE id IN (%s)";
+    private static final String COUNT_OUTBOX = "SELECT COUNT(*) FROM task_outbox";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final TaskReplicationProperties replicationProperties;
+    private final JdbcTemplate backupJdbcTemplate;
+    private final TransactionTemplate backupTransactionTemplate;
+    private final SequenceAdvancer backupTaskSequence;
+    private final SequenceAdvancer backupOutboxSequence;
+    private final JdbcTemplate mainJdbcTemplate;
+    private final TransactionTemplate mainTransactionTemplate;
+    private final SequenceAdvancer mainTaskSequence;
+    private final SequenceAdvancer mainOutboxSequence;
+
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final AtomicLong pendingEvents = new AtomicLong();
+    private final AtomicLong replicatedEvents = new AtomicLong();
+    private final AtomicLong failbackPendingEvents = new AtomicLong();
+
+    public TaskReplicator(OutboxEventRepository outboxEventRepository,
+                          ObjectMapper objectMapper,
+                          TaskReplicationProperties replicationProperties,
+                          @Qualifier("mainDataSource") DataSource mainDataSource,
+                          @Qualifier("backupDataSource") DataSource backupDataSource,
+                          MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+        this.replicationProperties = replicationProperties;
+        this.backupJdbcTemplate = new JdbcTemplate(backupDataSource);
+        this.backupTransactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(backupDataSource));
+        this.backupTaskSequence = new SequenceAdvancer(backupJdbcTemplate, "task_seq");
+        this.backupOutboxSequence = new SequenceAdvancer(backupJdbcTemplate, "task_outbox_seq");
+        this.mainJdbcTemplate = new JdbcTemplate(mainDataSource);
+        this.mainTransactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(mainDataSource));
+        this.mainTaskSequence = new SequenceAdvancer(mainJdbcTemplate, "task_seq");
+        this.mainOutboxSequence = new SequenceAdvancer(mainJdbcTemplate, "task_outbox_seq");
+
+        TimeGauge.builder("taskmanager.replication.lag", lagMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Age of the oldest task change not yet applied to the backup database")
+                .register(meterRegistry);
+        Gauge.builder("taskmanager.replication.pending", pendingEvents, AtomicLong::get)
+                .description("Task changes not yet applied to the backup database")
+                .register(meterRegistry);
+        FunctionCounter.builder("taskmanager.replication.events", replicatedEvents, AtomicLong::get)
+                .description("Task changes applied to the backup database")
+                .register(meterRegistry);
+        Gauge.builder("taskmanager.replication.failback.pending", failbackPendingEvents, AtomicLong::get)
+                .description("Task changes made on the backup database and not yet applied to the main database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Brings both databases up to date before the instance serves requests, then guards failover with the
+     * replication lag and failback with the changes still waiting on the backup database.
+     */
+    @PostConstruct
+    public void catchUp() {
+        replicatePendingEvents();
+        log.info("Task replication caught up, {} changes pending, lag {} ms, {} changes waiting for failback",
+                pendingEvents.get(), lagMillis.get(), failbackPendingEvents.get());
+        DatabaseOperationHandler.setFailoverGuard(this::isBackupCaughtUp);
+        DatabaseOperationHandler.setFailbackGuard(this::isMainCaughtUp);
+    }
+
+    @PreDestroy
+    public void stop() {
+        DatabaseOperationHandler.setFailoverGuard(null);
+        DatabaseOperationHandler.setFailbackGuard(null);
+    }
+
+    /**
+     * Applies pending changes in both directions until a batch comes back short, then measures the lag.
+     */
+    @Scheduled(fixedDelayString = "${taskmanager.replication.interval-ms:200}")
+    public void replicatePendingEvents() {
+        try {
+            int replicated;
+            do {
+                replicated = replicateBatch();
+            } while (replicated == replicationProperties.getBatchSize());
+            do {
+                replicated = replicateBackBatch();
+            } while (replicated == replicationProperties.getBatchSize());
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Task replication between the main and the backup database failed, will retry: {}", e.getMessage());
+        }
+        measureLag();
+    }
+
+    /**
+     * Applies one batch of pending changes to the backup database and marks them replicated.
+     *
+     * @return the number of changes replicated.
+     */
+    public int replicateBatch() {
+        List<OutboxEvent> events = DataSourceContextHolder.callOn(DataSourceContextHolder.MAIN,
+                () -> outboxEventRepository.findByReplicatedDateIsNullOrderByIdAsc(Limit.of(replicationProperties.getBatchSize())));
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        List<TaskEvent> taskEvents = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            try {
+                taskEvents.add(objectMapper.readValue(event.getPayload(), TaskEvent.class));
+            } catch (JsonProcessingException e) {
+                log.error("Outbox event {} has an unreadable payload, not replicating it", event.getId(), e);
+            }
+        }
+        try {
+            backupTransactionTemplate.executeWithoutResult(status -> applyLatest(backupJdbcTemplate, taskEvents));
+        } catch (DataIntegrityViolationException e) {
+            // e.g. two tasks that swapped titles within the batch; replaying every change in order cannot collide
+            log.warn("Replicating {} task changes as a batch failed, replaying them in order: {}", taskEvents.size(), e.getMessage());
+            backupTransactionTemplate.executeWithoutResult(
+                    status -> taskEvents.forEach(taskEvent -> apply(backupJdbcTemplate, taskEvent)));
+        }
+        backupTaskSequence.advancePast(taskEvents.stream().mapToLong(TaskEvent::getTaskId).max().orElse(0L));
+        backupOutboxSequence.advancePast(events.getLast().getId());
+
+        List<Long> ids = events.stream().map(OutboxEvent::getId).toList();
+        DataSourceContextHolder.callOn(DataSourceContextHolder.MAIN,
+                () -> outboxEventRepository.markReplicated(ids, LocalDateTime.now()));
+        replicatedEvents.addAndGet(events.size());
+        log.debug("Replicated {} task changes to the backup database", events.size());
+        return events.size();
+    }
+
+    /**
+     * Moves one batch of events from the backup outbox to the main outbox, applying their changes to the main
+     * database in the same transaction. The copies keep their IDs and relay status and are marked replicated, so
+     * they are not replicated to the backup database again. Applying a batch again after a failure to remove it from
+     * the backup outbox leaves the main database as it was.
+     *
+     * @return the number of changes moved.
+     */
+    public int replicateBackBatch() {
+        List<OutboxEvent> events = backupJdbcTemplate.query(SELECT_OUTBOX, TaskReplicator::outboxEvent,
+                replicationProperties.getBatchSize());
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        List<TaskEvent> taskEvents = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            try {
+                taskEvents.add(objectMapper.readValue(event.getPayload(), TaskEvent.class));
+            } catch (JsonProcessingException e) {
+                log.error("Outbox event {} of the backup database has an unreadable payload, not applying it",
+                        event.getId(), e);
+            }
+        }
+        try {
+            mainTransactionTemplate.executeWithoutResult(status -> {
+                applyLatest(mainJdbcTemplate, taskEvents);
+                copyToMainOutbox(events);
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Replicating {} task changes back as a batch failed, replaying them in order: {}",
+                    taskEvents.size(), e.getMessage());
+            mainTransactionTemplate.executeWithoutResult(status -> {
+                taskEvents.forEach(taskEvent -> apply(mainJdbcTemplate, taskEvent));
+                copyToMainOutbox(events);
+            });
+        }
+        mainTaskSequence.advancePast(taskEvents.stream().mapToLong(TaskEvent::getTaskId).max().orElse(0L));
+        mainOutboxSequence.advancePast(events.getLast().getId());
+
+        List<Long> ids = events.stream().map(OutboxEvent::getId).toList();
+        backupJdbcTemplate.update(DELETE_OUTBOX.formatted(placeholders(ids.size())), ids.toArray());
+        log.info("Replicated {} task changes made on the backup database back to the main database", events.size());
+        return events.size();
+    }
+
+    public boolean isBackupCaughtUp() {
+        return lagMillis.get() <= replicationProperties.getMaxFailoverLag().toMillis();
+    }
+
+    public Duration getLag() {
+        return Duration.ofMillis(lagMillis.get());
+    }
+
+    /**
+     * Returns whether the main database had every change made on the backup database as of the last pass.
+     */
+    public boolean isMainCaughtUp() {
+        return failbackPendingEvents.get() == 0;
+    }
+
+    /**
+     * Keeps the last measurement while the main database cannot be read: the lag cannot grow without new changes,
+     * and those cannot be made on the main database while it is down.
+     */
+    private void measureLag() {
+        try {
+            Optional<OutboxEvent> oldest = DataSourceContextHolder.callOn(DataSourceContextHolder.MAIN,
+                    outboxEventRepository::findFirstByReplicatedDateIsNullOrderByIdAsc);
+            pendingEvents.set(oldest.isEmpty() ? 0 : DataSourceContextHolder.callOn(DataSourceContextHolder.MAIN,
+                    outboxEventRepository::countByReplicatedDateIsNull));
+            lagMillis.set(oldest
+                    .map(event -> Math.max(0, Duration.between(event.getCreatedDate(), LocalDateTime.now()).toMillis()))
+                    .orElse(0L));
+        } catch (DataAccessException | TransactionException e) {
+            log.debug("Could not measure the replication lag: {}", e.getMessage());
+        }
+        try {
+            failbackPendingEvents.set(backupJdbcTemplate.queryForObject(COUNT_OUTBOX, Long.class));
+        } catch (DataAccessException e) {
+            log.debug("Could not count the changes waiting on the backup database: {}", e.getMessage());
+        }
+    }
+
+    private void copyToMainOutbox(List<OutboxEvent> events) {
+        Set<Long> existingIds = new HashSet<>(mainJdbcTemplate.queryForList(
+                SELECT_OUTBOX_IDS.formatted(placeholders(events.size())), Long.class,
+                events.stream().map(OutboxEvent::getId).toArray()));
+        LocalDateTime replicatedDate = LocalDateTime.now();
+        mainJdbcTemplate.batchUpdate(INSERT_OUTBOX, events.stream()
+                .filter(event -> !existingIds.contains(event.getId()))
+                .map(event -> new Object[]{
+                        event.getTaskId(),
+                        event.getEventType().name(),
+                        event.getPayload(),
+                        event.getStatus().name(),
+                        event.getAttempts(),
+                        event.getCreatedDate(),
+                        event.getSentDate(),
+                        event.getLastError(),
+                        replicatedDate,
+                        event.getId()})
+                .toList());
+    }
+
+    private static void applyLatest(JdbcTemplate target, List<TaskEvent> taskEvents) {
+        Map<Long, TaskEvent> latest = new LinkedHashMap<>();
+        for (TaskEvent taskEvent : taskEvents) {
+            TaskEvent previous = latest.get(taskEvent.getTaskId());
+            if (previous == null || supersedes(taskEvent, previous)) {
+                latest.remove(taskEvent.getTaskId());
+                latest.put(taskEvent.getTaskId(), taskEvent);
+            }
+        }
+
+        List<Object[]> deletes = new ArrayList<>();
+        List<TaskDTO> upserts = new ArrayList<>();
+        for (TaskEvent taskEvent : latest.values()) {
+            if (taskEvent.getEventType() == TaskEventType.DELETED) {
+                deletes.add(new Object[]{taskEvent.getTaskId()});
+            } else {
+                upserts.add(taskEvent.getTask());
+            }
+        }
+
+        target.batchUpdate(DELETE_TASK, deletes);
+        int[] updated = target.batchUpdate(UPDATE_TASK, upserts.stream().map(TaskReplicator::updateRow).toList());
+        List<TaskDTO> notUpdated = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                notUpdated.add(upserts.get(i));
+            }
+        }
+        if (notUpdated.isEmpty()) {
+            return;
+        }
+        // tasks the update did not change are either missing or already at the same or a newer version
+        Set<Long> existingIds = new HashSet<>(target.queryForList(
+                SELECT_TASK_IDS.formatted(placeholders(notUpdated.size())),
+                Long.class, notUpdated.stream().map(TaskDTO::getId).toArray()));
+        target.batchUpdate(INSERT_TASK, notUpdated.stream()
+                .filter(task -> !existingIds.contains(task.getId()))
+                .map(TaskReplicator::insertRow)
+                .toList());
+    }
+
+    private static void apply(JdbcTemplate target, TaskEvent taskEvent) {
+        if (taskEvent.getEventType() == TaskEventType.DELETED) {
+            target.update(DELETE_TASK, taskEvent.getTaskId());
+        } else {
+            TaskDTO task = taskEvent.getTask();
+            if (target.update(UPDATE_TASK, updateRow(task)) == 0
+                    && target.queryForList(SELECT_TASK_IDS.formatted("?"), Long.class, task.getId()).isEmpty()) {
+                target.update(INSERT_TASK, insertRow(task));
+            }
+        }
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private static OutboxEvent outboxEvent(ResultSet rs, int rowNum) throws SQLException {
+        return OutboxEvent.builder()
+                .id(rs.getLong("id"))
+                .taskId(rs.getLong("task_id"))
+                .eventType(TaskEventType.valueOf(rs.getString("event_type")))
+                .payload(rs.getString("payload"))
+                .status(OutboxStatus.valueOf(rs.getString("status")))
+                .attempts(rs.getInt("attempts"))
+                .createdDate(rs.getObject("created_date", LocalDateTime.class))
+                .sentDate(rs.getObject("sent_date", LocalDateTime.class))
+                .lastError(rs.getString("last_error"))
+                .build();
+    }
+
+    /**
+     * A delete is final; otherwise the event carrying the newer version of the task wins.
+     */
+    private static boolean supersedes(TaskEvent taskEvent, TaskEvent previous) {
+        if (previous.getEventType() == TaskEventType.DELETED) {
+            return false;
+        }
+        return taskEvent.getEventType() == TaskEventType.DELETED
+                || version(taskEvent.getTask()) >= version(previous.getTask());
+    }
+
+    private static long version(TaskDTO task) {
+        return task.getVersion() != null ? task.getVersion() : 0L;
+    }
+
+    /**
+     * Column values in the order of {@link #UPDATE_TASK}.
+     */
+    private static Object[] updateRow(TaskDTO task) {
+        Object[] row = Arrays.copyOf(insertRow(task), 10);
+        row[9] = version(task);
+        return row;
+    }
+
+    /**
+     * Column values in the order of {@link #INSERT_TASK}.
+     */
+    private static Object[] insertRow(TaskDTO task) {
+        return new Object[]{
+                task.getTitle(),
+                task.getDescription(),
+                task.getCreatedDate(),
+                task.getDueDate(),
+                Boolean.TRUE.equals(task.getCompleted()),
+                task.getPriority() != null ? task.getPriority().name() : null,
+                TaskAdmissionControl.ownerOf(task.getOwner()),
+                version(task),
+                task.getId()
+        };
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.taskmanager.repositories;
+
+import com.example.taskmanager.enums.OutboxStatus;
+import com.example.taskmanager.models.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    List<OutboxEvent> findByStatusOrderByIdAsc(OutboxStatus status, Limit limit);
+
+    List<OutboxEvent> findByReplicatedDateIsNullOrderByIdAsc(Limit limit);
+
+    Optional<OutboxEvent> findFirstByReplicatedDateIsNullOrderByIdAsc();
+
+    long countByReplicatedDateIsNull();
+
+    @Transactional
+    @Modifying
+    @Query("update OutboxEvent e set e.status = :status, e.sentDate = :sentDate where e.id in :ids")
+    int markSent(@Param("ids") Collection<Long> ids,
+                 @Param("status") OutboxStatus status,
+                 @Param("sentDate") LocalDateTime sentDate);
+
+    @Transactional
+    @Modifying
+    @Query("update OutboxEvent e set e.status = :status, e.attempts = e.attempts + 1, e.lastError = :lastError where e.id = :id")
+    int recordFailure(@Param("id") Long id,
+                      @Param("status") OutboxStatus status,
+                      @Param("lastError") String lastError);
+
+    @Transactional
+    @Modifying
+    @Query("update OutboxEvent e set e.replicatedDate = :replicatedDate where e.id in :ids")
+    int markReplicated(@Param("ids") Collection<Long> ids,
+                       @Param("replicatedDate") LocalDateTime replicatedDate);
+
+    @Transactional
+    @Modifying
+    @Query("delete from OutboxEvent e where e.status = :status and e.sentDate < :sentBefore"
+            + " and (e.replicatedDate is not null or :replicationDisabled = true)")
+    int purge(@Param("status") OutboxStatus status,
+              @Param("sentBefore") LocalDateTime sentBefore,
+              @Param("replicationDisabled") boolean replicationDisabled);
+}
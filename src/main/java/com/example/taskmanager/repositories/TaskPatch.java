@@ -0,0 +1,144 @@
+package com.example.taskmanager.repositories;
+
+import com.example.taskmanager.dtos.TaskDTO;
+import com.example.taskmanager.enums.Priority;
+import com.example.taskmanager.exceptions.InvalidTaskPatchException;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * A partial update of a task, converted once from a PATCH body to the column types and written by
+ * {@link TaskRepositoryCustom#patch} as a single UPDATE of only the columns it holds. A {@code null} value clears the
+ * column. Values are held to the constraints of {@link TaskDTO}, which a PUT body is validated against.
+ */
+public final class TaskPatch {
+
+    private final EnumMap<Field, Object> values;
+
+    private TaskPatch(EnumMap<Field, Object> values) {
+        this.values = values;
+    }
+
+    /**
+     * @param updates field names of {@code TaskDTO} mapped to their new values as deserialized from JSON.
+     * @return the converted patch.
+     * @throws InvalidTaskPatchException if a field cannot be patched, or a value does not convert to its field's type
+     *                                   or breaks a constraint of the field.
+     */
+    public static TaskPatch of(Map<String, Object> updates) {
+        EnumMap<Field, Object> values = new EnumMap<>(Field.class);
+        updates.forEach((name, value) -> {
+            Field field = Field.named(name);
+            values.put(field, field.convert(value));
+        });
+        return new TaskPatch(values);
+    }
+
+    public boolean isEmpty() {
+        return values.isEmpty();
+    }
+
+    /**
+     * @return the assignments of the SET clause, e.g. {@code title = ?, due_date = ?, version = version + 1}.
+     */
+    String setClause() {
+        StringJoiner clause = new StringJoiner(", ");
+        values.keySet().forEach(field -> clause.add(field.column + " = ?"));
+        return clause.add("version = version + 1").toString();
+    }
+
+    /**
+     * Binds the values in the order of {@link #setClause()}, starting at {@code index}.
+     *
+     * @return the index of the next parameter.
+     */
+    int bind(PreparedStatement statement, int index) throws SQLException {
+        for (Map.Entry<Field, Object> entry : values.entrySet()) {
+            Object value = entry.getValue();
+            if (value == null) {
+                statement.setNull(index++, entry.getKey().sqlType);
+            } else if (value instanceof Priority priority) {
+                statement.setString(index++, priority.name());
+            } else {
+                statement.setObject(index++, value);
+            }
+        }
+        return index;
+    }
+
+    private enum Field {
+        TITLE("title", "title", Types.VARCHAR),
+        DESCRIPTION("description", "description", Types.VARCHAR),
+        CREATED_DATE("createdDate", "created_date", Types.TIMESTAMP),
+        DUE_DATE("dueDate", "due_date", Types.TIMESTAMP),
+        COMPLETED("completed", "completed", Types.BOOLEAN),
+        PRIORITY("priority", "priority", Types.VARCHAR);
+
+        private final String name;
+        private final String column;
+        private final int sqlType;
+
+        Field(String name, String column, int sqlType) {
+            this.name = name;
+            this.column = column;
+            this.sqlType = sqlType;
+        }
+
+        static Field named(String name) {
+            for (Field field : values()) {
+                if (field.name.equals(name)) {
+                    return field;
+                }
+            }
+            throw new InvalidTaskPatchException("Invalid field: " + name);
+        }
+
+        Object convert(Object value) {
+            if (value == null) {
+                return switch (this) {
+                    case TITLE -> throw new InvalidTaskPatchException("Title cannot be blank");
+                    case PRIORITY -> throw new InvalidTaskPatchException("Priority cannot be null");
+                    default -> null;
+                };
+            }
+            try {
+                return switch (this) {
+                    case TITLE -> title((String) value);
+                    case DESCRIPTION -> description((String) value);
+                    case CREATED_DATE, DUE_DATE -> value instanceof LocalDateTime dateTime
+                            ? dateTime
+                            : LocalDateTime.parse((String) value);
+                    case COMPLETED -> (Boolean) value;
+                    case PRIORITY -> value instanceof Priority priority ? priority : Priority.valueOf((String) value);
+                };
+            } catch (ClassCastException | IllegalArgumentException | DateTimeParseException e) {
+                throw new InvalidTaskPatchException("Invalid value of field " + name + ": " + value, e);
+            }
+        }
+
+        private static String title(String title) {
+            if (title.isBlank()) {
+                throw new InvalidTaskPatchException("Title cannot be blank");
+            }
+            if (title.length() > TaskDTO.TITLE_MAX_LENGTH) {
+                throw new InvalidTaskPatchException("Title cannot be longer than " + TaskDTO.TITLE_MAX_LENGTH + " characters");
+            }
+            return title;
+        }
+
+        private static String description(String description) {
+            if (description.length() > TaskDTO.DESCRIPTION_MAX_LENGTH) {
+                throw new InvalidTaskPatchException(
+                        "Description cannot be longer than " + TaskDTO.DESCRIPTION_MAX_LENGTH + " characters");
+            }
+            return description;
+        }
+    }
+}
@@ -1,9 +1,62 @@
 package com.example.taskmanager.repositories;
 
 import com.example.taskmanager.models.Task;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
-    boolean existsByTitle(String title);
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>, TaskRepositoryCustom {
     long count();
+
+    /**
+     * Loads the ID, owner and title of every task, without the rest of the row.
+     */
+    List<TaskTitle> findAllTitlesBy();
+
+    /**
+     * Fetches at most {@code limit} tasks matching the specification without issuing a count query.
+     */
+    default List<Task> findKeysetPage(Specification<Task> specification, Sort sort, int limit) {
+        return findBy(specification, query -> query.sortBy(sort).limit(limit).all());
+    }
+
+    /**
+     * Deletes the task only if it still has the given version, with a single statement.
+     *
+     * @return the number of tasks deleted, 0 or 1.
+     */
+    @Modifying
+    @Query("delete from Task t where t.id = :id and t.version = :version")
+    int deleteByIdAndVersion(Long id, Long version);
+
+    /**
+     * Fetches the ID and due date of open tasks due after the given task position and before {@code until}, in
+     * (due date, ID) order, for sliding the due-date horizon one page at a time.
+     */
+    @Query("select t.id as id, t.dueDate as dueDate from Task t "
+            + "where (t.completed = false or t.completed is null) and t.dueDate < :until "
+            + "and (t.dueDate > :afterDueDate or (t.dueDate = :afterDueDate and t.id > :afterId)) "
+            + "order by t.dueDate, t.id")
+    List<TaskDue> findOpenDueAfter(LocalDateTime afterDueDate, Long afterId, LocalDateTime until, Limit limit);
+
+    interface TaskTitle {
+        Long getId();
+
+        String getTitle();
+
+        String getOwner();
+    }
+
+    interface TaskDue {
+        Long getId();
+
+        LocalDateTime getDueDate();
+    }
 }
@@ -0,0 +1,34 @@
+package com.example.taskmanager.repositories;
+
+import com.example.taskmanager.models.Task;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+
+public interface TaskRepositoryCustom {
+
+    /**
+     * Walks every task in id order over a forward-only JDBC cursor.
+     * Must be called inside a transaction so the driver can keep the cursor open.
+     *
+     * @param fetchSize the number of rows the driver fetches per round trip.
+     * @param chunkSize the number of rows after which the persistence context is cleared.
+     * @param consumer  receives each task; it must not hold on to the entity after returning.
+     * @return the number of tasks visited.
+     */
+    long forEachTask(int fetchSize, int chunkSize, Consumer<Task> consumer);
+
+    /**
+     * Writes a partial update with a single statement that updates only the patched columns, increments the version
+     * and returns the new row: {@code UPDATE ... RETURNING} on PostgreSQL and
+     * {@code SELECT ... FROM FINAL TABLE (UPDATE ...)} on H2; other databases read the row back with a second
+     * statement. The statement bypasses the persistence context, so a task already loaded in the current transaction
+     * is not refreshed.
+     *
+     * @param id              the ID of the task to be patched.
+     * @param expectedVersion the version the task must still have, or {@code null} to patch any version.
+     * @param patch           the columns to be written.
+     * @return the patched task, or an empty Optional if no task has the ID and expected version.
+     */
+    Optional<Task> patch(Long id, Long expectedVersion, TaskPatch patch);
+}
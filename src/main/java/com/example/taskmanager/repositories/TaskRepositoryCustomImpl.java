@@ -0,0 +1,115 @@
+package com.example.taskmanager.repositories;
+
+import com.example.taskmanager.enums.Priority;
+import com.example.taskmanager.models.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    private static final String TASK_COLUMNS = "id, title, description, created_date, due_date, completed, priority, owner, version";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public long forEachTask(int fetchSize, int chunkSize, Consumer<Task> consumer) {
+        long count = 0;
+        try (Stream<Task> tasks = entityManager.createQuery("select t from Task t order by t.id", Task.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            Iterator<Task> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                consumer.accept(iterator.next());
+                if (++count % chunkSize == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public Optional<Task> patch(Long id, Long expectedVersion, TaskPatch patch) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            if (patch.isEmpty()) {
+                return select(connection, id, expectedVersion);
+            }
+            String update = "UPDATE task SET " + patch.setClause() + " WHERE id = ?"
+                    + (expectedVersion != null ? " AND version = ?" : "");
+            return switch (connection.getMetaData().getDatabaseProductName()) {
+                case "PostgreSQL" -> firstTask(bind(connection.prepareStatement(update + " RETURNING " + TASK_COLUMNS),
+                        patch, id, expectedVersion));
+                case "H2" -> firstTask(bind(connection.prepareStatement("SELECT " + TASK_COLUMNS + " FROM FINAL TABLE (" + update + ")"),
+                        patch, id, expectedVersion));
+                default -> {
+                    try (PreparedStatement statement = bind(connection.prepareStatement(update), patch, id, expectedVersion)) {
+                        yield statement.executeUpdate() == 0 ? Optional.empty() : select(connection, id, null);
+                    }
+                }
+            };
+        });
+    }
+
+    private static PreparedStatement bind(PreparedStatement statement, TaskPatch patch, Long id, Long expectedVersion)
+            throws SQLException {
+        try {
+            int index = patch.bind(statement, 1);
+            statement.setLong(index++, id);
+            if (expectedVersion != null) {
+                statement.setLong(index, expectedVersion);
+            }
+            return statement;
+        } catch (SQLException e) {
+            statement.close();
+            throw e;
+        }
+    }
+
+    private static Optional<Task> select(Connection connection, Long id, Long expectedVersion) throws SQLException {
+        String sql = "SELECT " + TASK_COLUMNS + " FROM task WHERE id = ?" + (expectedVersion != null ? " AND version = ?" : "");
+        PreparedStatement statement = connection.prepareStatement(sql);
+        statement.setLong(1, id);
+        if (expectedVersion != null) {
+            statement.setLong(2, expectedVersion);
+        }
+        return firstTask(statement);
+    }
+
+    /**
+     * Runs the query and closes the statement.
+     */
+    private static Optional<Task> firstTask(PreparedStatement statement) throws SQLException {
+        try (statement; ResultSet resultSet = statement.executeQuery()) {
+            return resultSet.next() ? Optional.of(task(resultSet)) : Optional.empty();
+        }
+    }
+
+    private static Task task(ResultSet resultSet) throws SQLException {
+        String priority = resultSet.getString("priority");
+        return Task.builder()
+                .id(resultSet.getLong("id"))
+                .title(resultSet.getString("title"))
+                .description(resultSet.getString("description"))
+                .createdDate(resultSet.getObject("created_date", LocalDateTime.class))
+                .dueDate(resultSet.getObject("due_date", LocalDateTime.class))
+                .completed(resultSet.getObject("completed", Boolean.class))
+                .priority(priority == null ? null : Priority.valueOf(priority))
+                .owner(resultSet.getString("owner"))
+                .version(resultSet.getLong("version"))
+                .build();
+    }
+}
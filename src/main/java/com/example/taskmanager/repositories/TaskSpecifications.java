@@ -0,0 +1,76 @@
+package com.example.taskmanager.repositories;
+
+import com.example.taskmanager.dtos.TaskFilterDTO;
+import com.example.taskmanager.enums.TaskSortField;
+import com.example.taskmanager.models.Task;
+import com.example.taskmanager.pagination.TaskCursor;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the WHERE clause of keyset-paginated task queries.
+ * Only the predicates that are actually requested are emitted, so the database can use
+ * the (completed, priority), (completed, due_date, id) and (due_date, id) indexes instead of scanning the table.
+ */
+public final class TaskSpecifications {
+
+    private static final String ID = "id";
+    private static final String DUE_DATE = "dueDate";
+    private static final String COMPLETED = "completed";
+
+    private TaskSpecifications() {}
+
+    public static Specification<Task> matching(TaskFilterDTO filter, TaskSortField sortBy, TaskCursor after) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (filter != null) {
+                if (filter.getCompleted() != null) {
+                    predicates.add(cb.equal(root.get(COMPLETED), filter.getCompleted()));
+                }
+                if (filter.getPriority() != null) {
+                    predicates.add(cb.equal(root.get("priority"), filter.getPriority()));
+                }
+                if (filter.getDueFrom() != null) {
+                    predicates.add(cb.greaterThanOrEqualTo(root.get(DUE_DATE), filter.getDueFrom()));
+                }
+                if (filter.getDueTo() != null) {
+                    predicates.add(cb.lessThan(root.get(DUE_DATE), filter.getDueTo()));
+                }
+            }
+
+            if (sortBy == TaskSortField.DUE_DATE) {
+                predicates.add(cb.isNotNull(root.get(DUE_DATE)));
+                if (after != null) {
+                    predicates.add(cb.or(
+                            cb.greaterThan(root.get(DUE_DATE), after.dueDate()),
+                            cb.and(
+                                    cb.equal(root.get(DUE_DATE), after.dueDate()),
+                                    cb.greaterThan(root.get(ID), after.id()))));
+                }
+            } else if (after != null) {
+                predicates.add(cb.greaterThan(root.get(ID), after.id()));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Sorts by due date with {@code completed} first when the filter fixes it: the order is the same, but H2 only
+     * reads an index in sort order if its leading columns are the leading sort columns, here the
+     * (completed, due_date, id) index.
+     */
+    public static Sort sortedBy(TaskFilterDTO filter, TaskSortField sortBy) {
+        if (sortBy != TaskSortField.DUE_DATE) {
+            return Sort.by(ID);
+        }
+        return filter != null && filter.getCompleted() != null
+                ? Sort.by(COMPLETED, DUE_DATE, ID)
+                : Sort.by(DUE_DATE, ID);
+    }
+}
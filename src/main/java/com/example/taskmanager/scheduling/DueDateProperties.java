@@ -0,0 +1,50 @@
+package com.example.taskmanager.scheduling;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Due and overdue notifications of tasks bound from {@code taskmanager.due}.
+ */
+@Data
+@ConfigurationProperties(prefix = "taskmanager.due")
+public class DueDateProperties {
+
+    /**
+     * Every enabled instance sends the notifications of every task, so it is off unless enabled on one instance.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Resolution of the timing wheel: notifications go out at most this late.
+     */
+    private long tickMs = 1000;
+
+    /**
+     * How far ahead open tasks are loaded into the timing wheel.
+     */
+    private Duration horizon = Duration.ofHours(1);
+
+    /**
+     * How often the horizon slides forward, loading only the tasks that came into it since the last rescan.
+     */
+    private Duration rescanInterval = Duration.ofMinutes(1);
+
+    /**
+     * How long after its due date an open task is reported overdue.
+     */
+    private Duration overdueAfter = Duration.ofHours(1);
+
+    /**
+     * Upper bound of the tasks held in the timing wheel. While more open tasks fall within the horizon, it ends at
+     * the last task that fitted.
+     */
+    private int maxScheduled = 200000;
+
+    /**
+     * Tasks loaded per query when the horizon slides.
+     */
+    private int batchSize = 1000;
+}
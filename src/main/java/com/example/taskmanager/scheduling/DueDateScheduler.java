@@ -0,0 +1,374 @@
+package com.example.taskmanager.scheduling;
+
+import com.example.taskmanager.datasource.DatabaseOperationHandler;
+import com.example.taskmanager.dtos.TaskDTO;
+import com.example.taskmanager.dtos.TaskEvent;
+import com.example.taskmanager.enums.TaskEventType;
+import com.example.taskmanager.mappers.TaskMapper;
+import com.example.taskmanager.models.Task;
+import com.example.taskmanager.repositories.TaskRepository;
+import com.example.taskmanager.repositories.TaskRepository.TaskDue;
+import com.example.taskmanager.services.impl.KafkaServiceImpl;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Sends a {@code DUE} event to {@code taskmanager-due-topic} when an open task reaches its due date, and an
+ * {@code OVERDUE} event {@code overdue-after} later if it is still open.
+ * <p>
+ * Only the open tasks due within {@code horizon} are held, in a {@link TimingWheel}, and at most
+ * {@code max-scheduled} of them are loaded from the database. Every {@code rescan-interval} the horizon slides forward
+ * and only the tasks that came into it are read, by (due date, ID) keyset. Task changes made through this instance
+ * update the wheel right after they commit; changes made elsewhere are caught when a task fires, since its state is
+ * read back before the event is sent.
+ * <p>
+ * Events are sent at most once, by the instance that runs the scheduler; enable it on one instance only. A task due
+ * before the scheduler started is assumed to have been reported due already and is only reported overdue, unless it
+ * was already overdue then.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(DueDateProperties.class)
+public class DueDateScheduler {
+
+    private static final int WHEEL_SIZE = 64;
+
+    private final TaskRepository taskRepository;
+    private final TaskMapper taskMapper;
+    private final KafkaServiceImpl kafkaService;
+    private final DueDateProperties dueDateProperties;
+    private final Clock clock;
+
+    private final long overdueAfterMs;
+    private final long startedMs;
+
+    /**
+     * Guards the wheel, the timers and the covered position. A {@link ReentrantLock} rather than
+     * {@code synchronized}, as in {@link com.example.taskmanager.datasource.DataSourceCircuitBreaker}, so that the
+     * request threads that update timers after a commit do not pin their carrier thread when they are virtual.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+    private final TimingWheel<DueTimer> wheel;
+    private final Map<Long, DueTimer> timers = new HashMap<>();
+
+    /**
+     * Every open task at or before this (due date, ID) position is held, or has been reported; {@code null} until
+     * the horizon is loaded for the first time.
+     */
+    private LocalDateTime coveredDueDate;
+    private long coveredId;
+
+    /**
+     * Tasks due before this are held as well while the horizon is being loaded up to it.
+     */
+    private LocalDateTime loadingUntil;
+
+    /**
+     * Only touched by the scheduler thread.
+     */
+    private long nextRescanMs;
+
+    @Autowired
+    public DueDateScheduler(TaskRepository taskRepository,
+                            TaskMapper taskMapper,
+                            KafkaServiceImpl kafkaService,
+                            DueDateProperties dueDateProperties,
+                            MeterRegistry meterRegistry) {
+        this(taskRepository, taskMapper, kafkaService, dueDateProperties, meterRegistry, Clock.systemDefaultZone());
+    }
+
+    DueDateScheduler(TaskRepository taskRepository,
+                     TaskMapper taskMapper,
+                     KafkaServiceImpl kafkaService,
+                     DueDateProperties dueDateProperties,
+                     MeterRegistry meterRegistry,
+                     Clock clock) {
+        this.taskRepository = taskRepository;
+        this.taskMapper = taskMapper;
+        this.kafkaService = kafkaService;
+        this.dueDateProperties = dueDateProperties;
+        this.clock = clock;
+        this.overdueAfterMs = dueDateProperties.getOverdueAfter().toMillis();
+        this.startedMs = clock.millis();
+        long tickMs = dueDateProperties.getTickMs();
+        // the furthest timer is the overdue one of a task due at the end of the horizon
+        long spanMs = dueDateProperties.getHorizon().toMillis() + overdueAfterMs + tickMs;
+        this.wheel = new TimingWheel<>(tickMs, WHEEL_SIZE, TimingWheel.levelsFor(tickMs, WHEEL_SIZE, spanMs), startedMs);
+
+        Gauge.builder("taskmanager.due.scheduled", this, DueDateScheduler::scheduledCount)
+                .description("Open tasks held by the due-date scheduler")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Slides the horizon when a rescan is due, then sends the events of the timers that fired.
+     */
+    @Scheduled(fixedDelayString = "${taskmanager.due.tick-ms:1000}")
+    public void tick() {
+        if (!dueDateProperties.isEnabled()) {
+            return;
+        }
+        long now = clock.millis();
+        if (now >= nextRescanMs) {
+            try {
+                slideHorizon(now);
+                nextRescanMs = now + dueDateProperties.getRescanInterval().toMillis();
+            } catch (DataAccessException | TransactionException e) {
+                log.warn("Due-date scheduler could not load upcoming tasks, will retry: {}", e.getMessage());
+            }
+        }
+        List<DueTimer> expired = new ArrayList<>();
+        lock.lock();
+        try {
+            wheel.advance(now, expired);
+        } finally {
+            lock.unlock();
+        }
+        if (!expired.isEmpty()) {
+            fire(expired);
+        }
+    }
+
+    /**
+     * Updates the timer of a task after a change to it committed.
+     *
+     * @param task           the task as written.
+     * @param dueDateChanged whether the change set the due date; a due date set in the past fires right away, while
+     *                       any other change of a task past its due date does not report it again.
+     */
+    public void changed(TaskDTO task, boolean dueDateChanged) {
+        lock.lock();
+        try {
+            if (!dueDateProperties.isEnabled() || coveredDueDate == null) {
+                return;
+            }
+            Long id = task.getId();
+            LocalDateTime dueDate = task.getDueDate();
+            if (Boolean.TRUE.equals(task.getCompleted()) || dueDate == null || !isCovered(dueDate, id)) {
+                // the horizon picks up a due date beyond it once it gets there
+                remove(id);
+                return;
+            }
+            DueTimer timer = timers.get(id);
+            long dueMs = toMillis(dueDate);
+            if (timer != null ? timer.dueMs != dueMs : dueDateChanged || dueMs > clock.millis()) {
+                schedule(id, dueMs, TaskEventType.DUE);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops the timers of deleted tasks.
+     */
+    public void removed(Collection<Long> ids) {
+        lock.lock();
+        try {
+            ids.forEach(this::remove);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int scheduledCount() {
+        lock.lock();
+        try {
+            return timers.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Loads the open tasks due between the covered position and {@code now + horizon}, page by page, until the
+     * horizon is loaded or {@code max-scheduled} tasks are held.
+     */
+    private void slideHorizon(long now) {
+        LocalDateTime until = toDateTime(now + dueDateProperties.getHorizon().toMillis());
+        LocalDateTime afterDueDate;
+        long afterId;
+        lock.lock();
+        try {
+            if (coveredDueDate == null) {
+                coveredDueDate = toDateTime(now - overdueAfterMs);
+                coveredId = Long.MIN_VALUE;
+            }
+            loadingUntil = until;
+            afterDueDate = coveredDueDate;
+            afterId = coveredId;
+        } finally {
+            lock.unlock();
+        }
+        int batchSize = dueDateProperties.getBatchSize();
+        try {
+            while (true) {
+                LocalDateTime pageAfterDueDate = afterDueDate;
+                long pageAfterId = afterId;
+                List<TaskDue> page = DatabaseOperationHandler.execute(() ->
+                        taskRepository.findOpenDueAfter(pageAfterDueDate, pageAfterId, until, Limit.of(batchSize)));
+                lock.lock();
+                try {
+                    for (TaskDue due : page) {
+                        if (!timers.containsKey(due.getId())) {
+                            if (timers.size() >= dueDateProperties.getMaxScheduled()) {
+                                log.warn("Due-date scheduler holds {} tasks, its horizon ends at {} instead of {}",
+                                        timers.size(), coveredDueDate, until);
+                                return;
+                            }
+                            long dueMs = toMillis(due.getDueDate());
+                            schedule(due.getId(), dueMs, dueMs < startedMs ? TaskEventType.OVERDUE : TaskEventType.DUE);
+                        }
+                        coveredDueDate = due.getDueDate();
+                        coveredId = due.getId();
+                    }
+                    if (page.size() < batchSize) {
+                        coveredDueDate = until;
+                        coveredId = Long.MIN_VALUE;
+                        log.debug("Due-date scheduler holds {} tasks due until {}", timers.size(), until);
+                        return;
+                    }
+                    afterDueDate = coveredDueDate;
+                    afterId = coveredId;
+                } finally {
+                    lock.unlock();
+                }
+            }
+        } finally {
+            lock.lock();
+            try {
+                loadingUntil = null;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Reads the fired tasks back and sends the events of those still open and due as scheduled. A task whose due
+     * date was changed elsewhere is rescheduled instead.
+     */
+    private void fire(List<DueTimer> expired) {
+        Map<Long, Task> tasks;
+        try {
+            List<Long> ids = expired.stream().map(timer -> timer.taskId).toList();
+            tasks = DatabaseOperationHandler.execute(() -> taskRepository.findAllById(ids)).stream()
+                    .collect(Collectors.toMap(Task::getId, Function.identity()));
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Due-date scheduler could not read {} due tasks, will retry: {}", expired.size(), e.getMessage());
+            lock.lock();
+            try {
+                expired.stream().filter(timer -> timers.get(timer.taskId) == timer).forEach(wheel::add);
+            } finally {
+                lock.unlock();
+            }
+            return;
+        }
+
+        List<TaskEvent> events = new ArrayList<>();
+        lock.lock();
+        try {
+            for (DueTimer timer : expired) {
+                if (timers.get(timer.taskId) != timer) {
+                    // changed while it was being read
+                    continue;
+                }
+                Task task = tasks.get(timer.taskId);
+                if (task == null || Boolean.TRUE.equals(task.getCompleted()) || task.getDueDate() == null) {
+                    timers.remove(timer.taskId);
+                } else if (toMillis(task.getDueDate()) != timer.dueMs) {
+                    timers.remove(timer.taskId);
+                    if (isCovered(task.getDueDate(), task.getId())) {
+                        schedule(task.getId(), toMillis(task.getDueDate()), TaskEventType.DUE);
+                    }
+                } else {
+                    events.add(TaskEvent.builder()
+                            .eventType(timer.stage)
+                            .taskId(task.getId())
+                            .occurredAt(LocalDateTime.now(clock))
+                            .changedFields(List.of())
+                            .task(taskMapper.toDto(task))
+                            .build());
+                    if (timer.stage == TaskEventType.DUE) {
+                        schedule(task.getId(), timer.dueMs, TaskEventType.OVERDUE);
+                    } else {
+                        timers.remove(timer.taskId);
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        for (TaskEvent event : events) {
+            try {
+                kafkaService.sendDueEvent(event);
+            } catch (RuntimeException e) {
+                log.warn("Could not send {} event of task {}: {}", event.getEventType(), event.getTaskId(), e.getMessage());
+            }
+        }
+        log.debug("Due-date scheduler sent {} events", events.size());
+    }
+
+    private boolean isCovered(LocalDateTime dueDate, long id) {
+        int position = dueDate.compareTo(coveredDueDate);
+        return position < 0 || position == 0 && id <= coveredId
+                || loadingUntil != null && dueDate.isBefore(loadingUntil);
+    }
+
+    private void schedule(Long id, long dueMs, TaskEventType stage) {
+        remove(id);
+        DueTimer timer = new DueTimer(id, dueMs, stage, stage == TaskEventType.DUE ? dueMs : dueMs + overdueAfterMs);
+        wheel.add(timer);
+        timers.put(id, timer);
+    }
+
+    private void remove(Long id) {
+        DueTimer timer = timers.remove(id);
+        if (timer != null) {
+            wheel.remove(timer);
+        }
+    }
+
+    private long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(clock.getZone()).toInstant().toEpochMilli();
+    }
+
+    private LocalDateTime toDateTime(long epochMilli) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), clock.getZone());
+    }
+
+    private static final class DueTimer extends TimingWheel.Timer {
+
+        private final long taskId;
+        private final long dueMs;
+        private final TaskEventType stage;
+
+        private DueTimer(long taskId, long dueMs, TaskEventType stage, long deadlineMs) {
+            super(deadlineMs);
+            this.taskId = taskId;
+            this.dueMs = dueMs;
+            this.stage = stage;
+        }
+    }
+}
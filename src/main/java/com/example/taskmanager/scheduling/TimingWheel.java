@@ -0,0 +1,214 @@
+package com.example.taskmanager.scheduling;
+
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel: timers are kept in {@code levels} wheels of {@code wheelSize} slots, where a slot of
+ * level {@code L} spans {@code wheelSize^L} ticks. A timer goes into the lowest level whose slots still tell its
+ * deadline apart from the current time and is moved down a level whenever the wheel reaches the slot it waits in, so
+ * adding and removing a timer take constant time and advancing by one tick only touches the timers that are due or
+ * move down.
+ * <p>
+ * A timer never fires before its deadline and at most one tick after the clock passed it. Deadlines already reached
+ * when the timer is added fire on the next tick. Not thread-safe.
+ *
+ * @param <T> the type of the timers.
+ */
+final class TimingWheel<T extends TimingWheel.Timer> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final int levels;
+
+    /**
+     * {@code wheelSize^L}, the ticks spanned by a slot of level {@code L}.
+     */
+    private final long[] slotTicks;
+
+    /**
+     * Heads of the doubly linked lists of timers, by level and slot.
+     */
+    private final Timer[][] slots;
+
+    private long currentTick;
+    private int size;
+
+    /**
+     * @param tickMs    the resolution of the wheel.
+     * @param wheelSize the number of slots of each level.
+     * @param levels    the number of levels, see {@link #levelsFor}.
+     * @param startMs   the current time.
+     */
+    TimingWheel(long tickMs, int wheelSize, int levels, long startMs) {
+        if (tickMs <= 0 || wheelSize < 2 || levels < 1) {
+            throw new IllegalArgumentException("Invalid timing wheel of " + levels + " levels of " + wheelSize
+                    + " slots of " + tickMs + " ms");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.levels = levels;
+        this.slotTicks = new long[levels];
+        slotTicks[0] = 1;
+        for (int level = 1; level < levels; level++) {
+            slotTicks[level] = Math.multiplyExact(slotTicks[level - 1], wheelSize);
+        }
+        this.slots = new Timer[levels][wheelSize];
+        this.currentTick = startMs / tickMs;
+    }
+
+    /**
+     * @return the number of levels of {@code wheelSize} slots of {@code tickMs} needed to hold deadlines up to
+     * {@code spanMs} ahead.
+     */
+    static int levelsFor(long tickMs, int wheelSize, long spanMs) {
+        int levels = 1;
+        while (spanTicks(wheelSize, levels) * tickMs < spanMs) {
+            levels++;
+        }
+        return levels;
+    }
+
+    /**
+     * @return the ticks ahead that {@code levels} levels hold: the top level holds deadlines whose slot is less than a
+     * full turn ahead, and one tick is lost to rounding.
+     */
+    private static long spanTicks(int wheelSize, int levels) {
+        long topSlotTicks = 1;
+        for (int level = 1; level < levels; level++) {
+            topSlotTicks = Math.multiplyExact(topSlotTicks, wheelSize);
+        }
+        return Math.multiplyExact(topSlotTicks, wheelSize - 1) - 1;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the deadline is further ahead than the wheel spans.
+     */
+    void add(T timer) {
+        if (timer.isScheduled()) {
+            throw new IllegalStateException("Timer is already scheduled");
+        }
+        place(timer, Math.max(Math.ceilDiv(timer.deadlineMs, tickMs), currentTick + 1));
+        size++;
+    }
+
+    void remove(T timer) {
+        if (timer.isScheduled()) {
+            unlink(timer);
+            size--;
+        }
+    }
+
+    /**
+     * Advances the wheel to {@code nowMs}, tick by tick.
+     *
+     * @param expired receives the timers whose deadline has been reached, tick by tick.
+     */
+    @SuppressWarnings("unchecked")
+    void advance(long nowMs, List<T> expired) {
+        long targetTick = nowMs / tickMs;
+        while (currentTick < targetTick) {
+            if (size == 0) {
+                currentTick = targetTick;
+                return;
+            }
+            currentTick++;
+            for (int level = levels - 1; level >= 1; level--) {
+                if (currentTick % slotTicks[level] == 0) {
+                    cascade(level, slot(level, currentTick / slotTicks[level]));
+                }
+            }
+            int slot = slot(0, currentTick);
+            for (Timer timer = slots[0][slot]; timer != null; ) {
+                Timer next = timer.next;
+                unlink(timer);
+                size--;
+                expired.add((T) timer);
+                timer = next;
+            }
+        }
+    }
+
+    /**
+     * Moves the timers of a slot that the wheel reached down to the lower levels.
+     */
+    private void cascade(int level, int slot) {
+        Timer timer = slots[level][slot];
+        while (timer != null) {
+            Timer next = timer.next;
+            unlink(timer);
+            place(timer, Math.max(Math.ceilDiv(timer.deadlineMs, tickMs), currentTick));
+            timer = next;
+        }
+    }
+
+    /**
+     * Puts the timer into the lowest level where the slot of its deadline differs from the current one by less than
+     * a full turn, so that the wheel reaches the slot before the deadline and no later timer shares it.
+     */
+    private void place(Timer timer, long deadlineTick) {
+        for (int level = 0; level < levels; level++) {
+            long block = deadlineTick / slotTicks[level];
+            if (block - currentTick / slotTicks[level] < wheelSize) {
+                link(timer, level, slot(level, block));
+                return;
+            }
+        }
+        throw new IllegalArgumentException("Deadline " + timer.deadlineMs + " is beyond the "
+                + tickMs * spanTicks(wheelSize, levels) + " ms ahead held by the timing wheel");
+    }
+
+    private int slot(int level, long block) {
+        return (int) (block % wheelSize);
+    }
+
+    private void link(Timer timer, int level, int slot) {
+        Timer head = slots[level][slot];
+        timer.level = level;
+        timer.slot = slot;
+        timer.prev = null;
+        timer.next = head;
+        if (head != null) {
+            head.prev = timer;
+        }
+        slots[level][slot] = timer;
+    }
+
+    private void unlink(Timer timer) {
+        if (timer.prev != null) {
+            timer.prev.next = timer.next;
+        } else {
+            slots[timer.level][timer.slot] = timer.next;
+        }
+        if (timer.next != null) {
+            timer.next.prev = timer.prev;
+        }
+        timer.prev = null;
+        timer.next = null;
+        timer.level = -1;
+    }
+
+    /**
+     * Entry of the wheel; the links are intrusive so that a timer can be removed without searching its slot.
+     */
+    static class Timer {
+
+        final long deadlineMs;
+
+        private Timer prev;
+        private Timer next;
+        private int level = -1;
+        private int slot;
+
+        Timer(long deadlineMs) {
+            this.deadlineMs = deadlineMs;
+        }
+
+        boolean isScheduled() {
+            return level >= 0;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.taskmanager.serialization;
+
+import com.example.taskmanager.dtos.TaskDTO;
+import com.example.taskmanager.dtos.TaskEvent;
+import com.example.taskmanager.enums.Priority;
+import com.example.taskmanager.enums.TaskEventType;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.taskmanager.serialization.TaskEventFormat.*;
+
+/**
+ * Reads task events written by {@link TaskEventSerializer}. A {@code null} value (tombstone) is read as {@code null}.
+ */
+public class TaskEventDeserializer implements Deserializer<TaskEvent> {
+
+    private static final TaskEventType[] EVENT_TYPES = TaskEventType.values();
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    @Override
+    public TaskEvent deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+
+        try {
+            Input in = new Input(data);
+            int formatVersion = in.readByte();
+            if (formatVersion != VERSION_1) {
+                throw new SerializationException("Unsupported task event format version: " + formatVersion);
+            }
+
+            TaskEvent event = new TaskEvent();
+            event.setEventType(EVENT_TYPES[in.readByte()]);
+            int flags = in.readByte();
+            if ((flags & HAS_TASK_ID) != 0) {
+                event.setTaskId(in.readVarLong());
+            }
+            if ((flags & HAS_VERSION) != 0) {
+                event.setVersion(in.readVarLong());
+            }
+            if ((flags & HAS_OCCURRED_AT) != 0) {
+                event.setOccurredAt(in.readTime());
+            }
+            event.setChangedFields(changedFields(in.readVarLong()));
+            if ((flags & HAS_TASK) != 0) {
+                event.setTask(readTask(in));
+                if ((flags & HAS_OWNER) != 0) {
+                    event.getTask().setOwner(in.readString());
+                }
+                if ((flags & HAS_TASK_VERSION) != 0) {
+                    event.getTask().setVersion(in.readVarLong());
+                }
+            }
+            return event;
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new SerializationException("Truncated or corrupt task event", e);
+        }
+    }
+
+    private static TaskDTO readTask(Input in) {
+        TaskDTO task = new TaskDTO();
+        int flags = in.readByte();
+        if ((flags & HAS_ID) != 0) {
+            task.setId(in.readVarLong());
+        }
+        if ((flags & HAS_TITLE) != 0) {
+            task.setTitle(in.readString());
+        }
+        if ((flags & HAS_DESCRIPTION) != 0) {
+            task.setDescription(in.readString());
+        }
+        if ((flags & HAS_CREATED_DATE) != 0) {
+            task.setCreatedDate(in.readTime());
+        }
+        if ((flags & HAS_DUE_DATE) != 0) {
+            task.setDueDate(in.readTime());
+        }
+        if ((flags & HAS_COMPLETED) != 0) {
+            task.setCompleted((flags & COMPLETED) != 0);
+        }
+        if ((flags & HAS_PRIORITY) != 0) {
+            task.setPriority(PRIORITIES[in.readByte()]);
+        }
+        return task;
+    }
+
+    private static List<String> changedFields(long mask) {
+        List<String> changedFields = new ArrayList<>(Long.bitCount(mask));
+        for (int i = 0; i < TaskEvent.ALL_FIELDS.size(); i++) {
+            if ((mask & (1L << i)) != 0) {
+                changedFields.add(TaskEvent.ALL_FIELDS.get(i));
+            }
+        }
+        return changedFields;
+    }
+
+    private static final class Input {
+
+        private final byte[] data;
+        private int position;
+
+        Input(byte[] data) {
+            this.data = data;
+        }
+
+        int readByte() {
+            return data[position++] & 0xFF;
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = data[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new SerializationException("Malformed varint in task event");
+        }
+
+        LocalDateTime readTime() {
+            long zigZag = readVarLong();
+            long epochSecond = (zigZag >>> 1) ^ -(zigZag & 1);
+            return LocalDateTime.ofEpochSecond(epochSecond, (int) readVarLong(), ZoneOffset.UTC);
+        }
+
+        String readString() {
+            int length = (int) readVarLong();
+            if (length < 0 || position + length > data.length) {
+                throw new SerializationException("Malformed string in task event");
+            }
+            String value = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
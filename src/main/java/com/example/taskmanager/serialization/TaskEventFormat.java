@@ -0,0 +1,51 @@
+package com.example.taskmanager.serialization;
+
+/**
+ * Layout of version 1 of the binary task event format.
+ *
+ * <pre>
+ * byte     format version (1)
+ * byte     event type, ordinal of TaskEventType
+ * byte     event flags: HAS_TASK_ID, HAS_VERSION, HAS_OCCURRED_AT, HAS_TASK, HAS_OWNER, HAS_TASK_VERSION
+ * varlong  task id                         if HAS_TASK_ID
+ * varlong  version                         if HAS_VERSION
+ * time     occurred at                     if HAS_OCCURRED_AT
+ * varint   changed fields, bit i set for TaskEvent.ALL_FIELDS[i]
+ * task                                     if HAS_TASK
+ * string   task owner                      if HAS_OWNER
+ * varlong  task version                    if HAS_TASK_VERSION
+ *
+ * task:    byte flags, then each present field in declaration order:
+ *          varlong id, string title, string description, time createdDate, time dueDate,
+ *          byte priority (ordinal of Priority); completed is carried in the flags
+ * time:    zig-zag varlong epoch second (UTC), varint nano of second
+ * string:  varint UTF-8 length, UTF-8 bytes
+ * </pre>
+ *
+ * Enum ordinals go on the wire, so constants of TaskEventType and Priority may only be appended.
+ * The task flags byte is full, so the owner and the task version were added as trailing event fields, which readers
+ * that predate them skip.
+ */
+final class TaskEventFormat {
+
+    static final byte VERSION_1 = 1;
+
+    static final int HAS_TASK_ID = 1;
+    static final int HAS_VERSION = 1 << 1;
+    static final int HAS_OCCURRED_AT = 1 << 2;
+    static final int HAS_TASK = 1 << 3;
+    static final int HAS_OWNER = 1 << 4;
+    static final int HAS_TASK_VERSION = 1 << 5;
+
+    static final int HAS_ID = 1;
+    static final int HAS_TITLE = 1 << 1;
+    static final int HAS_DESCRIPTION = 1 << 2;
+    static final int HAS_CREATED_DATE = 1 << 3;
+    static final int HAS_DUE_DATE = 1 << 4;
+    static final int HAS_COMPLETED = 1 << 5;
+    static final int COMPLETED = 1 << 6;
+    static final int HAS_PRIORITY = 1 << 7;
+
+    private TaskEventFormat() {
+    }
+}
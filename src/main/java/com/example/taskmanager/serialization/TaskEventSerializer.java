@@ -0,0 +1,152 @@
+package com.example.taskmanager.serialization;
+
+import com.example.taskmanager.dtos.TaskDTO;
+import com.example.taskmanager.dtos.TaskEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.example.taskmanager.serialization.TaskEventFormat.*;
+
+/**
+ * Writes task events in the compact binary format described in {@link TaskEventFormat}.
+ * A {@code null} event is written as a {@code null} value so that tombstones pass through unchanged.
+ */
+public class TaskEventSerializer implements Serializer<TaskEvent> {
+
+    private static final int INITIAL_CAPACITY = 128;
+
+    @Override
+    public byte[] serialize(String topic, TaskEvent event) {
+        if (event == null) {
+            return null;
+        }
+
+        Output out = new Output(INITIAL_CAPACITY);
+        out.writeByte(VERSION_1);
+        out.writeByte(event.getEventType().ordinal());
+        out.writeByte((event.getTaskId() != null ? HAS_TASK_ID : 0)
+                | (event.getVersion() != null ? HAS_VERSION : 0)
+                | (event.getOccurredAt() != null ? HAS_OCCURRED_AT : 0)
+                | (event.getTask() != null ? HAS_TASK : 0)
+                | (event.getTask() != null && event.getTask().getOwner() != null ? HAS_OWNER : 0)
+                | (event.getTask() != null && event.getTask().getVersion() != null ? HAS_TASK_VERSION : 0));
+        if (event.getTaskId() != null) {
+            out.writeVarLong(event.getTaskId());
+        }
+        if (event.getVersion() != null) {
+            out.writeVarLong(event.getVersion());
+        }
+        if (event.getOccurredAt() != null) {
+            out.writeTime(event.getOccurredAt());
+        }
+        out.writeVarLong(changedFieldsMask(event.getChangedFields()));
+        if (event.getTask() != null) {
+            writeTask(out, event.getTask());
+            if (event.getTask().getOwner() != null) {
+                out.writeString(event.getTask().getOwner());
+            }
+            if (event.getTask().getVersion() != null) {
+                out.writeVarLong(event.getTask().getVersion());
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeTask(Output out, TaskDTO task) {
+        out.writeByte((task.getId() != null ? HAS_ID : 0)
+                | (task.getTitle() != null ? HAS_TITLE : 0)
+                | (task.getDescription() != null ? HAS_DESCRIPTION : 0)
+                | (task.getCreatedDate() != null ? HAS_CREATED_DATE : 0)
+                | (task.getDueDate() != null ? HAS_DUE_DATE : 0)
+                | (task.getCompleted() != null ? HAS_COMPLETED : 0)
+                | (Boolean.TRUE.equals(task.getCompleted()) ? COMPLETED : 0)
+                | (task.getPriority() != null ? HAS_PRIORITY : 0));
+        if (task.getId() != null) {
+            out.writeVarLong(task.getId());
+        }
+        if (task.getTitle() != null) {
+            out.writeString(task.getTitle());
+        }
+        if (task.getDescription() != null) {
+            out.writeString(task.getDescription());
+        }
+        if (task.getCreatedDate() != null) {
+            out.writeTime(task.getCreatedDate());
+        }
+        if (task.getDueDate() != null) {
+            out.writeTime(task.getDueDate());
+        }
+        if (task.getPriority() != null) {
+            out.writeByte(task.getPriority().ordinal());
+        }
+    }
+
+    private static long changedFieldsMask(List<String> changedFields) {
+        if (changedFields == null) {
+            return 0;
+        }
+        long mask = 0;
+        for (String field : changedFields) {
+            int index = TaskEvent.ALL_FIELDS.indexOf(field);
+            if (index < 0) {
+                throw new SerializationException("Unknown task field: " + field);
+            }
+            mask |= 1L << index;
+        }
+        return mask;
+    }
+
+    private static final class Output {
+
+        private byte[] buffer;
+        private int position;
+
+        Output(int capacity) {
+            buffer = new byte[capacity];
+        }
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) value;
+        }
+
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void writeTime(LocalDateTime time) {
+            long epochSecond = time.toEpochSecond(ZoneOffset.UTC);
+            writeVarLong((epochSecond << 1) ^ (epochSecond >> 63));
+            writeVarLong(time.getNano());
+        }
+
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+
+        private void ensureCapacity(int length) {
+            if (position + length > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + length));
+            }
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.taskmanager.services;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface TaskExportService {
+    long exportTasks(OutputStream outputStream) throws IOException;
+}
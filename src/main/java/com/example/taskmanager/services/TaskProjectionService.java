@@ -0,0 +1,19 @@
+package com.example.taskmanager.services;
+
+import com.example.taskmanager.dtos.TaskDTO;
+import com.example.taskmanager.dtos.TaskEvent;
+import com.example.taskmanager.dtos.TaskFilterDTO;
+
+import java.util.List;
+
+public interface TaskProjectionService {
+    boolean apply(TaskEvent taskEvent);
+
+    void evict(Long taskId);
+
+    TaskDTO getTask(Long id);
+
+    List<TaskDTO> getTasks(TaskFilterDTO filter, int limit);
+
+    int size();
+}
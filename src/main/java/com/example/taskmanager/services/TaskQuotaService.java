@@ -0,0 +1,9 @@
+package com.example.taskmanager.services;
+
+import com.example.taskmanager.dtos.TaskQuotaDTO;
+
+public interface TaskQuotaService {
+    TaskQuotaDTO getQuota(String owner);
+
+    TaskQuotaDTO setLimit(String owner, int limit);
+}
@@ -1,6 +1,10 @@
 package com.example.taskmanager.services;
 
+import com.example.taskmanager.dtos.BatchResultDTO;
 import com.example.taskmanager.dtos.TaskDTO;
+import com.example.taskmanager.dtos.TaskFilterDTO;
+import com.example.taskmanager.dtos.TaskPageDTO;
+import com.example.taskmanager.enums.TaskSortField;
 import com.example.taskmanager.models.Task;
 
 import java.util.List;
@@ -12,11 +16,17 @@ public interface TaskService {
 
     Optional<Task> getTaskById(Long id);
 
-    List<TaskDTO> getAllTasks();
+    TaskPageDTO getAllTasks(TaskFilterDTO filter, TaskSortField sortBy, String cursor, int limit);
 
-    TaskDTO updateTask(Long id, TaskDTO taskDTO);
+    TaskDTO updateTask(Long id, TaskDTO taskDTO, Long expectedVersion);
 
-    String deleteTask(Long id);
+    String deleteTask(Long id, Long expectedVersion);
 
-    TaskDTO patchTask(Long id, Map<String, Object> updates);
+    TaskDTO patchTask(Long id, Map<String, Object> updates, Long expectedVersion);
+
+    BatchResultDTO createTasks(List<TaskDTO> taskDTOs);
+
+    BatchResultDTO updateTasks(List<TaskDTO> taskDTOs);
+
+    BatchResultDTO deleteTasks(List<Long> ids);
 }
@@ -1,27 +1,129 @@
 package com.example.taskmanager.services.impl;
 
-import com.example.taskmanager.dtos.TaskDTO;
-import lombok.RequiredArgsConstructor;
+import com.example.taskmanager.dtos.TaskEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static com.example.taskmanager.configs.kafka.KafkaTopicConfig.TASK_DUE_TOPIC;
+import static com.example.taskmanager.configs.kafka.KafkaTopicConfig.TASK_TOPIC;
+
+/**
+ * Publishes task events. Every send is timed from the call until the broker acknowledged or rejected it and
+ * published as {@code taskmanager.kafka.send}, tagged {@code type} ({@code event}, {@code tombstone}, {@code due}
+ * or {@code overdue}) and {@code outcome} ({@code success} or {@code error}). The number of records handed to the
+ * producer between two flushes is published as {@code taskmanager.kafka.batch.size}; the producer's own
+ * {@code kafka.producer.batch.size.avg} reports the bytes per partition batch.
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class KafkaServiceImpl {
 
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private static final String SEND_METRIC = "taskmanager.kafka.send";
+    private static final String BATCH_SIZE_METRIC = "taskmanager.kafka.batch.size";
+
+    private final KafkaTemplate<String, TaskEvent> kafkaTemplate;
+    private final Meter.MeterProvider<Timer> sendTimers;
+    private final DistributionSummary batchSize;
+    private final AtomicInteger unflushed = new AtomicInteger();
+
+    public KafkaServiceImpl(KafkaTemplate<String, TaskEvent> kafkaTemplate, MeterRegistry meterRegistry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.sendTimers = Timer.builder(SEND_METRIC)
+                .description("Kafka sends of task events, until acknowledged by the broker")
+                .publishPercentileHistogram()
+                .withRegistry(meterRegistry);
+        this.batchSize = DistributionSummary.builder(BATCH_SIZE_METRIC)
+                .description("Records handed to the Kafka producer per flush")
+                .baseUnit("records")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Sends a task event to a Kafka topic, keyed by task ID so that all events of a task land on the same partition in order.
+     *
+     * @param taskEvent the task event to be sent to Kafka.
+     * @return the pending send result.
+     */
+    public CompletableFuture<SendResult<String, TaskEvent>> sendTaskEvent(TaskEvent taskEvent) {
+        CompletableFuture<SendResult<String, TaskEvent>> result =
+                timed("event", () -> kafkaTemplate.send(TASK_TOPIC, String.valueOf(taskEvent.getTaskId()), taskEvent));
+        log.debug("Sent {} event of task {} to Kafka topic {}", taskEvent.getEventType(), taskEvent.getTaskId(), TASK_TOPIC);
+        return result;
+    }
 
-    private static final String TASK_TOPIC = "taskmanager-topic";
+    /**
+     * Sends a tombstone for a deleted task so that log compaction can drop every record of it.
+     *
+     * @param taskId the ID of the deleted task.
+     * @return the pending send result.
+     */
+    public CompletableFuture<SendResult<String, TaskEvent>> sendTombstone(Long taskId) {
+        CompletableFuture<SendResult<String, TaskEvent>> result =
+                timed("tombstone", () -> kafkaTemplate.send(TASK_TOPIC, String.valueOf(taskId), null));
+        log.debug("Sent tombstone of task {} to Kafka topic {}", taskId, TASK_TOPIC);
+        return result;
+    }
 
     /**
-     * Sends the task data to a Kafka topic.
+     * Sends a due or overdue notification to the due topic, keyed by task ID.
      *
-     * @param taskDTO the task data transfer object to be sent to Kafka.
+     * @param taskEvent the {@code DUE} or {@code OVERDUE} event.
+     * @return the pending send result.
+     */
+    public CompletableFuture<SendResult<String, TaskEvent>> sendDueEvent(TaskEvent taskEvent) {
+        CompletableFuture<SendResult<String, TaskEvent>> result =
+                timed(taskEvent.getEventType().name().toLowerCase(Locale.ROOT),
+                        () -> kafkaTemplate.send(TASK_DUE_TOPIC, String.valueOf(taskEvent.getTaskId()), taskEvent));
+        log.debug("Sent {} event of task {} to Kafka topic {}", taskEvent.getEventType(), taskEvent.getTaskId(), TASK_DUE_TOPIC);
+        return result;
+    }
+
+    /**
+     * Blocks until every record handed to the producer so far has been transmitted.
      */
-    public void sendTaskToKafka(TaskDTO taskDTO) {
-        kafkaTemplate.send(TASK_TOPIC, taskDTO);
-        log.info("Sent task {} to Kafka topic {}", taskDTO.getId(), TASK_TOPIC);
+    public void flush() {
+        int records = unflushed.getAndSet(0);
+        if (records > 0) {
+            batchSize.record(records);
+        }
+        kafkaTemplate.flush();
+    }
+
+    /**
+     * Records the send once it completes; a send the producer rejects right away, e.g. because metadata did not
+     * arrive in time, counts as an error.
+     */
+    private CompletableFuture<SendResult<String, TaskEvent>> timed(
+            String type, Supplier<CompletableFuture<SendResult<String, TaskEvent>>> send) {
+        long start = System.nanoTime();
+        CompletableFuture<SendResult<String, TaskEvent>> result;
+        try {
+            result = send.get();
+        } catch (RuntimeException e) {
+            record(type, false, start);
+            throw e;
+        }
+        unflushed.incrementAndGet();
+        if (result != null) {
+            result.whenComplete((sendResult, e) -> record(type, e == null, start));
+        }
+        return result;
+    }
+
+    private void record(String type, boolean success, long start) {
+        sendTimers.withTags("type", type, "outcome", success ? "success" : "error")
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,139 @@
+package com.example.taskmanager.services.impl;
+
+import com.example.taskmanager.datasource.DataSourceContextHolder;
+import com.example.taskmanager.dtos.BatchResultDTO;
+import com.example.taskmanager.dtos.TaskDTO;
+import com.example.taskmanager.dtos.TaskFilterDTO;
+import com.example.taskmanager.dtos.TaskPageDTO;
+import com.example.taskmanager.enums.TaskSortField;
+import com.example.taskmanager.exceptions.BatchSizeExceededException;
+import com.example.taskmanager.exceptions.DuplicateTaskException;
+import com.example.taskmanager.exceptions.InvalidCursorException;
+import com.example.taskmanager.exceptions.InvalidTaskPatchException;
+import com.example.taskmanager.exceptions.TaskLimitExceededException;
+import com.example.taskmanager.exceptions.TaskNotFoundException;
+import com.example.taskmanager.models.Task;
+import com.example.taskmanager.services.TaskService;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Times every task service operation as {@code taskmanager.task.operation}, with a percentile histogram for p99
+ * alerting. Tags are kept to a bounded set of values: {@code operation} (the method), {@code datasource} (the
+ * route when the operation finished, {@code main} or {@code backup}) and {@code outcome} ({@code success},
+ * {@code not_found}, {@code rejected} for requests the service refuses, {@code conflict} for writes that lost to a
+ * concurrent one or expected another version, or {@code error}).
+ */
+@Service
+@Primary
+public class MeteredTaskService implements TaskService {
+
+    static final String OPERATION_METRIC = "taskmanager.task.operation";
+
+    private final TaskServiceImpl taskService;
+    private final MeterRegistry meterRegistry;
+    private final Meter.MeterProvider<Timer> operationTimers;
+
+    public MeteredTaskService(TaskServiceImpl taskService, MeterRegistry meterRegistry) {
+        this.taskService = taskService;
+        this.meterRegistry = meterRegistry;
+        this.operationTimers = Timer.builder(OPERATION_METRIC)
+                .description("Task service operations")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .withRegistry(meterRegistry);
+    }
+
+    @Override
+    public TaskDTO createTask(TaskDTO taskDTO) {
+        return timed("createTask", () -> taskService.createTask(taskDTO));
+    }
+
+    @Override
+    public Optional<Task> getTaskById(Long id) {
+        return timed("getTaskById", () -> taskService.getTaskById(id));
+    }
+
+    @Override
+    public TaskPageDTO getAllTasks(TaskFilterDTO filter, TaskSortField sortBy, String cursor, int limit) {
+        return timed("getAllTasks", () -> taskService.getAllTasks(filter, sortBy, cursor, limit));
+    }
+
+    @Override
+    public TaskDTO updateTask(Long id, TaskDTO taskDTO, Long expectedVersion) {
+        return timed("updateTask", () -> taskService.updateTask(id, taskDTO, expectedVersion));
+    }
+
+    @Override
+    public String deleteTask(Long id, Long expectedVersion) {
+        return timed("deleteTask", () -> taskService.deleteTask(id, expectedVersion));
+    }
+
+    @Override
+    public TaskDTO patchTask(Long id, Map<String, Object> updates, Long expectedVersion) {
+        return timed("patchTask", () -> taskService.patchTask(id, updates, expectedVersion));
+    }
+
+    @Override
+    public BatchResultDTO createTasks(List<TaskDTO> taskDTOs) {
+        return timed("createTasks", () -> taskService.createTasks(taskDTOs));
+    }
+
+    @Override
+    public BatchResultDTO updateTasks(List<TaskDTO> taskDTOs) {
+        return timed("updateTasks", () -> taskService.updateTasks(taskDTOs));
+    }
+
+    @Override
+    public BatchResultDTO deleteTasks(List<Long> ids) {
+        return timed("deleteTasks", () -> taskService.deleteTasks(ids));
+    }
+
+    private <T> T timed(String operation, Supplier<T> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            outcome = outcome(e);
+            throw e;
+        } finally {
+            sample.stop(operationTimers.withTags(
+                    "operation", operation,
+                    "datasource", DataSourceContextHolder.getDataSourceKey().toLowerCase(Locale.ROOT),
+                    "outcome", outcome));
+        }
+    }
+
+    private static String outcome(RuntimeException e) {
+        if (e instanceof TaskNotFoundException) {
+            return "not_found";
+        }
+        if (e instanceof OptimisticLockingFailureException) {
+            return "conflict";
+        }
+        if (e instanceof DuplicateTaskException
+                || e instanceof TaskLimitExceededException
+                || e instanceof BatchSizeExceededException
+                || e instanceof InvalidCursorException
+                || e instanceof InvalidTaskPatchException
+                || e instanceof DataIntegrityViolationException
+                || e instanceof IllegalArgumentException) {
+            return "rejected";
+        }
+        return "error";
+    }
+}
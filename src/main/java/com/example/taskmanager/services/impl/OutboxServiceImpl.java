@@ -0,0 +1,244 @@
+package com.example.taskmanager.services.impl;
+
+import com.example.taskmanager.dtos.TaskEvent;
+import com.example.taskmanager.enums.OutboxStatus;
+import com.example.taskmanager.enums.TaskEventType;
+import com.example.taskmanager.models.OutboxEvent;
+import com.example.taskmanager.repositories.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Slf4j
+@Service
+public class OutboxServiceImpl {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaServiceImpl kafkaService;
+    private final ObjectMapper objectMapper;
+
+    private final boolean relayEnabled;
+    private final int batchSize;
+    private final long sendTimeoutMs;
+    private final int maxAttempts;
+    private final Duration purgeRetention;
+    private final boolean replicationEnabled;
+
+    public OutboxServiceImpl(OutboxEventRepository outboxEventRepository,
+                             KafkaServiceImpl kafkaService,
+                             ObjectMapper objectMapper,
+                             @Value("${taskmanager.outbox.relay.enabled:true}") boolean relayEnabled,
+                             @Value("${taskmanager.outbox.relay.batch-size:500}") int batchSize,
+                             @Value("${taskmanager.outbox.relay.send-timeout-ms:10000}") long sendTimeoutMs,
+                             @Value("${taskmanager.outbox.relay.max-attempts:10}") int maxAttempts,
+                             @Value("${taskmanager.outbox.purge.retention:1h}") Duration purgeRetention,
+                             @Value("${taskmanager.replication.enabled:true}") boolean replicationEnabled) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaService = kafkaService;
+        this.objectMapper = objectMapper;
+        this.relayEnabled = relayEnabled;
+        this.batchSize = batchSize;
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.maxAttempts = maxAttempts;
+        this.purgeRetention = purgeRetention;
+        this.replicationEnabled = replicationEnabled;
+    }
+
+    /**
+     * Records a task event in the outbox. Must join the transaction that writes the task change itself, after an
+     * update or delete of the task has been flushed, so that the event's ID follows commit order.
+     *
+     * @param taskEvent the event to be published; its version is assigned when it is relayed.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(TaskEvent taskEvent) {
+        outboxEventRepository.save(toOutboxEvent(taskEvent));
+    }
+
+    /**
+     * Records the events of a batch of task changes in the outbox. Must join the transaction that writes the changes.
+     *
+     * @param taskEvents the events to be published.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueAll(List<TaskEvent> taskEvents) {
+        if (taskEvents.isEmpty()) {
+            return;
+        }
+        outboxEventRepository.saveAll(taskEvents.stream().map(this::toOutboxEvent).toList());
+    }
+
+    /**
+     * Drains pending outbox events to Kafka until a batch comes back short or with failures.
+     */
+    @Scheduled(fixedDelayString = "${taskmanager.outbox.relay.interval-ms:500}")
+    public void relayPendingEvents() {
+        if (!relayEnabled) {
+            return;
+        }
+        try {
+            int sent;
+            do {
+                sent = relayBatch();
+            } while (sent == batchSize);
+        } catch (DataAccessException e) {
+            log.warn("Outbox relay could not read pending events, will retry: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Sends one batch of pending events, keyed by task ID. Each event is stamped with its outbox ID as version, and a
+     * delete is followed by a tombstone.
+     * <p>
+     * The batch is sent in rounds with one producer flush each, and a round holds at most one event per task, so an
+     * event is only handed to the producer once the previous event of its task was acknowledged. When an event fails,
+     * the later events of its task are not sent at all; they stay pending and follow it in order on the next run, so
+     * consumers never observe a gap followed by newer state.
+     *
+     * @return the number of events confirmed as sent.
+     */
+    public int relayBatch() {
+        List<OutboxEvent> events = outboxEventRepository.findByStatusOrderByIdAsc(OutboxStatus.PENDING, Limit.of(batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> sentIds = new ArrayList<>();
+        Set<Long> failedTaskIds = new HashSet<>();
+        List<OutboxEvent> remaining = events;
+        while (!remaining.isEmpty()) {
+            Set<Long> roundTaskIds = new HashSet<>();
+            List<OutboxEvent> round = new ArrayList<>();
+            List<OutboxEvent> later = new ArrayList<>();
+            for (OutboxEvent event : remaining) {
+                if (failedTaskIds.contains(event.getTaskId())) {
+                    continue;
+                }
+                (roundTaskIds.add(event.getTaskId()) ? round : later).add(event);
+            }
+            if (!round.isEmpty() && !relayRound(round, failedTaskIds, sentIds)) {
+                break;
+            }
+            remaining = later;
+        }
+
+        if (!sentIds.isEmpty()) {
+            outboxEventRepository.markSent(sentIds, OutboxStatus.SENT, LocalDateTime.now());
+        }
+        log.info("Relayed {} of {} outbox events to Kafka", sentIds.size(), events.size());
+        return sentIds.size();
+    }
+
+    /**
+     * Deletes events sent longer than the retention ago. While replication is enabled, only events already applied to
+     * the backup database are deleted, since the replicator reads the changes it has not applied from the outbox.
+     * Failed events are kept for inspection.
+     */
+    @Scheduled(fixedDelayString = "${taskmanager.outbox.purge.interval-ms:60000}")
+    public void purgeDeliveredEvents() {
+        try {
+            int purged = outboxEventRepository.purge(OutboxStatus.SENT, LocalDateTime.now().minus(purgeRetention),
+                    !replicationEnabled);
+            if (purged > 0) {
+                log.info("Purged {} delivered outbox events", purged);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Outbox purge failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Sends events of distinct tasks with a single producer flush and waits for their acknowledgements.
+     *
+     * @return {@code false} if the relay was interrupted while waiting.
+     */
+    private boolean relayRound(List<OutboxEvent> round, Set<Long> failedTaskIds, List<Long> sentIds) {
+        Map<OutboxEvent, CompletableFuture<?>> sends = new LinkedHashMap<>();
+        for (OutboxEvent event : round) {
+            try {
+                sends.put(event, send(event));
+            } catch (JsonProcessingException e) {
+                log.error("Outbox event {} has an unreadable payload, giving up on it", event.getId(), e);
+                failedTaskIds.add(event.getTaskId());
+                outboxEventRepository.recordFailure(event.getId(), OutboxStatus.FAILED, truncate(e.getMessage()));
+            } catch (RuntimeException e) {
+                failedTaskIds.add(event.getTaskId());
+                recordFailure(event, e);
+            }
+        }
+        kafkaService.flush();
+
+        for (Map.Entry<OutboxEvent, CompletableFuture<?>> send : sends.entrySet()) {
+            OutboxEvent event = send.getKey();
+            try {
+                send.getValue().get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+                sentIds.add(event.getId());
+            } catch (ExecutionException | TimeoutException e) {
+                failedTaskIds.add(event.getTaskId());
+                recordFailure(event, e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private CompletableFuture<?> send(OutboxEvent event) throws JsonProcessingException {
+        TaskEvent taskEvent = objectMapper.readValue(event.getPayload(), TaskEvent.class);
+        taskEvent.setVersion(event.getId());
+        CompletableFuture<SendResult<String, TaskEvent>> sent = kafkaService.sendTaskEvent(taskEvent);
+        if (taskEvent.getEventType() != TaskEventType.DELETED) {
+            return sent;
+        }
+        return CompletableFuture.allOf(sent, kafkaService.sendTombstone(taskEvent.getTaskId()));
+    }
+
+    private OutboxEvent toOutboxEvent(TaskEvent taskEvent) {
+        try {
+            return OutboxEvent.builder()
+                    .taskId(taskEvent.getTaskId())
+                    .eventType(taskEvent.getEventType())
+                    .payload(objectMapper.writeValueAsString(taskEvent))
+                    .status(OutboxStatus.PENDING)
+                    .createdDate(LocalDateTime.now())
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize event of task " + taskEvent.getTaskId(), e);
+        }
+    }
+
+    private void recordFailure(OutboxEvent event, Exception e) {
+        OutboxStatus status = event.getAttempts() + 1 >= maxAttempts ? OutboxStatus.FAILED : OutboxStatus.PENDING;
+        log.warn("Failed to relay outbox event {} for task {} (attempt {}): {}",
+                event.getId(), event.getTaskId(), event.getAttempts() + 1, e.getMessage());
+        outboxEventRepository.recordFailure(event.getId(), status, truncate(String.valueOf(e.getMessage())));
+    }
+
+    private static String truncate(String message) {
+        return message == null || message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
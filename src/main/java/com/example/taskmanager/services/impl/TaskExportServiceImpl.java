@@ -0,0 +1,104 @@
+package com.example.taskmanager.services.impl;
+
+import com.example.taskmanager.dtos.TaskDTO;
+import com.example.taskmanager.mappers.TaskMapper;
+import com.example.taskmanager.models.Task;
+import com.example.taskmanager.repositories.TaskRepository;
+import com.example.taskmanager.services.TaskExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+
+@Slf4j
+@Service
+public class TaskExportServiceImpl implements TaskExportService {
+
+    private final TaskMapper taskMapper;
+    private final TaskRepository taskRepository;
+    private final ObjectMapper objectMapper;
+
+    private final int fetchSize;
+    private final int chunkSize;
+
+    public TaskExportServiceImpl(TaskMapper taskMapper,
+                                 TaskRepository taskRepository,
+                                 ObjectMapper objectMapper,
+                                 @Value("${taskmanager.export.fetch-size:1000}") int fetchSize,
+                                 @Value("${taskmanager.export.chunk-size:1000}") int chunkSize) {
+        this.taskMapper = taskMapper;
+        this.taskRepository = taskRepository;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Streams every task to the output as newline-delimited JSON, one {@link TaskDTO} per line.
+     * Rows are read over a forward-only cursor and the persistence context is cleared every chunk,
+     * so memory use does not grow with the size of the table.
+     *
+     * @param outputStream the stream to write to; it is flushed once per chunk and left open.
+     * @return the number of tasks written.
+     * @throws IOException if writing to the output fails.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportTasks(OutputStream outputStream) throws IOException {
+        log.info("Starting task export, fetchSize: {}, chunkSize: {}", fetchSize, chunkSize);
+        ObjectWriter writer = objectMapper.writerFor(TaskDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(new SerializedString("\n"));
+
+            long exported = taskRepository.forEachTask(fetchSize, chunkSize, new LineWriter(writer, generator));
+
+            if (exported > 0) {
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+
+            log.info("Task export finished, exported: {}", exported);
+            return exported;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private final class LineWriter implements Consumer<Task> {
+
+        private final ObjectWriter writer;
+        private final JsonGenerator generator;
+        private long written;
+
+        private LineWriter(ObjectWriter writer, JsonGenerator generator) {
+            this.writer = writer;
+            this.generator = generator;
+        }
+
+        @Override
+        public void accept(Task task) {
+            try {
+                writer.writeValue(generator, taskMapper.toDto(task));
+                if (++written % chunkSize == 0) {
+                    generator.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.taskmanager.services.impl;
+
+import com.example.taskmanager.dtos.TaskDTO;
+import com.example.taskmanager.dtos.TaskEvent;
+import com.example.taskmanager.dtos.TaskFilterDTO;
+import com.example.taskmanager.enums.TaskEventType;
+import com.example.taskmanager.exceptions.TaskNotFoundException;
+import com.example.taskmanager.services.TaskProjectionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory read model of tasks, materialized from {@code taskmanager-topic}.
+ * It is eventually consistent with the main database and is rebuilt from the topic on every startup.
+ */
+@Slf4j
+@Service
+public class TaskProjectionServiceImpl implements TaskProjectionService {
+
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final String TASK_NOT_FOUND_MESSAGE = "Task item with id not found, id: ";
+
+    /**
+     * A deleted task keeps its entry, with a {@code null} task, until its tombstone arrives,
+     * so that a redelivered older event cannot bring it back.
+     */
+    private record ProjectedTask(long version, TaskDTO task) {
+    }
+
+    private final ConcurrentSkipListMap<Long, ProjectedTask> tasks = new ConcurrentSkipListMap<>();
+
+    /**
+     * Applies a task event unless the projection already holds the same or a newer version of the task.
+     *
+     * @param taskEvent the event to be applied; must carry a task ID and a version.
+     * @return {@code true} if the event changed the projection.
+     */
+    @Override
+    public boolean apply(TaskEvent taskEvent) {
+        long version = taskEvent.getVersion();
+        TaskDTO task = taskEvent.getEventType() == TaskEventType.DELETED ? null : taskEvent.getTask();
+        ProjectedTask applied = new ProjectedTask(version, task);
+        ProjectedTask result = tasks.compute(taskEvent.getTaskId(),
+                (id, current) -> current != null && current.version() >= version ? current : applied);
+        if (result != applied) {
+            log.debug("Skipped stale {} event of task {} at version {}", taskEvent.getEventType(), taskEvent.getTaskId(), version);
+        }
+        return result == applied;
+    }
+
+    /**
+     * Drops every trace of a task once its tombstone has been consumed.
+     *
+     * @param taskId the ID of the deleted task.
+     */
+    @Override
+    public void evict(Long taskId) {
+        tasks.remove(taskId);
+    }
+
+    /**
+     * Retrieves a task from the projection.
+     *
+     * @param id the ID of the task to be retrieved.
+     * @return the projected task.
+     * @throws TaskNotFoundException if the projection holds no live task with the specified ID.
+     */
+    @Override
+    public TaskDTO getTask(Long id) {
+        ProjectedTask projectedTask = tasks.get(id);
+        if (projectedTask == null || projectedTask.task() == null) {
+            throw new TaskNotFoundException(TASK_NOT_FOUND_MESSAGE + id);
+        }
+        return projectedTask.task();
+    }
+
+    /**
+     * Lists live tasks in ID order.
+     *
+     * @param filter optional filters on completion, priority and due date.
+     * @param limit  the maximum number of tasks to return, capped at {@value #MAX_PAGE_SIZE}.
+     * @return the matching tasks.
+     */
+    @Override
+    public List<TaskDTO> getTasks(TaskFilterDTO filter, int limit) {
+        return tasks.values().stream()
+                .map(ProjectedTask::task)
+                .filter(Objects::nonNull)
+                .filter(task -> matches(task, filter))
+                .limit(Math.clamp(limit, 1, MAX_PAGE_SIZE))
+                .toList();
+    }
+
+    @Override
+    public int size() {
+        return (int) tasks.values().stream().filter(projectedTask -> projectedTask.task() != null).count();
+    }
+
+    private static boolean matches(TaskDTO task, TaskFilterDTO filter) {
+        if (filter == null) {
+            return true;
+        }
+        if (filter.getCompleted() != null && !filter.getCompleted().equals(task.getCompleted())) {
+            return false;
+        }
+        if (filter.getPriority() != null && filter.getPriority() != task.getPriority()) {
+            return false;
+        }
+        if (filter.getDueFrom() != null && (task.getDueDate() == null || task.getDueDate().isBefore(filter.getDueFrom()))) {
+            return false;
+        }
+        return filter.getDueTo() == null || (task.getDueDate() != null && task.getDueDate().isBefore(filter.getDueTo()));
+    }
+}
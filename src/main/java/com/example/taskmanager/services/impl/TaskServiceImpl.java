@@ -1,23 +1,57 @@
 package com.example.taskmanager.services.impl;
 
+import com.example.taskmanager.admission.TaskAdmissionControl;
+import com.example.taskmanager.cache.TaskCache;
 import com.example.taskmanager.datasource.DatabaseOperationHandler;
+import com.example.taskmanager.dtos.BatchItemResultDTO;
+import com.example.taskmanager.dtos.BatchResultDTO;
 import com.example.taskmanager.dtos.TaskDTO;
-import com.example.taskmanager.enums.Priority;
+import com.example.taskmanager.dtos.TaskEvent;
+import com.example.taskmanager.dtos.TaskFilterDTO;
+import com.example.taskmanager.dtos.TaskPageDTO;
+import com.example.taskmanager.enums.AdmissionResult;
+import com.example.taskmanager.enums.BatchItemStatus;
+import com.example.taskmanager.enums.TaskEventType;
+import com.example.taskmanager.enums.TaskSortField;
+import com.example.taskmanager.exceptions.BatchSizeExceededException;
 import com.example.taskmanager.exceptions.DuplicateTaskException;
+import com.example.taskmanager.exceptions.InvalidCursorException;
+import com.example.taskmanager.exceptions.InvalidTaskPatchException;
 import com.example.taskmanager.exceptions.TaskLimitExceededException;
 import com.example.taskmanager.exceptions.TaskNotFoundException;
+import com.example.taskmanager.exceptions.TaskVersionMismatchException;
+import com.example.taskmanager.logging.PayloadLogSampler;
 import com.example.taskmanager.mappers.TaskMapper;
 import com.example.taskmanager.models.Task;
+import com.example.taskmanager.pagination.TaskCursor;
+import com.example.taskmanager.repositories.TaskPatch;
 import com.example.taskmanager.repositories.TaskRepository;
+import com.example.taskmanager.repositories.TaskSpecifications;
+import com.example.taskmanager.scheduling.DueDateScheduler;
 import com.example.taskmanager.services.TaskService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 
@@ -29,39 +63,74 @@ public class TaskServiceImpl implements TaskService {
     private final TaskMapper taskMapper;
     private final TaskRepository taskRepository;
 
-    private final KafkaServiceImpl kafkaService;
+    private final OutboxServiceImpl outboxService;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskCache taskCache;
+    private final TaskAdmissionControl admissionControl;
+    private final DueDateScheduler dueDateScheduler;
 
-    private static final int MAX_TASKS_LIMIT = 100;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final Set<BatchItemStatus> SUCCESS_STATUSES =
+            EnumSet.of(BatchItemStatus.CREATED, BatchItemStatus.UPDATED, BatchItemStatus.DELETED);
     private static final String TASK_NOT_FOUND_MESSAGE = "Task item with id not found, id: ";
+    private static final String TITLE_AND_PRIORITY_REQUIRED_MESSAGE = "Title and priority are required";
+    private static final String REPEATED_ID_MESSAGE = "Task appears more than once in the batch, id: ";
+    private static final String DUE_DATE_FIELD = "dueDate";
+    private static final String TITLE_FIELD = "title";
+    private static final String TITLE_CONSTRAINT = "uk_task_owner_title";
 
     /**
-     * Creates a new task.
+     * Creates a new task. The quota of its owner and title uniqueness within the owner are checked by
+     * {@link TaskAdmissionControl} without querying the database. The task event is written to the outbox in the same transaction
+     * and relayed to Kafka in the background.
      *
      * @param taskDTO the task data transfer object containing the details of the task to be created.
      * @return the created TaskDTO object.
+     * @throws TaskLimitExceededException if the quota of the owner has been reached.
+     * @throws DuplicateTaskException     if the owner already has a task with the same title.
      */
     @Override
     public TaskDTO createTask(TaskDTO taskDTO) {
-        log.info("Starting task creation for: {}", taskDTO);
-        return DatabaseOperationHandler.execute(() -> {
-
-            validateTaskCreation(taskDTO);
-
-            Task task = taskMapper.toEntity(taskDTO);
-            Task savedTask = taskRepository.save(task);
-
-            TaskDTO savedTaskDTO = taskMapper.toDto(savedTask);
-
-            kafkaService.sendTaskToKafka(savedTaskDTO);
-
-            log.info("Task created successfully: {}", savedTaskDTO);
-            return savedTaskDTO;
-        });
+        long start = System.nanoTime();
+        if (PayloadLogSampler.sample(log)) {
+            log.debug("op=createTask request={}", taskDTO);
+        }
+        String owner = TaskAdmissionControl.ownerOf(taskDTO.getOwner());
+        String title = taskDTO.getTitle();
+        admissionControl.admit(owner, title);
+
+        TaskDTO createdTask;
+        try {
+            createdTask = DatabaseOperationHandler.execute(() -> transactionTemplate.execute(status -> {
+
+                Task task = newTask(taskDTO);
+                Task savedTask = taskRepository.save(task);
+
+                TaskDTO savedTaskDTO = taskMapper.toDto(savedTask);
+
+                outboxService.enqueue(taskEvent(TaskEventType.CREATED, savedTaskDTO.getId(), savedTaskDTO, TaskEvent.ALL_FIELDS));
+                return savedTaskDTO;
+            }));
+        } catch (DataIntegrityViolationException e) {
+            admissionControl.release(owner, title);
+            if (isTitleConflict(e)) {
+                throw new DuplicateTaskException("Task with title " + title + " already exists");
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            admissionControl.release(owner, title);
+            throw e;
+        }
+        admissionControl.confirm(createdTask.getId(), owner, title);
+        dueDateScheduler.changed(createdTask, true);
+        log.info("op=createTask taskId={} durationUs={}", createdTask.getId(), elapsedMicros(start));
+        return createdTask;
     }
 
 
     /**
-     * Retrieves a task by its ID.
+     * Retrieves a task by its ID, from the task cache when possible. A miss is loaded from the main database.
      *
      * @param id the ID of the task to be retrieved.
      * @return an Optional containing the Task if found, or an empty Optional if not found.
@@ -69,144 +138,581 @@ public class TaskServiceImpl implements TaskService {
      */
     @Override
     public Optional<Task> getTaskById(Long id) {
-        log.info("Fetching task by ID: {}", id);
+        long start = System.nanoTime();
         return DatabaseOperationHandler.execute(() -> {
 
-            Optional<Task> task = taskRepository.findById(id).map(Optional::of).orElseThrow(() -> new TaskNotFoundException(TASK_NOT_FOUND_MESSAGE + id));
+            // loads inside a read-write transaction, so that the cache is filled from the main database and not from a
+            // read replica that may be behind it
+            TaskDTO taskDTO = taskCache.get(id, key -> transactionTemplate.execute(
+                    status -> taskRepository.findById(key).map(taskMapper::toDto).orElse(null)));
+            if (taskDTO == null) {
+                throw new TaskNotFoundException(TASK_NOT_FOUND_MESSAGE + id);
+            }
+            Optional<Task> task = Optional.of(taskMapper.toEntity(taskDTO));
 
-            log.info("Task found: {}", task);
+            log.info("op=getTaskById taskId={} durationUs={}", id, elapsedMicros(start));
+            if (PayloadLogSampler.sample(log)) {
+                log.debug("op=getTaskById taskId={} response={}", id, taskDTO);
+            }
             return task;
         });
     }
 
 
     /**
-     * Retrieves all tasks.
+     * Retrieves one page of tasks matching the filter, ordered by the requested keyset.
      *
-     * @return a list of TaskDTO objects representing all tasks.
+     * @param filter optional server-side filters on completion, priority and due date.
+     * @param sortBy the keyset to page on; {@link TaskSortField#DUE_DATE} only returns tasks that have a due date.
+     * @param cursor the opaque cursor returned with the previous page, or {@code null} for the first page.
+     * @param limit  the maximum number of tasks to return, capped at {@value #MAX_PAGE_SIZE}.
+     * @return the page of tasks together with the cursor of the next page.
+     * @throws InvalidCursorException if the cursor is malformed or was issued for a different sort order.
      */
     @Override
-    public List<TaskDTO> getAllTasks() {
-        log.info("Fetching all tasks");
+    public TaskPageDTO getAllTasks(TaskFilterDTO filter, TaskSortField sortBy, String cursor, int limit) {
+        long start = System.nanoTime();
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        TaskCursor after = cursor == null || cursor.isBlank() ? null : TaskCursor.decode(cursor);
+        if (after != null && after.sortBy() != sortBy) {
+            throw new InvalidCursorException("Cursor was issued for sort order " + after.sortBy());
+        }
+
         return DatabaseOperationHandler.execute(() -> {
 
-            List<Task> taskList = taskRepository.findAll();
+            List<Task> taskList = taskRepository.findKeysetPage(
+                    TaskSpecifications.matching(filter, sortBy, after),
+                    TaskSpecifications.sortedBy(filter, sortBy),
+                    pageSize + 1);
 
-            List<TaskDTO> taskDTOList = taskList.stream()
+            boolean hasMore = taskList.size() > pageSize;
+            List<Task> page = hasMore ? taskList.subList(0, pageSize) : taskList;
+
+            List<TaskDTO> taskDTOList = page.stream()
                     .map(taskMapper::toDto)
                     .collect(Collectors.toList());
+            String nextCursor = hasMore ? TaskCursor.after(page.getLast(), sortBy).encode() : null;
 
-            log.info("Tasks fetched successfully: {}", taskDTOList);
-            return taskDTOList;
+            log.info("op=getAllTasks sortBy={} size={} hasMore={} durationUs={}",
+                    sortBy, taskDTOList.size(), hasMore, elapsedMicros(start));
+            if (PayloadLogSampler.sample(log)) {
+                log.debug("op=getAllTasks filter={} response={}", filter, taskDTOList);
+            }
+            return TaskPageDTO.builder()
+                    .items(taskDTOList)
+                    .nextCursor(nextCursor)
+                    .build();
         });
     }
 
 
     /**
-     * Updates an existing task.
+     * Updates an existing task and records an UPDATED event listing the fields that actually changed.
      *
-     * @param id      the ID of the task to be updated.
-     * @param taskDTO the task data transfer object containing the updated details of the task.
+     * @param id              the ID of the task to be updated.
+     * @param taskDTO         the task data transfer object containing the updated details of the task.
+     * @param expectedVersion the version the task must still have, or {@code null} to update any version.
      * @return the updated TaskDTO object.
-     * @throws TaskNotFoundException if the task with the specified ID is not found.
+     * @throws TaskNotFoundException         if the task with the specified ID is not found.
+     * @throws TaskVersionMismatchException if the task no longer has the expected version.
+     * @throws DuplicateTaskException        if the owner already has another task with the new title.
      */
     @Override
-    public TaskDTO updateTask(Long id, TaskDTO taskDTO) {
-        log.info("Updating task with ID: {}", id);
-        return DatabaseOperationHandler.execute(() -> {
+    public TaskDTO updateTask(Long id, TaskDTO taskDTO, Long expectedVersion) {
+        long start = System.nanoTime();
+        if (PayloadLogSampler.sample(log)) {
+            log.debug("op=updateTask taskId={} request={}", id, taskDTO);
+        }
+        List<String> updatedFields = new ArrayList<>();
+        TaskDTO result = retitling(id, taskDTO.getTitle(), () -> transactionTemplate.execute(status -> {
+            updatedFields.clear();
 
             Task existingTask = taskRepository.findById(id)
                     .orElseThrow(() -> new TaskNotFoundException(TASK_NOT_FOUND_MESSAGE + id));
+            checkVersion(existingTask, expectedVersion);
+            TaskDTO previousTaskDTO = taskMapper.toDto(existingTask);
 
             taskMapper.updateTaskFromDto(taskDTO, existingTask);
 
-            Task updatedTask = taskRepository.save(existingTask);
+            // flushed so that the returned task and its event carry the incremented version
+            Task updatedTask = taskRepository.saveAndFlush(existingTask);
 
             TaskDTO updatedTaskDTO = taskMapper.toDto(updatedTask);
 
-            log.info("Task updated successfully: {}", updatedTaskDTO);
+            updatedFields.addAll(changedFields(previousTaskDTO, updatedTaskDTO));
+            outboxService.enqueue(taskEvent(TaskEventType.UPDATED, id, updatedTaskDTO, List.copyOf(updatedFields)));
             return updatedTaskDTO;
-        });
+        }));
+        taskCache.put(id, result);
+        admissionControl.retitled(id, result.getTitle());
+        dueDateScheduler.changed(result, updatedFields.contains(DUE_DATE_FIELD));
+        log.info("op=updateTask taskId={} durationUs={}", id, elapsedMicros(start));
+        return result;
     }
 
 
     /**
-     * Deletes a task by its ID.
+     * Deletes a task by its ID and records a DELETED event.
      *
-     * @param id the ID of the task to be deleted.
+     * @param id              the ID of the task to be deleted.
+     * @param expectedVersion the version the task must still have, or {@code null} to delete any version.
      * @return a message indicating the successful deletion of the task.
-     * @throws TaskNotFoundException if the task with the specified ID is not found.
+     * @throws TaskNotFoundException         if the task with the specified ID is not found.
+     * @throws TaskVersionMismatchException if the task no longer has the expected version.
      */
     @Override
-    public String deleteTask(Long id) {
-        log.info("Deleting task with ID: {}", id);
+    public String deleteTask(Long id, Long expectedVersion) {
+        long start = System.nanoTime();
 
-        return DatabaseOperationHandler.execute(() -> {
+        String deleted = DatabaseOperationHandler.execute(() -> transactionTemplate.execute(status -> {
 
-            if (!taskRepository.existsById(id)) {
+            if (expectedVersion != null) {
+                if (taskRepository.deleteByIdAndVersion(id, expectedVersion) == 0) {
+                    throw missingOrMismatched(id, expectedVersion);
+                }
+            } else if (!taskRepository.existsById(id)) {
                 throw new TaskNotFoundException(TASK_NOT_FOUND_MESSAGE + id);
+            } else {
+                taskRepository.deleteById(id);
+                // deleted before the event takes its outbox ID, so that IDs follow commit order
+                taskRepository.flush();
             }
 
-            taskRepository.deleteById(id);
+            outboxService.enqueue(taskEvent(TaskEventType.DELETED, id, null, List.of()));
 
-            String result = "Task with ID " + id + " has been successfully deleted.";
-            log.info(result);
-            return result;
-        });
+            return "Task with ID " + id + " has been successfully deleted.";
+        }));
+        taskCache.evict(id);
+        admissionControl.removed(List.of(id));
+        dueDateScheduler.removed(List.of(id));
+        log.info("op=deleteTask taskId={} durationUs={}", id, elapsedMicros(start));
+        return deleted;
     }
 
 
     /**
-     * Partially updates fields of an existing task.
+     * Partially updates fields of an existing task and records a PATCHED event listing the patched fields.
+     * The values are converted before the transaction starts and written with one statement that updates only the
+     * patched columns and returns the new row, see {@link TaskRepository#patch}. An empty patch changes nothing, so
+     * it returns the current task without recording an event.
      *
-     * @param id      the ID of the task to be updated.
-     * @param updates a map containing the fields to be updated with their new values.
+     * @param id              the ID of the task to be updated.
+     * @param updates         a map containing the fields to be updated with their new values.
+     * @param expectedVersion the version the task must still have, or {@code null} to patch any version.
      * @return the updated TaskDTO object.
-     * @throws TaskNotFoundException if the task with the specified ID is not found.
+     * @throws TaskNotFoundException         if the task with the specified ID is not found.
+     * @throws TaskVersionMismatchException if the task no longer has the expected version.
+     * @throws DuplicateTaskException        if the owner already has another task with the new title.
+     * @throws InvalidTaskPatchException     if a field cannot be patched or a value is not valid for its field.
      */
     @Override
-    public TaskDTO patchTask(Long id, Map<String, Object> updates) {
-        log.info("Patching task with ID: {}", id);
-        return DatabaseOperationHandler.execute(() -> {
-            Task existingTask = taskRepository.findById(id)
-                    .orElseThrow(() -> new TaskNotFoundException(TASK_NOT_FOUND_MESSAGE + id));
-
-            updates.forEach((field, value) -> updateField(existingTask, field, value));
-
-            Task updatedTask = taskRepository.save(existingTask);
+    public TaskDTO patchTask(Long id, Map<String, Object> updates, Long expectedVersion) {
+        long start = System.nanoTime();
+        if (PayloadLogSampler.sample(log)) {
+            log.debug("op=patchTask taskId={} request={}", id, updates);
+        }
+        TaskPatch patch = TaskPatch.of(updates);
+        if (patch.isEmpty()) {
+            TaskDTO currentTask = DatabaseOperationHandler.execute(() -> {
+                Task task = taskRepository.findById(id)
+                        .orElseThrow(() -> new TaskNotFoundException(TASK_NOT_FOUND_MESSAGE + id));
+                checkVersion(task, expectedVersion);
+                return taskMapper.toDto(task);
+            });
+            log.info("op=patchTask taskId={} fields=[] durationUs={}", id, elapsedMicros(start));
+            return currentTask;
+        }
+        String title = updates.containsKey(TITLE_FIELD) ? (String) updates.get(TITLE_FIELD) : null;
+        TaskDTO patchedTask = retitling(id, title, () -> transactionTemplate.execute(status -> {
+            Task updatedTask = taskRepository.patch(id, expectedVersion, patch)
+                    .orElseThrow(() -> missingOrMismatched(id, expectedVersion));
             TaskDTO updatedTaskDTO = taskMapper.toDto(updatedTask);
 
-            log.info("Task patched successfully: {}", updatedTaskDTO);
+            outboxService.enqueue(taskEvent(TaskEventType.PATCHED, id, updatedTaskDTO, List.copyOf(updates.keySet())));
             return updatedTaskDTO;
-        });
+        }));
+        taskCache.put(id, patchedTask);
+        admissionControl.retitled(id, patchedTask.getTitle());
+        dueDateScheduler.changed(patchedTask, updates.containsKey(DUE_DATE_FIELD));
+        log.info("op=patchTask taskId={} fields={} durationUs={}", id, updates.keySet(), elapsedMicros(start));
+        return patchedTask;
     }
 
-    private void updateField(Task task, String fieldName, Object value) {
-        switch (fieldName) {
-            case "title" -> task.setTitle((String) value);
-            case "description" -> task.setDescription((String) value);
-            case "createdDate" -> task.setCreatedDate(LocalDateTime.parse((String) value));
-            case "dueDate" -> task.setDueDate(LocalDateTime.parse((String) value));
-            case "completed" -> task.setCompleted((Boolean) value);
-            case "priority" -> task.setPriority(Priority.valueOf((String) value));
-            default -> throw new IllegalArgumentException("Invalid field: " + fieldName);
+
+    /**
+     * Creates a batch of tasks in a single transaction.
+     * Duplicate titles and owner quotas are checked by {@link TaskAdmissionControl} before the transaction starts,
+     * and inserts of both the tasks and their outbox events are sent as JDBC batches.
+     *
+     * @param taskDTOs the tasks to be created.
+     * @return the per-item outcome, in request order.
+     * @throws BatchSizeExceededException if the batch holds more than {@value #MAX_BATCH_SIZE} items.
+     */
+    @Override
+    public BatchResultDTO createTasks(List<TaskDTO> taskDTOs) {
+        validateBatchSize(taskDTOs);
+        long start = System.nanoTime();
+
+        BatchItemResultDTO[] results = new BatchItemResultDTO[taskDTOs.size()];
+        List<Integer> admittedIndexes = new ArrayList<>();
+        for (int i = 0; i < taskDTOs.size(); i++) {
+            TaskDTO taskDTO = taskDTOs.get(i);
+            if (taskDTO == null || !hasTitleAndPriority(taskDTO)) {
+                results[i] = failedItem(i, null, BatchItemStatus.INVALID, TITLE_AND_PRIORITY_REQUIRED_MESSAGE);
+                continue;
+            }
+            AdmissionResult admission = admissionControl.tryAdmit(TaskAdmissionControl.ownerOf(taskDTO.getOwner()), taskDTO.getTitle());
+            switch (admission) {
+                case ADMITTED -> admittedIndexes.add(i);
+                case DUPLICATE -> results[i] = failedItem(i, null, BatchItemStatus.DUPLICATE, "Task with title " + taskDTO.getTitle() + " already exists");
+                case LIMIT_EXCEEDED -> results[i] = failedItem(i, null, BatchItemStatus.LIMIT_EXCEEDED, "Task limit exceeded");
+            }
         }
+
+        List<TaskEvent> createdEvents = new ArrayList<>();
+        BatchResultDTO result;
+        try {
+            result = DatabaseOperationHandler.execute(() -> transactionTemplate.execute(status -> {
+                createdEvents.clear();
+                List<Task> tasksToSave = admittedIndexes.stream()
+                        .map(index -> newTask(taskDTOs.get(index)))
+                        .toList();
+
+                List<Task> savedTasks = taskRepository.saveAll(tasksToSave);
+                for (int j = 0; j < savedTasks.size(); j++) {
+                    TaskDTO savedTaskDTO = taskMapper.toDto(savedTasks.get(j));
+                    int index = admittedIndexes.get(j);
+                    results[index] = succeededItem(index, savedTaskDTO.getId(), BatchItemStatus.CREATED);
+                    createdEvents.add(taskEvent(TaskEventType.CREATED, savedTaskDTO.getId(), savedTaskDTO, TaskEvent.ALL_FIELDS));
+                }
+                outboxService.enqueueAll(createdEvents);
+                return toBatchResult(results);
+            }));
+        } catch (RuntimeException e) {
+            admittedIndexes.forEach(index -> admissionControl.release(
+                    TaskAdmissionControl.ownerOf(taskDTOs.get(index).getOwner()), taskDTOs.get(index).getTitle()));
+            throw e;
+        }
+        for (int index : admittedIndexes) {
+            TaskDTO taskDTO = taskDTOs.get(index);
+            admissionControl.confirm(results[index].getId(), TaskAdmissionControl.ownerOf(taskDTO.getOwner()), taskDTO.getTitle());
+        }
+        scheduleDueDates(createdEvents);
+
+        log.info("op=createTasks size={} created={} failed={} durationUs={}",
+                taskDTOs.size(), result.getSucceeded(), result.getFailed(), elapsedMicros(start));
+        return result;
     }
 
 
     /**
-     * Validates the task creation details.
+     * Updates a batch of tasks in a single transaction.
+     * All tasks are loaded with one query and written back as JDBC batches on commit.
+     * Every item replaces the whole task, so items without a title or priority are rejected as invalid. New titles
+     * are reserved with {@link TaskAdmissionControl} before the transaction starts, and an item renaming its task
+     * to a title another task of the owner has is rejected as a duplicate. Only the first item of a task is applied;
+     * later items with the same ID are rejected as invalid.
      *
-     * @param taskDTO the task data transfer object to be validated.
-     * @throws TaskLimitExceededException if the task limit is exceeded.
-     * @throws DuplicateTaskException     if a task with the same title already exists.
+     * @param taskDTOs the tasks to be updated; each item must carry its ID, title and priority.
+     * @return the per-item outcome, in request order.
+     * @throws BatchSizeExceededException if the batch holds more than {@value #MAX_BATCH_SIZE} items.
      */
-    private void validateTaskCreation(TaskDTO taskDTO) {
-        if (taskRepository.count() >= MAX_TASKS_LIMIT) {
-            throw new TaskLimitExceededException("Task limit exceeded");
+    @Override
+    public BatchResultDTO updateTasks(List<TaskDTO> taskDTOs) {
+        validateBatchSize(taskDTOs);
+        long start = System.nanoTime();
+
+        BatchItemResultDTO[] rejected = new BatchItemResultDTO[taskDTOs.size()];
+        List<Integer> retitledIndexes = new ArrayList<>();
+        Set<Long> seenIds = new HashSet<>();
+        for (int i = 0; i < taskDTOs.size(); i++) {
+            TaskDTO taskDTO = taskDTOs.get(i);
+            if (taskDTO == null || taskDTO.getId() == null || !hasTitleAndPriority(taskDTO)) {
+                continue;
+            }
+            if (!seenIds.add(taskDTO.getId())) {
+                rejected[i] = failedItem(i, taskDTO.getId(), BatchItemStatus.INVALID, REPEATED_ID_MESSAGE + taskDTO.getId());
+            } else if (admissionControl.tryReserveTitle(taskDTO.getId(), taskDTO.getTitle()) == AdmissionResult.DUPLICATE) {
+                rejected[i] = failedItem(i, taskDTO.getId(), BatchItemStatus.DUPLICATE, "Task with title " + taskDTO.getTitle() + " already exists");
+            } else {
+                retitledIndexes.add(i);
+            }
         }
-        if (taskRepository.existsByTitle(taskDTO.getTitle())) {
-            throw new DuplicateTaskException("Task with title " + taskDTO.getTitle() + " already exists");
+
+        Map<Long, String> updatedTitles = new HashMap<>();
+        List<TaskEvent> updatedEvents = new ArrayList<>();
+        BatchResultDTO result;
+        try {
+            result = DatabaseOperationHandler.execute(() -> transactionTemplate.execute(status -> {
+                BatchItemResultDTO[] results = rejected.clone();
+                updatedTitles.clear();
+                updatedEvents.clear();
+
+                Set<Long> ids = taskDTOs.stream()
+                        .filter(Objects::nonNull)
+                        .filter(TaskServiceImpl::hasTitleAndPriority)
+                        .map(TaskDTO::getId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet());
+                Map<Long, Task> existingTasks = taskRepository.findAllById(ids).stream()
+                        .collect(Collectors.toMap(Task::getId, Function.identity()));
+                List<Task> updatedTasks = new ArrayList<>();
+                List<List<String>> updatedFields = new ArrayList<>();
+
+                for (int i = 0; i < taskDTOs.size(); i++) {
+                    TaskDTO taskDTO = taskDTOs.get(i);
+                    if (taskDTO == null || taskDTO.getId() == null) {
+                        results[i] = failedItem(i, null, BatchItemStatus.INVALID, "Task ID is required");
+                        continue;
+                    }
+                    if (!hasTitleAndPriority(taskDTO)) {
+                        results[i] = failedItem(i, taskDTO.getId(), BatchItemStatus.INVALID, TITLE_AND_PRIORITY_REQUIRED_MESSAGE);
+                        continue;
+                    }
+                    if (results[i] != null) {
+                        continue;
+                    }
+                    Task existingTask = existingTasks.get(taskDTO.getId());
+                    if (existingTask == null) {
+                        results[i] = failedItem(i, taskDTO.getId(), BatchItemStatus.NOT_FOUND, TASK_NOT_FOUND_MESSAGE + taskDTO.getId());
+                        continue;
+                    }
+                    TaskDTO previousTaskDTO = taskMapper.toDto(existingTask);
+                    taskMapper.updateTaskFromDto(taskDTO, existingTask);
+                    updatedTasks.add(existingTask);
+                    updatedFields.add(changedFields(previousTaskDTO, taskMapper.toDto(existingTask)));
+                    updatedTitles.put(existingTask.getId(), existingTask.getTitle());
+                    results[i] = succeededItem(i, existingTask.getId(), BatchItemStatus.UPDATED);
+                }
+
+                taskRepository.saveAll(existingTasks.values());
+                // flushed so that the events carry the incremented versions
+                taskRepository.flush();
+                for (int j = 0; j < updatedTasks.size(); j++) {
+                    Task updatedTask = updatedTasks.get(j);
+                    updatedEvents.add(taskEvent(TaskEventType.UPDATED, updatedTask.getId(), taskMapper.toDto(updatedTask), updatedFields.get(j)));
+                }
+                outboxService.enqueueAll(updatedEvents);
+                return toBatchResult(results);
+            }));
+        } catch (RuntimeException e) {
+            retitledIndexes.forEach(index -> admissionControl.releaseTitle(taskDTOs.get(index).getId(), taskDTOs.get(index).getTitle()));
+            if (e instanceof DataIntegrityViolationException violation && isTitleConflict(violation)) {
+                throw new DuplicateTaskException("A task of the batch was renamed to a title that already exists");
+            }
+            throw e;
+        }
+
+        taskCache.evictAll(succeededIds(result));
+        updatedTitles.forEach(admissionControl::retitled);
+        for (int index : retitledIndexes) {
+            if (result.getResults().get(index).getStatus() != BatchItemStatus.UPDATED) {
+                admissionControl.releaseTitle(taskDTOs.get(index).getId(), taskDTOs.get(index).getTitle());
+            }
         }
+        scheduleDueDates(updatedEvents);
+        log.info("op=updateTasks size={} updated={} failed={} durationUs={}",
+                taskDTOs.size(), result.getSucceeded(), result.getFailed(), elapsedMicros(start));
+        return result;
     }
+
+
+    /**
+     * Deletes a batch of tasks with a single DELETE statement.
+     *
+     * @param ids the IDs of the tasks to be deleted.
+     * @return the per-item outcome, in request order.
+     * @throws BatchSizeExceededException if the batch holds more than {@value #MAX_BATCH_SIZE} items.
+     */
+    @Override
+    public BatchResultDTO deleteTasks(List<Long> ids) {
+        validateBatchSize(ids);
+        long start = System.nanoTime();
+
+        BatchResultDTO result = DatabaseOperationHandler.execute(() -> transactionTemplate.execute(status -> {
+            BatchItemResultDTO[] results = new BatchItemResultDTO[ids.size()];
+
+            Set<Long> existingIds = taskRepository.findAllById(ids.stream().filter(Objects::nonNull).collect(Collectors.toSet()))
+                    .stream()
+                    .map(Task::getId)
+                    .collect(Collectors.toSet());
+            Set<Long> deletedIds = new LinkedHashSet<>();
+
+            for (int i = 0; i < ids.size(); i++) {
+                Long id = ids.get(i);
+                if (id == null) {
+                    results[i] = failedItem(i, null, BatchItemStatus.INVALID, "Task ID is required");
+                } else if (existingIds.contains(id) && deletedIds.add(id)) {
+                    results[i] = succeededItem(i, id, BatchItemStatus.DELETED);
+                } else {
+                    results[i] = failedItem(i, id, BatchItemStatus.NOT_FOUND, TASK_NOT_FOUND_MESSAGE + id);
+                }
+            }
+
+            if (!deletedIds.isEmpty()) {
+                taskRepository.deleteAllByIdInBatch(deletedIds);
+                outboxService.enqueueAll(deletedIds.stream()
+                        .map(deletedId -> taskEvent(TaskEventType.DELETED, deletedId, null, List.of()))
+                        .toList());
+            }
+            return toBatchResult(results);
+        }));
+
+        List<Long> removedIds = succeededIds(result);
+        taskCache.evictAll(removedIds);
+        admissionControl.removed(removedIds);
+        dueDateScheduler.removed(removedIds);
+        log.info("op=deleteTasks size={} deleted={} failed={} durationUs={}",
+                ids.size(), result.getSucceeded(), result.getFailed(), elapsedMicros(start));
+        return result;
+    }
+
+    /**
+     * Runs the write of a task that may rename it with the new title reserved, and gives the title back if the write
+     * fails. The title is recorded with {@link TaskAdmissionControl#retitled} once the write has committed.
+     *
+     * @param title the new title, or {@code null} if the write does not set one.
+     * @throws DuplicateTaskException if the owner already has another task with the title.
+     */
+    private <T> T retitling(Long id, String title, Supplier<T> write) {
+        admissionControl.reserveTitle(id, title);
+        try {
+            return DatabaseOperationHandler.execute(write);
+        } catch (DataIntegrityViolationException e) {
+            admissionControl.releaseTitle(id, title);
+            if (isTitleConflict(e)) {
+                throw new DuplicateTaskException("Task with title " + title + " already exists");
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            admissionControl.releaseTitle(id, title);
+            throw e;
+        }
+    }
+
+    private static void checkVersion(Task task, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            throw new TaskVersionMismatchException(versionMismatchMessage(task.getId(), expectedVersion));
+        }
+    }
+
+    /**
+     * Tells apart why a write conditional on the version found no task to change.
+     */
+    private RuntimeException missingOrMismatched(Long id, Long expectedVersion) {
+        if (expectedVersion != null && taskRepository.existsById(id)) {
+            return new TaskVersionMismatchException(versionMismatchMessage(id, expectedVersion));
+        }
+        return new TaskNotFoundException(TASK_NOT_FOUND_MESSAGE + id);
+    }
+
+    private static String versionMismatchMessage(Long id, Long expectedVersion) {
+        return "Task " + id + " is no longer at version " + expectedVersion;
+    }
+
+    /**
+     * Hands the committed tasks of a batch to the due-date scheduler.
+     */
+    private void scheduleDueDates(List<TaskEvent> events) {
+        for (TaskEvent event : events) {
+            dueDateScheduler.changed(event.getTask(), event.getChangedFields().contains(DUE_DATE_FIELD));
+        }
+    }
+
+    private static long elapsedMicros(long start) {
+        return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+    }
+
+    private Task newTask(TaskDTO taskDTO) {
+        Task task = taskMapper.toEntity(taskDTO);
+        task.setOwner(TaskAdmissionControl.ownerOf(taskDTO.getOwner()));
+        task.setVersion(null);
+        return task;
+    }
+
+    private static List<Long> succeededIds(BatchResultDTO result) {
+        return result.getResults().stream()
+                .filter(item -> SUCCESS_STATUSES.contains(item.getStatus()))
+                .map(BatchItemResultDTO::getId)
+                .toList();
+    }
+
+    private static TaskEvent taskEvent(TaskEventType eventType, Long taskId, TaskDTO task, List<String> changedFields) {
+        return TaskEvent.builder()
+                .eventType(eventType)
+                .taskId(taskId)
+                .occurredAt(LocalDateTime.now())
+                .changedFields(changedFields)
+                .task(task)
+                .build();
+    }
+
+    private static List<String> changedFields(TaskDTO before, TaskDTO after) {
+        List<String> changedFields = new ArrayList<>();
+        addIfChanged(changedFields, "title", before.getTitle(), after.getTitle());
+        addIfChanged(changedFields, "description", before.getDescription(), after.getDescription());
+        addIfChanged(changedFields, "createdDate", before.getCreatedDate(), after.getCreatedDate());
+        addIfChanged(changedFields, "dueDate", before.getDueDate(), after.getDueDate());
+        addIfChanged(changedFields, "completed", before.getCompleted(), after.getCompleted());
+        addIfChanged(changedFields, "priority", before.getPriority(), after.getPriority());
+        return changedFields;
+    }
+
+    private static void addIfChanged(List<String> changedFields, String field, Object before, Object after) {
+        if (!Objects.equals(before, after)) {
+            changedFields.add(field);
+        }
+    }
+
+    /**
+     * Tells whether a write failed on the unique title per owner rather than on another constraint. H2 reports the
+     * constraint by its index name, e.g. {@code PUBLIC.UK_TASK_OWNER_TITLE_INDEX_2}.
+     */
+    private static boolean isTitleConflict(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase(Locale.ROOT).contains(TITLE_CONSTRAINT);
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasTitleAndPriority(TaskDTO taskDTO) {
+        return taskDTO.getTitle() != null && !taskDTO.getTitle().isBlank() && taskDTO.getPriority() != null;
+    }
+
+    private void validateBatchSize(List<?> items) {
+        if (items.size() > MAX_BATCH_SIZE) {
+            throw new BatchSizeExceededException("Batch size " + items.size() + " exceeds the limit of " + MAX_BATCH_SIZE);
+        }
+    }
+
+    private static BatchItemResultDTO succeededItem(int index, Long id, BatchItemStatus status) {
+        return BatchItemResultDTO.builder()
+                .index(index)
+                .id(id)
+                .status(status)
+                .build();
+    }
+
+    private static BatchItemResultDTO failedItem(int index, Long id, BatchItemStatus status, String message) {
+        return BatchItemResultDTO.builder()
+                .index(index)
+                .id(id)
+                .status(status)
+                .message(message)
+                .build();
+    }
+
+    private static BatchResultDTO toBatchResult(BatchItemResultDTO[] results) {
+        int succeeded = (int) Arrays.stream(results)
+                .filter(item -> SUCCESS_STATUSES.contains(item.getStatus()))
+                .count();
+        return BatchResultDTO.builder()
+                .succeeded(succeeded)
+                .failed(results.length - succeeded)
+                .results(Arrays.asList(results))
+                .build();
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+-- Schema of the task and outbox tables, in SQL that both H2 and PostgreSQL run. IF NOT EXISTS lets a backup database
+-- that already held these tables before migrations be baselined at version 0 and still run this migration.
+
+CREATE SEQUENCE IF NOT EXISTS task_seq START WITH 1 INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS task_outbox_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE IF NOT EXISTS task (
+    id           BIGINT       NOT NULL,
+    title        VARCHAR(255),
+    description  VARCHAR(1000),
+    created_date TIMESTAMP(6),
+    due_date     TIMESTAMP(6),
+    completed    BOOLEAN,
+    priority     VARCHAR(50),
+    owner        VARCHAR(64)  NOT NULL,
+    version      BIGINT       DEFAULT 0 NOT NULL,
+    CONSTRAINT pk_task PRIMARY KEY (id),
+    CONSTRAINT uk_task_owner_title UNIQUE (owner, title)
+);
+
+-- tables created by hand before task versions were introduced lack the column; their rows start at version 0
+ALTER TABLE task ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_task_due_date_id ON task (due_date, id);
+
+CREATE INDEX IF NOT EXISTS idx_task_completed_priority ON task (completed, priority);
+
+CREATE TABLE IF NOT EXISTS task_outbox (
+    id              BIGINT        NOT NULL,
+    task_id         BIGINT,
+    event_type      VARCHAR(20),
+    payload         TEXT,
+    status          VARCHAR(20),
+    attempts        INTEGER       NOT NULL,
+    created_date    TIMESTAMP(6),
+    sent_date       TIMESTAMP(6),
+    replicated_date TIMESTAMP(6),
+    last_error      VARCHAR(1000),
+    CONSTRAINT pk_task_outbox PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_task_outbox_status_id ON task_outbox (status, id);
+
+CREATE INDEX IF NOT EXISTS idx_task_outbox_replicated_date_id ON task_outbox (replicated_date, id);
@@ -0,0 +1,3 @@
+-- Serves keyset pages filtered by completed and sorted by due date: the rows of one completed value are read in
+-- (due_date, id) order, so a page stops after limit rows instead of sorting every match.
+CREATE INDEX IF NOT EXISTS idx_task_completed_due_date_id ON task (completed, due_date, id);
@@ -0,0 +1,7 @@
+-- Open tasks are the ones listed by due date most often and a small share of the table once tasks pile up, so this
+-- index is a fraction of idx_task_completed_due_date_id. Tasks without a completed flag count as open, as in
+-- TaskRepository.findOpenDueAfter, whose filter is the predicate below. The planner also uses it when it sees
+-- completed = false, i.e. for custom plans of the prepared statement (the first prepareThreshold executions and
+-- whenever the generic plan costs more).
+CREATE INDEX IF NOT EXISTS idx_task_open_due_date_id ON task (due_date, id)
+    WHERE completed = false OR completed IS NULL;
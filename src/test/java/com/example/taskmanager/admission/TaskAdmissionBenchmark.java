@@ -0,0 +1,86 @@
+package com.example.taskmanager.admission;
+
+import com.example.taskmanager.benchmark.JmhBaseline;
+import com.example.taskmanager.enums.AdmissionResult;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures admission of creates, each followed by a delete so quotas never fill, with every create counted against
+ * one owner (the former global limit) and spread over 10k owners.
+ * Run with {@code mvn test -Pbenchmark}; the JMH annotation processor is only enabled in that profile.
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class TaskAdmissionBenchmark {
+
+    private static final AtomicLong THREAD_IDS = new AtomicLong();
+
+    @Param({"1", "10000"})
+    public int owners;
+
+    private TaskAdmissionControl admissionControl;
+    private String[] ownerNames;
+
+    @Setup
+    public void setUp() {
+        TaskQuotaProperties quotaProperties = new TaskQuotaProperties();
+        quotaProperties.setDefaultLimit(Integer.MAX_VALUE);
+        admissionControl = new TaskAdmissionControl(null, quotaProperties);
+        ownerNames = new String[owners];
+        for (int i = 0; i < owners; i++) {
+            ownerNames[i] = "tenant-" + i;
+            admissionControl.setLimit(ownerNames[i], Integer.MAX_VALUE);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Creator {
+
+        private final long threadId = THREAD_IDS.incrementAndGet();
+        private long created;
+
+        long nextId() {
+            return (threadId << 40) | created++;
+        }
+    }
+
+    @Benchmark
+    public AdmissionResult createAndDelete(Creator creator) {
+        String owner = ownerNames[ThreadLocalRandom.current().nextInt(ownerNames.length)];
+        long id = creator.nextId();
+        String title = "Task " + id;
+        AdmissionResult result = admissionControl.tryAdmit(owner, title);
+        admissionControl.confirm(id, owner, title);
+        admissionControl.removed(List.of(id));
+        return result;
+    }
+
+    @Test
+    void runBenchmarks() throws Exception {
+        JmhBaseline.run(TaskAdmissionBenchmark.class);
+    }
+}
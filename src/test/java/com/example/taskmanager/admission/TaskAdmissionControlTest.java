@@ -0,0 +1,208 @@
+package com.example.taskmanager.admission;
+
+import com.example.taskmanager.enums.AdmissionResult;
+import com.example.taskmanager.repositories.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@Slf4j
+@ExtendWith(MockitoExtension.class)
+class TaskAdmissionControlTest {
+
+    private static final int THREADS = 64;
+    private static final int CREATES = 500;
+    private static final String DEFAULT = TaskAdmissionControl.DEFAULT_OWNER;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private TaskQuotaProperties quotaProperties;
+    private TaskAdmissionControl admissionControl;
+
+    @BeforeEach
+    void setUp() {
+        quotaProperties = new TaskQuotaProperties();
+        quotaProperties.getLimits().put("acme", 3);
+        admissionControl = new TaskAdmissionControl(taskRepository, quotaProperties);
+    }
+
+    @Test
+    void seed_shouldLoadExistingTasks() {
+        log.info("Starting test: seed_shouldLoadExistingTasks");
+
+        when(taskRepository.findAllTitlesBy()).thenReturn(List.of(
+                taskTitle(1L, "acme", "Existing Task"),
+                taskTitle(2L, null, "Existing Task")));
+
+        admissionControl.seed();
+
+        assertEquals(1, admissionControl.getQuota("acme").getUsed());
+        assertEquals(1, admissionControl.getQuota(DEFAULT).getUsed());
+        assertEquals(AdmissionResult.DUPLICATE, admissionControl.tryAdmit("acme", "Existing Task"));
+        assertEquals(AdmissionResult.DUPLICATE, admissionControl.tryAdmit(DEFAULT, "Existing Task"));
+        assertEquals(AdmissionResult.ADMITTED, admissionControl.tryAdmit("globex", "Existing Task"));
+    }
+
+    @Test
+    void tryAdmit_shouldNotOvershootLimitUnderParallelCreates() throws Exception {
+        log.info("Starting test: tryAdmit_shouldNotOvershootLimitUnderParallelCreates");
+
+        int limit = quotaProperties.getDefaultLimit();
+        Map<AdmissionResult, Long> results = admitInParallel(i -> DEFAULT, i -> "Task " + i);
+
+        assertEquals(limit, results.get(AdmissionResult.ADMITTED));
+        assertEquals(CREATES - limit, results.get(AdmissionResult.LIMIT_EXCEEDED));
+        assertEquals(limit, admissionControl.getQuota(DEFAULT).getUsed());
+    }
+
+    @Test
+    void tryAdmit_shouldAdmitOneOfParallelCreatesWithSameTitle() throws Exception {
+        log.info("Starting test: tryAdmit_shouldAdmitOneOfParallelCreatesWithSameTitle");
+
+        Map<AdmissionResult, Long> results = admitInParallel(i -> DEFAULT, i -> "Task " + i % 10);
+
+        assertEquals(10, results.get(AdmissionResult.ADMITTED));
+        assertEquals(CREATES - 10, results.get(AdmissionResult.DUPLICATE));
+        assertEquals(10, admissionControl.getQuota(DEFAULT).getUsed());
+    }
+
+    @Test
+    void tryAdmit_shouldEnforceQuotaOfEachOwnerUnderParallelCreates() throws Exception {
+        log.info("Starting test: tryAdmit_shouldEnforceQuotaOfEachOwnerUnderParallelCreates");
+
+        Map<AdmissionResult, Long> results = admitInParallel(i -> i % 5 == 0 ? "acme" : "tenant-" + i % 5, i -> "Task " + i);
+
+        assertEquals(3 + 4 * 100, results.get(AdmissionResult.ADMITTED));
+        assertEquals(3, admissionControl.getQuota("acme").getUsed());
+        for (int tenant = 1; tenant < 5; tenant++) {
+            assertEquals(100, admissionControl.getQuota("tenant-" + tenant).getUsed());
+        }
+    }
+
+    @Test
+    void tryAdmit_shouldApplyConfiguredAndRuntimeLimits() {
+        log.info("Starting test: tryAdmit_shouldApplyConfiguredAndRuntimeLimits");
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(AdmissionResult.ADMITTED, admissionControl.tryAdmit("acme", "Task " + i));
+        }
+        assertEquals(AdmissionResult.LIMIT_EXCEEDED, admissionControl.tryAdmit("acme", "Task 3"));
+
+        assertEquals(4, admissionControl.setLimit("acme", 4).getLimit());
+        assertEquals(AdmissionResult.ADMITTED, admissionControl.tryAdmit("acme", "Task 3"));
+        assertEquals(4, admissionControl.getQuota("acme").getUsed());
+    }
+
+    @Test
+    void release_shouldFreeTitleAndSlot() {
+        log.info("Starting test: release_shouldFreeTitleAndSlot");
+
+        admissionControl.admit(DEFAULT, "Test Task");
+        admissionControl.release(DEFAULT, "Test Task");
+
+        assertEquals(0, admissionControl.getQuota(DEFAULT).getUsed());
+        assertEquals(AdmissionResult.ADMITTED, admissionControl.tryAdmit(DEFAULT, "Test Task"));
+    }
+
+    @Test
+    void retitled_shouldFreePreviousTitle() {
+        log.info("Starting test: retitled_shouldFreePreviousTitle");
+
+        admissionControl.admit(DEFAULT, "Test Task");
+        admissionControl.confirm(1L, DEFAULT, "Test Task");
+        admissionControl.retitled(1L, "Renamed Task");
+
+        assertEquals(AdmissionResult.DUPLICATE, admissionControl.tryAdmit(DEFAULT, "Renamed Task"));
+        assertEquals(AdmissionResult.ADMITTED, admissionControl.tryAdmit(DEFAULT, "Test Task"));
+    }
+
+    @Test
+    void tryReserveTitle_shouldHoldNewTitleUntilRenameCommitsOrIsReleased() {
+        log.info("Starting test: tryReserveTitle_shouldHoldNewTitleUntilRenameCommitsOrIsReleased");
+
+        admissionControl.admit(DEFAULT, "Test Task");
+        admissionControl.confirm(1L, DEFAULT, "Test Task");
+        admissionControl.admit(DEFAULT, "Other Task");
+        admissionControl.confirm(2L, DEFAULT, "Other Task");
+
+        assertEquals(AdmissionResult.DUPLICATE, admissionControl.tryReserveTitle(1L, "Other Task"));
+        assertEquals(AdmissionResult.ADMITTED, admissionControl.tryReserveTitle(1L, "Test Task"));
+        assertEquals(AdmissionResult.ADMITTED, admissionControl.tryReserveTitle(1L, "Renamed Task"));
+        assertEquals(AdmissionResult.DUPLICATE, admissionControl.tryReserveTitle(2L, "Renamed Task"));
+        assertEquals(AdmissionResult.DUPLICATE, admissionControl.tryAdmit(DEFAULT, "Renamed Task"));
+
+        admissionControl.releaseTitle(1L, "Renamed Task");
+        assertEquals(AdmissionResult.ADMITTED, admissionControl.tryReserveTitle(2L, "Renamed Task"));
+        admissionControl.retitled(2L, "Renamed Task");
+
+        assertEquals(AdmissionResult.DUPLICATE, admissionControl.tryReserveTitle(1L, "Renamed Task"));
+        assertEquals(AdmissionResult.ADMITTED, admissionControl.tryAdmit(DEFAULT, "Other Task"));
+    }
+
+    private Map<AdmissionResult, Long> admitInParallel(IntFunction<String> owner, IntFunction<String> title) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Callable<AdmissionResult>> creates = new ArrayList<>(CREATES);
+        for (int i = 0; i < CREATES; i++) {
+            String taskOwner = owner.apply(i);
+            String taskTitle = title.apply(i);
+            creates.add(() -> {
+                start.await();
+                return admissionControl.tryAdmit(taskOwner, taskTitle);
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<AdmissionResult>> futures = new ArrayList<>(CREATES);
+            for (Callable<AdmissionResult> create : creates) {
+                futures.add(executor.submit(create));
+            }
+            start.countDown();
+            List<AdmissionResult> results = new ArrayList<>(CREATES);
+            for (Future<AdmissionResult> future : futures) {
+                results.add(future.get());
+            }
+            return results.stream().collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static TaskRepository.TaskTitle taskTitle(Long id, String owner, String title) {
+        return new TaskRepository.TaskTitle() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getTitle() {
+                return title;
+            }
+
+            @Override
+            public String getOwner() {
+                return owner;
+            }
+        };
+    }
+}
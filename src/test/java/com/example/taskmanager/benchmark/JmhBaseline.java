@@ -0,0 +1,144 @@
+package com.example.taskmanager.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Runs the JMH benchmarks of a class, writes their results as JSON to {@code target/jmh/<class>.json} and fails if a
+ * score regressed against the stored baseline of the class in {@code src/test/resources/jmh-baseline}.
+ * <p>
+ * A score regressed when it is worse than its baseline by more than {@code jmh.regression-threshold}, 0.25 by
+ * default: slower for time modes, fewer operations for throughput. A class or benchmark without a baseline fails too,
+ * so that a run never passes without having compared anything. Run with {@code -Djmh.baseline.update=true} to store
+ * the results as the new baseline; record it on the machine the comparison will run on, since scores do not carry
+ * over between machines.
+ */
+@Slf4j
+public final class JmhBaseline {
+
+    private static final Path RESULT_DIR = Path.of("target", "jmh");
+    private static final Path BASELINE_DIR = Path.of("src", "test", "resources", "jmh-baseline");
+
+    private JmhBaseline() {
+    }
+
+    public static void run(Class<?> benchmarkClass) throws RunnerException, IOException {
+        Files.createDirectories(RESULT_DIR);
+        Path resultFile = RESULT_DIR.resolve(benchmarkClass.getSimpleName() + ".json");
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(benchmarkClass.getName())
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile.toString())
+                .build())
+                .run();
+
+        Path baselineFile = BASELINE_DIR.resolve(benchmarkClass.getSimpleName() + ".json");
+        if (Boolean.getBoolean("jmh.baseline.update")) {
+            Files.createDirectories(BASELINE_DIR);
+            Files.copy(resultFile, baselineFile, StandardCopyOption.REPLACE_EXISTING);
+            log.info("Stored {} as the baseline of {}", resultFile, benchmarkClass.getSimpleName());
+            return;
+        }
+        if (!Files.exists(baselineFile)) {
+            fail("No baseline for " + benchmarkClass.getSimpleName() + " in " + baselineFile + "; record one on this "
+                    + "machine with -Djmh.baseline.update=true");
+        }
+
+        double threshold = Double.parseDouble(System.getProperty("jmh.regression-threshold", "0.25"));
+        Map<String, JsonNode> baseline = readBaseline(baselineFile);
+        List<String> regressions = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        for (RunResult runResult : results) {
+            BenchmarkParams params = runResult.getParams();
+            Result<?> result = runResult.getPrimaryResult();
+            String key = key(params.getBenchmark(), params.getMode().shortLabel(), params(params));
+            JsonNode expected = baseline.get(key);
+            if (expected == null) {
+                log.warn("{}: {} {}, no baseline", key, format(result.getScore()), result.getScoreUnit());
+                missing.add(key);
+                continue;
+            }
+            JsonNode primaryMetric = expected.get("primaryMetric");
+            if (!result.getScoreUnit().equals(primaryMetric.get("scoreUnit").asText())) {
+                log.warn("{}: unit changed from {} to {}, not comparing", key,
+                        primaryMetric.get("scoreUnit").asText(), result.getScoreUnit());
+                continue;
+            }
+            double baselineScore = primaryMetric.get("score").asDouble();
+            double change = params.getMode() == Mode.Throughput
+                    ? baselineScore / result.getScore() - 1
+                    : result.getScore() / baselineScore - 1;
+            String comparison = String.format("%s: %s %s against a baseline of %s, %.1f%% %s",
+                    key, format(result.getScore()), result.getScoreUnit(), format(baselineScore),
+                    Math.abs(change) * 100, change > 0 ? "slower" : "faster");
+            log.info(comparison);
+            if (change > threshold) {
+                regressions.add(comparison);
+            }
+        }
+        if (!regressions.isEmpty()) {
+            fail("Benchmarks regressed by more than " + Math.round(threshold * 100) + "%:\n"
+                    + String.join("\n", regressions));
+        }
+        if (!missing.isEmpty()) {
+            fail("No baseline in " + baselineFile + " for " + String.join(", ", missing)
+                    + "; record one on this machine with -Djmh.baseline.update=true");
+        }
+    }
+
+    private static Map<String, JsonNode> readBaseline(Path baselineFile) throws IOException {
+        Map<String, JsonNode> baseline = new HashMap<>();
+        for (JsonNode benchmark : new ObjectMapper().readTree(baselineFile.toFile())) {
+            Map<String, String> params = new TreeMap<>();
+            JsonNode paramsNode = benchmark.get("params");
+            if (paramsNode != null) {
+                for (Iterator<Map.Entry<String, JsonNode>> it = paramsNode.fields(); it.hasNext(); ) {
+                    Map.Entry<String, JsonNode> param = it.next();
+                    params.put(param.getKey(), param.getValue().asText());
+                }
+            }
+            baseline.put(key(benchmark.get("benchmark").asText(), benchmark.get("mode").asText(), params), benchmark);
+        }
+        return baseline;
+    }
+
+    private static Map<String, String> params(BenchmarkParams params) {
+        Map<String, String> values = new TreeMap<>();
+        for (String name : params.getParamsKeys()) {
+            values.put(name, params.getParam(name));
+        }
+        return values;
+    }
+
+    private static String key(String benchmark, String mode, Map<String, String> params) {
+        String name = benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1);
+        return params.isEmpty() ? name + " (" + mode + ")" : name + params + " (" + mode + ")";
+    }
+
+    private static String format(double score) {
+        return String.format("%.3f", score);
+    }
+}
@@ -3,17 +3,25 @@ package com.example.taskmanager.configs;
 
 import com.example.taskmanager.datasource.DataSourceContextHolder;
 import com.example.taskmanager.datasource.RoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySource;
+import org.springframework.boot.env.YamlPropertySourceLoader;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
 
@@ -50,6 +58,11 @@ class DataSourceConfigTest {
         when(backupDataSource.toString()).thenReturn("backupDataSource");
     }
 
+    @AfterEach
+    public void tearDown() {
+        DataSourceConfig.switchToMain();
+    }
+
     /**
      * Test to verify the configuration of the data sources.
      * This includes checking the main and backup data sources, ensuring they are correctly mapped in the routing data source.
@@ -79,6 +92,38 @@ class DataSourceConfigTest {
         log.info("Backup DataSource URL: {}", getJdbcUrl(backupDataSource));
     }
 
+    /**
+     * Test to verify that each data source gets the pool settings of its own prefix in application.yml and
+     * publishes pool meters tagged with its pool name.
+     *
+     * @throws Exception if application.yml cannot be read or the main pool cannot connect.
+     */
+    @Test
+    void testPoolsAreConfiguredSeparatelyAndMetered() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        Binder binder = new Binder(new YamlPropertySourceLoader()
+                .load("application.yml", new ClassPathResource("application.yml")).stream()
+                .map(ConfigurationPropertySource::from)
+                .toList());
+
+        try (HikariDataSource main = binder.bind("spring.datasource",
+                     Bindable.ofInstance(dataSourceConfig.mainDataSource(meterRegistry))).get();
+             HikariDataSource backup = binder.bind("backup.datasource",
+                     Bindable.ofInstance(dataSourceConfig.backupDataSource(meterRegistry))).get()) {
+            assertEquals("main", main.getPoolName());
+            assertEquals(2000, main.getConnectionTimeout());
+            assertEquals("backup", backup.getPoolName());
+            assertEquals(2, backup.getMinimumIdle());
+            assertEquals("true", backup.getDataSourceProperties().getProperty("reWriteBatchedInserts"));
+            assertEquals("5", backup.getDataSourceProperties().getProperty("prepareThreshold"));
+
+            try (Connection connection = main.getConnection()) {
+                assertEquals(1, meterRegistry.get("hikaricp.connections.active").tag("pool", "main").gauge().value());
+            }
+            assertEquals(10, meterRegistry.get("hikaricp.connections.max").tag("pool", "main").gauge().value());
+        }
+    }
+
     /**
      * Test to ensure the switching of data source to backup.
      * This test checks if the data source key is correctly set to "BACKUP" when switching.
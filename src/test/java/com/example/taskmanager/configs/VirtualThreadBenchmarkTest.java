@@ -0,0 +1,170 @@
+package com.example.taskmanager.configs;
+
+import com.example.taskmanager.datasource.DatabaseOperationHandler;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.catalina.connector.Connector;
+import org.apache.coyote.http11.AbstractHttp11Protocol;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.boot.autoconfigure.web.embedded.TomcatVirtualThreadsWebServerFactoryCustomizer;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives an embedded Tomcat with a closed loop of concurrent clients and reports requests/s and p99 latency with
+ * requests served on platform threads (Tomcat's default pool of 200) and on virtual threads, the two modes
+ * {@code spring.threads.virtual.enabled} switches between. Every request runs a 20 ms blocking call through
+ * {@link DatabaseOperationHandler}, standing in for a JDBC round trip or a Kafka metadata wait; the connector
+ * accepts every client in both modes, so only the threading model differs.
+ * Clients beyond the open file limit of the machine fail to connect and are reported as errors.
+ * Excluded from the default build; run with {@code mvn test -Pbenchmark}.
+ */
+@Slf4j
+@Tag("benchmark")
+class VirtualThreadBenchmarkTest {
+
+    private static final long BLOCKING_CALL_MS = 20;
+    private static final Duration WARMUP = Duration.ofSeconds(2);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(5);
+
+    @ParameterizedTest
+    @CsvSource({"false, 100", "true, 100", "false, 1000", "true, 1000", "false, 10000", "true, 10000"})
+    void requests_shouldBeServedInBothThreadModes(boolean virtualThreads, int clients) throws Exception {
+        WebServer webServer = startServer(virtualThreads);
+        try (ExecutorService httpClientThreads = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .connectTimeout(Duration.ofSeconds(10))
+                     .executor(httpClientThreads)
+                     .build()) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + webServer.getPort() + "/tasks"))
+                    .timeout(Duration.ofSeconds(30))
+                    .build();
+
+            long measureFrom = System.nanoTime() + WARMUP.toNanos();
+            long measureUntil = measureFrom + MEASUREMENT.toNanos();
+            AtomicLong errors = new AtomicLong();
+            List<long[]> latencies = new ArrayList<>(clients);
+            List<Runnable> loops = new ArrayList<>(clients);
+            for (int i = 0; i < clients; i++) {
+                long[] clientLatencies = new long[(int) (MEASUREMENT.toMillis() / BLOCKING_CALL_MS) + 1];
+                latencies.add(clientLatencies);
+                loops.add(() -> runClient(httpClient, request, measureFrom, measureUntil, clientLatencies, errors));
+            }
+            ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor();
+            loops.forEach(clientThreads::execute);
+            clientThreads.shutdown();
+            assertTrue(clientThreads.awaitTermination(2, TimeUnit.MINUTES));
+
+            long[] measured = latencies.stream()
+                    .flatMapToLong(clientLatencies -> Arrays.stream(clientLatencies).filter(latency -> latency > 0))
+                    .sorted()
+                    .toArray();
+            if (measured.length == 0) {
+                log.warn("{} threads, {} clients: no request completed, {} errors",
+                        virtualThreads ? "virtual" : "platform", clients, errors.get());
+                return;
+            }
+            log.info("{} threads, {} clients: {} requests/s, p50 {} ms, p99 {} ms, {} errors",
+                    virtualThreads ? "virtual" : "platform", clients,
+                    measured.length / MEASUREMENT.toSeconds(),
+                    percentileMs(measured, 50), percentileMs(measured, 99), errors.get());
+        } finally {
+            webServer.stop();
+        }
+    }
+
+    /**
+     * Sends one request after another, recording the latency of those that start within the measurement window.
+     */
+    private static void runClient(HttpClient httpClient, HttpRequest request, long measureFrom, long measureUntil,
+                                  long[] latencies, AtomicLong errors) {
+        int recorded = 0;
+        long start;
+        while ((start = System.nanoTime()) < measureUntil) {
+            try {
+                HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                long latency = System.nanoTime() - start;
+                if (response.statusCode() != 200) {
+                    errors.incrementAndGet();
+                } else if (start >= measureFrom && recorded < latencies.length) {
+                    latencies[recorded++] = latency;
+                }
+            } catch (IOException e) {
+                errors.incrementAndGet();
+                sleepQuietly(BLOCKING_CALL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static WebServer startServer(boolean virtualThreads) {
+        TomcatServletWebServerFactory factory = new TomcatServletWebServerFactory(0);
+        factory.addConnectorCustomizers(VirtualThreadBenchmarkTest::acceptAllClients);
+        if (virtualThreads) {
+            new TomcatVirtualThreadsWebServerFactoryCustomizer().customize(factory);
+        }
+        WebServer webServer = factory.getWebServer(servletContext -> servletContext
+                .addServlet("tasks", new BlockingTaskServlet())
+                .addMapping("/tasks"));
+        webServer.start();
+        return webServer;
+    }
+
+    private static void acceptAllClients(Connector connector) {
+        if (connector.getProtocolHandler() instanceof AbstractHttp11Protocol<?> protocol) {
+            protocol.setMaxConnections(20_000);
+            protocol.setAcceptCount(20_000);
+            protocol.setKeepAliveTimeout(60_000);
+            protocol.setMaxKeepAliveRequests(-1);
+        }
+    }
+
+    private static long percentileMs(long[] sortedNanos, int percentile) {
+        int index = Math.min(sortedNanos.length - 1, (int) Math.ceil(sortedNanos.length * percentile / 100.0) - 1);
+        return TimeUnit.NANOSECONDS.toMillis(sortedNanos[Math.max(0, index)]);
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class BlockingTaskServlet extends HttpServlet {
+
+        @Override
+        protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            DatabaseOperationHandler.execute(() -> {
+                sleepQuietly(BLOCKING_CALL_MS);
+                return null;
+            });
+            response.setContentType("text/plain");
+            response.getWriter().write("ok");
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.taskmanager.configs.kafka;
+
+import com.example.taskmanager.dtos.TaskDTO;
+import com.example.taskmanager.dtos.TaskEvent;
+import com.example.taskmanager.enums.Priority;
+import com.example.taskmanager.enums.TaskEventType;
+import com.example.taskmanager.serialization.TaskEventSerializer;
+import com.example.taskmanager.services.impl.TaskProjectionServiceImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.kafka.listener.BatchAcknowledgingMessageListener;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.condition.EmbeddedKafkaCondition;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures how listener throughput scales with the partition count of the task topic, with concurrency left at its
+ * default of one thread per partition. The container starts paused and is resumed
+ * once every partition is assigned, so group joins and rebalances are left out of the timing. Each record costs a simulated 200 µs of downstream work on top of the
+ * projection update, standing in for a projection kept in a database.
+ * Excluded from the default build; run with {@code mvn test -Pbenchmark}.
+ */
+@Slf4j
+@Tag("benchmark")
+@EmbeddedKafka(partitions = 1)
+class KafkaConsumerScalingBenchmarkTest {
+
+    private static final int RECORDS = 20_000;
+    private static final long WORK_PER_RECORD_NANOS = 200_000;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 4, 8})
+    void listener_shouldScaleWithPartitions(int partitions) throws Exception {
+        EmbeddedKafkaBroker broker = EmbeddedKafkaCondition.getBroker();
+        String topic = "scaling-" + partitions;
+        broker.addTopics(new NewTopic(topic, partitions, (short) 1));
+        produce(broker, topic);
+
+        KafkaTopicProperties topicProperties = new KafkaTopicProperties();
+        topicProperties.setPartitions(partitions);
+        KafkaConsumerConfig consumerConfig = new KafkaConsumerConfig(new KafkaConsumerProperties(), topicProperties);
+        ReflectionTestUtils.setField(consumerConfig, "bootstrapServers", broker.getBrokersAsString());
+        ConcurrentMessageListenerContainer<String, TaskEvent> container = consumerConfig
+                .kafkaListenerContainerFactory(new DefaultErrorHandler())
+                .createContainer(topic);
+        container.getContainerProperties().setGroupId("scaling-" + partitions);
+
+        TaskProjectionServiceImpl taskProjectionService = new TaskProjectionServiceImpl();
+        CountDownLatch consumed = new CountDownLatch(RECORDS);
+        container.setupMessageListener((BatchAcknowledgingMessageListener<String, TaskEvent>) (records, acknowledgment) -> {
+            records.forEach(record -> {
+                taskProjectionService.apply(record.value());
+                LockSupport.parkNanos(WORK_PER_RECORD_NANOS);
+                consumed.countDown();
+            });
+            acknowledgment.acknowledge();
+        });
+
+        container.pause();
+        container.start();
+        try {
+            awaitOnePartitionPerThread(container, partitions);
+            long start = System.nanoTime();
+            container.resume();
+            assertTrue(consumed.await(5, TimeUnit.MINUTES), "Listener did not consume every record");
+            long elapsed = System.nanoTime() - start;
+            log.info("Partitions {}, listener threads {}: {} records/s",
+                    partitions, container.getConcurrency(), Math.round(RECORDS / (elapsed / 1e9)));
+        } finally {
+            container.stop();
+        }
+    }
+
+    private static void awaitOnePartitionPerThread(ConcurrentMessageListenerContainer<String, TaskEvent> container,
+                                                   int partitions) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (container.getAssignmentsByClientId().values().stream().filter(assigned -> assigned.size() == 1).count() < partitions) {
+            assertTrue(System.nanoTime() < deadline, "Partitions were not spread over the listener threads");
+            Thread.sleep(100);
+        }
+    }
+
+    private static void produce(EmbeddedKafkaBroker broker, String topic) {
+        TaskEventSerializer serializer = new TaskEventSerializer();
+        try (KafkaProducer<String, byte[]> producer = new KafkaProducer<>(
+                KafkaTestUtils.producerProps(broker), new StringSerializer(), new ByteArraySerializer())) {
+            for (long id = 1; id <= RECORDS; id++) {
+                producer.send(new ProducerRecord<>(topic, String.valueOf(id), serializer.serialize(topic, taskEvent(id))));
+            }
+        }
+    }
+
+    private static TaskEvent taskEvent(long id) {
+        return TaskEvent.builder()
+                .eventType(TaskEventType.CREATED)
+                .taskId(id)
+                .version(id)
+                .occurredAt(LocalDateTime.now())
+                .changedFields(TaskEvent.ALL_FIELDS)
+                .task(TaskDTO.builder().id(id).title("Task " + id).completed(false).priority(Priority.MEDIUM).build())
+                .build();
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.taskmanager.configs.kafka;
+
+import com.example.taskmanager.dtos.TaskDTO;
+import com.example.taskmanager.dtos.TaskEvent;
+import com.example.taskmanager.enums.Priority;
+import com.example.taskmanager.enums.TaskEventType;
+import com.example.taskmanager.services.impl.KafkaServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySource;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.condition.EmbeddedKafkaCondition;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends task events through each producer profile against an embedded broker and reports records/s under a flood
+ * of asynchronous sends, and p99 latency of sends issued one at a time.
+ * Excluded from the default build; run with {@code mvn test -Pbenchmark}.
+ */
+@Slf4j
+@Tag("benchmark")
+@EmbeddedKafka(partitions = 3, topics = "taskmanager-topic")
+class KafkaProducerBenchmarkTest {
+
+    private static final int WARMUP_RECORDS = 5_000;
+    private static final int RECORDS = 50_000;
+    private static final int LATENCY_RECORDS = 500;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"default", "kafka-throughput", "kafka-low-latency"})
+    void producerProfile_shouldReportThroughputAndTailLatency(String profile) throws Exception {
+        KafkaProducerProperties producerProperties = bindProducerProperties(profile);
+        EmbeddedKafkaBroker broker = EmbeddedKafkaCondition.getBroker();
+        KafkaProducerConfig producerConfig = new KafkaProducerConfig(producerProperties);
+        ReflectionTestUtils.setField(producerConfig, "bootstrapServers", broker.getBrokersAsString());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        KafkaTemplate<String, TaskEvent> kafkaTemplate = new KafkaTemplate<>(producerConfig.producerFactory(meterRegistry));
+        KafkaServiceImpl kafkaService = new KafkaServiceImpl(kafkaTemplate, meterRegistry);
+
+        try {
+            send(kafkaService, WARMUP_RECORDS);
+
+            long start = System.nanoTime();
+            send(kafkaService, RECORDS);
+            long elapsed = System.nanoTime() - start;
+
+            long[] latencies = new long[LATENCY_RECORDS];
+            for (int i = 0; i < LATENCY_RECORDS; i++) {
+                long sentAt = System.nanoTime();
+                kafkaService.sendTaskEvent(taskEvent(i)).get(10, TimeUnit.SECONDS);
+                latencies[i] = System.nanoTime() - sentAt;
+            }
+
+            Arrays.sort(latencies);
+            log.info("Producer profile {} ({}): {} records/s, p50 {} ms, p99 {} ms",
+                    profile, producerProperties,
+                    Math.round(RECORDS / (elapsed / 1e9)),
+                    String.format("%.2f", latencies[LATENCY_RECORDS / 2] / 1e6),
+                    String.format("%.2f", latencies[(int) (LATENCY_RECORDS * 0.99)] / 1e6));
+        } finally {
+            kafkaTemplate.destroy();
+        }
+    }
+
+    private static void send(KafkaServiceImpl kafkaService, int records) throws Exception {
+        CompletableFuture<?>[] sends = new CompletableFuture<?>[records];
+        for (int i = 0; i < records; i++) {
+            sends[i] = kafkaService.sendTaskEvent(taskEvent(i));
+        }
+        CompletableFuture.allOf(sends).get(2, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Binds {@code taskmanager.kafka.producer} from application.yml the way Spring Boot would with the given profile active.
+     */
+    private static KafkaProducerProperties bindProducerProperties(String profile) throws IOException {
+        List<PropertySource<?>> documents = new YamlPropertySourceLoader()
+                .load("application.yml", new ClassPathResource("application.yml"));
+        List<ConfigurationPropertySource> sources = new ArrayList<>();
+        for (PropertySource<?> document : documents) {
+            Object activeOnProfile = document.getProperty("spring.config.activate.on-profile");
+            if (activeOnProfile == null || profile.equals(activeOnProfile.toString())) {
+                sources.addFirst(ConfigurationPropertySource.from(document));
+            }
+        }
+        return new Binder(sources)
+                .bind("taskmanager.kafka.producer", KafkaProducerProperties.class)
+                .orElseGet(KafkaProducerProperties::new);
+    }
+
+    private static TaskEvent taskEvent(long id) {
+        TaskDTO taskDTO = TaskDTO.builder()
+                .id(id)
+                .title("Task " + id)
+                .description("Benchmark task with a description of typical length for this service")
+                .createdDate(LocalDateTime.now())
+                .dueDate(LocalDateTime.now().plusDays(1))
+                .completed(false)
+                .priority(Priority.MEDIUM)
+                .build();
+        return TaskEvent.builder()
+                .eventType(TaskEventType.CREATED)
+                .taskId(id)
+                .version(id)
+                .occurredAt(LocalDateTime.now())
+                .changedFields(TaskEvent.ALL_FIELDS)
+                .task(taskDTO)
+                .build();
+    }
+}
@@ -1,8 +1,18 @@
 package com.example.taskmanager.controllers;
 
+import com.example.taskmanager.dtos.BatchItemResultDTO;
+import com.example.taskmanager.dtos.BatchResultDTO;
 import com.example.taskmanager.dtos.TaskDTO;
+import com.example.taskmanager.dtos.TaskFilterDTO;
+import com.example.taskmanager.dtos.TaskPageDTO;
+import com.example.taskmanager.enums.BatchItemStatus;
 import com.example.taskmanager.enums.Priority;
+import com.example.taskmanager.enums.TaskSortField;
+import com.example.taskmanager.exceptions.BatchSizeExceededException;
+import com.example.taskmanager.exceptions.InvalidCursorException;
+import com.example.taskmanager.exceptions.InvalidTaskPatchException;
 import com.example.taskmanager.exceptions.TaskNotFoundException;
+import com.example.taskmanager.exceptions.TaskVersionMismatchException;
 import com.example.taskmanager.models.Task;
 import com.example.taskmanager.services.TaskService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -14,6 +24,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -21,7 +32,10 @@ import java.time.LocalDateTime;
 import java.util.*;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -108,22 +122,59 @@ class TaskControllerTest {
 
     @Test
     void getAllTasks_shouldReturnAllTasks() throws Exception {
-        List<TaskDTO> tasks = Collections.singletonList(taskDTO);
-        when(taskService.getAllTasks()).thenReturn(tasks);
+        TaskPageDTO page = TaskPageDTO.builder()
+                .items(Collections.singletonList(taskDTO))
+                .nextCursor("next")
+                .build();
+        when(taskService.getAllTasks(any(TaskFilterDTO.class), eq(TaskSortField.ID), isNull(), eq(50))).thenReturn(page);
 
         mockMvc.perform(get("/api/v1/task")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(1))
-                .andExpect(jsonPath("$[0].title").value("Test Task"))
-                .andExpect(jsonPath("$[0].description").value("Test Description"));
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].title").value("Test Task"))
+                .andExpect(jsonPath("$.items[0].description").value("Test Description"))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+
+        verify(taskService).getAllTasks(any(TaskFilterDTO.class), eq(TaskSortField.ID), isNull(), eq(50));
+    }
+
+    @Test
+    void getAllTasks_shouldPassFiltersAndCursorToService() throws Exception {
+        TaskFilterDTO expectedFilter = TaskFilterDTO.builder()
+                .completed(false)
+                .priority(Priority.HIGH)
+                .dueFrom(LocalDateTime.parse("2024-06-01T00:00:00"))
+                .build();
+        when(taskService.getAllTasks(expectedFilter, TaskSortField.DUE_DATE, "abc", 10))
+                .thenReturn(TaskPageDTO.builder().items(Collections.emptyList()).build());
+
+        mockMvc.perform(get("/api/v1/task")
+                        .param("completed", "false")
+                        .param("priority", "HIGH")
+                        .param("dueFrom", "2024-06-01T00:00:00")
+                        .param("sortBy", "DUE_DATE")
+                        .param("cursor", "abc")
+                        .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(0))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
 
-        verify(taskService).getAllTasks();
+        verify(taskService).getAllTasks(expectedFilter, TaskSortField.DUE_DATE, "abc", 10);
+    }
+
+    @Test
+    void getAllTasks_shouldReturn400WhenCursorIsInvalid() throws Exception {
+        when(taskService.getAllTasks(any(TaskFilterDTO.class), eq(TaskSortField.ID), eq("bogus"), eq(50)))
+                .thenThrow(new InvalidCursorException("Invalid cursor: bogus"));
+
+        mockMvc.perform(get("/api/v1/task").param("cursor", "bogus"))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
     void updateTask_shouldUpdateTaskSuccessfully() throws Exception {
-        when(taskService.updateTask(1L, taskDTO)).thenReturn(taskDTO);
+        when(taskService.updateTask(1L, taskDTO, null)).thenReturn(taskDTO);
 
         mockMvc.perform(put("/api/v1/task/1")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -133,42 +184,42 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.description").value("Test Description"))
                 .andExpect(jsonPath("$.priority").value("HIGH"));
 
-        verify(taskService).updateTask(1L, taskDTO);
+        verify(taskService).updateTask(1L, taskDTO, null);
     }
 
     @Test
     void updateTask_shouldReturn404WhenTaskNotFound() throws Exception {
-        when(taskService.updateTask(1L, taskDTO)).thenThrow(new TaskNotFoundException("Task item with id not found, id: 1"));
+        when(taskService.updateTask(1L, taskDTO, null)).thenThrow(new TaskNotFoundException("Task item with id not found, id: 1"));
 
         mockMvc.perform(put("/api/v1/task/1")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(taskDTO)))
                 .andExpect(status().isNotFound());
 
-        verify(taskService).updateTask(1L, taskDTO);
+        verify(taskService).updateTask(1L, taskDTO, null);
     }
 
     @Test
     void deleteTask_shouldDeleteTaskSuccessfully() throws Exception {
-        when(taskService.deleteTask(1L)).thenReturn("Task with ID 1 has been successfully deleted.");
+        when(taskService.deleteTask(1L, null)).thenReturn("Task with ID 1 has been successfully deleted.");
 
         mockMvc.perform(delete("/api/v1/task/1")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(content().string("Task with ID 1 has been successfully deleted."));
 
-        verify(taskService).deleteTask(1L);
+        verify(taskService).deleteTask(1L, null);
     }
 
     @Test
     void deleteTask_shouldReturn404WhenTaskNotFound() throws Exception {
-        when(taskService.deleteTask(1L)).thenThrow(new TaskNotFoundException("Task item with id not found, id: 1"));
+        when(taskService.deleteTask(1L, null)).thenThrow(new TaskNotFoundException("Task item with id not found, id: 1"));
 
         mockMvc.perform(delete("/api/v1/task/1")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound());
 
-        verify(taskService).deleteTask(1L);
+        verify(taskService).deleteTask(1L, null);
     }
 
     @Test
@@ -176,7 +227,7 @@ class TaskControllerTest {
         Map<String, Object> updates = new HashMap<>();
         updates.put("title", "Updated Title");
 
-        when(taskService.patchTask(1L, updates)).thenReturn(taskDTO);
+        when(taskService.patchTask(1L, updates, null)).thenReturn(taskDTO);
 
         mockMvc.perform(patch("/api/v1/task/1")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -185,7 +236,7 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.title").value("Test Task"))
                 .andExpect(jsonPath("$.description").value("Test Description"));
 
-        verify(taskService).patchTask(1L, updates);
+        verify(taskService).patchTask(1L, updates, null);
     }
 
     @Test
@@ -193,13 +244,144 @@ class TaskControllerTest {
         Map<String, Object> updates = new HashMap<>();
         updates.put("title", "Updated Title");
 
-        when(taskService.patchTask(1L, updates)).thenThrow(new TaskNotFoundException("Task item with id not found, id: 1"));
+        when(taskService.patchTask(1L, updates, null)).thenThrow(new TaskNotFoundException("Task item with id not found, id: 1"));
 
         mockMvc.perform(patch("/api/v1/task/1")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(updates)))
                 .andExpect(status().isNotFound());
 
-        verify(taskService).patchTask(1L, updates);
+        verify(taskService).patchTask(1L, updates, null);
+    }
+
+    @Test
+    void patchTask_shouldReturn400WhenPatchIsInvalid() throws Exception {
+        Map<String, Object> updates = new HashMap<>();
+        updates.put("title", " ");
+
+        when(taskService.patchTask(1L, updates, null)).thenThrow(new InvalidTaskPatchException("Title cannot be blank"));
+
+        mockMvc.perform(patch("/api/v1/task/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updates)))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Title cannot be blank"));
+    }
+
+    @Test
+    void getTaskById_shouldReturnVersionAsETag() throws Exception {
+        task.setVersion(3L);
+        when(taskService.getTaskById(1L)).thenReturn(Optional.of(task));
+
+        mockMvc.perform(get("/api/v1/task/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(jsonPath("$.version").value(3));
+    }
+
+    @Test
+    void getTaskById_shouldReturn304WithoutBodyWhenETagMatches() throws Exception {
+        task.setVersion(3L);
+        when(taskService.getTaskById(1L)).thenReturn(Optional.of(task));
+
+        mockMvc.perform(get("/api/v1/task/1").header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void patchTask_shouldOnlyPatchVersionInIfMatch() throws Exception {
+        Map<String, Object> updates = Map.of("completed", true);
+        taskDTO.setVersion(4L);
+        when(taskService.patchTask(1L, updates, 3L)).thenReturn(taskDTO);
+
+        mockMvc.perform(patch("/api/v1/task/1")
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updates)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""));
+
+        verify(taskService).patchTask(1L, updates, 3L);
+    }
+
+    @Test
+    void updateTask_shouldReturn412WhenVersionChanged() throws Exception {
+        when(taskService.updateTask(1L, taskDTO, 3L)).thenThrow(new TaskVersionMismatchException("Task 1 is no longer at version 3"));
+
+        mockMvc.perform(put("/api/v1/task/1")
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(taskDTO)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void updateTask_shouldReturn409WhenConcurrentUpdateWinsWithoutIfMatch() throws Exception {
+        when(taskService.updateTask(1L, taskDTO, null)).thenThrow(new ObjectOptimisticLockingFailureException(Task.class, 1L));
+
+        mockMvc.perform(put("/api/v1/task/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(taskDTO)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void deleteTask_shouldReturn412WhenIfMatchIsNotAVersion() throws Exception {
+        mockMvc.perform(delete("/api/v1/task/1").header("If-Match", "W/\"3\""))
+                .andExpect(status().isPreconditionFailed());
+
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void createTasks_shouldReturnPerItemResults() throws Exception {
+        BatchResultDTO batchResult = BatchResultDTO.builder()
+                .succeeded(1)
+                .failed(1)
+                .results(List.of(
+                        BatchItemResultDTO.builder().index(0).id(1L).status(BatchItemStatus.CREATED).build(),
+                        BatchItemResultDTO.builder().index(1).status(BatchItemStatus.DUPLICATE).message("duplicate").build()))
+                .build();
+        when(taskService.createTasks(List.of(taskDTO, taskDTO))).thenReturn(batchResult);
+
+        mockMvc.perform(post("/api/v1/task/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(taskDTO, taskDTO))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[1].status").value("DUPLICATE"));
+
+        verify(taskService).createTasks(List.of(taskDTO, taskDTO));
+    }
+
+    @Test
+    void deleteTasks_shouldReturnPerItemResults() throws Exception {
+        BatchResultDTO batchResult = BatchResultDTO.builder()
+                .succeeded(1)
+                .results(List.of(BatchItemResultDTO.builder().index(0).id(1L).status(BatchItemStatus.DELETED).build()))
+                .build();
+        when(taskService.deleteTasks(List.of(1L))).thenReturn(batchResult);
+
+        mockMvc.perform(delete("/api/v1/task/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].status").value("DELETED"));
+
+        verify(taskService).deleteTasks(List.of(1L));
+    }
+
+    @Test
+    void createTasks_shouldReturn400WhenBatchTooLarge() throws Exception {
+        when(taskService.createTasks(List.of(taskDTO))).thenThrow(new BatchSizeExceededException("Batch size 1001 exceeds the limit of 1000"));
+
+        mockMvc.perform(post("/api/v1/task/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(taskDTO))))
+                .andExpect(status().isBadRequest());
     }
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.example.taskmanager.controllers;
+
+import com.example.taskmanager.dtos.TaskDTO;
+import com.example.taskmanager.dtos.TaskFilterDTO;
+import com.example.taskmanager.enums.Priority;
+import com.example.taskmanager.exceptions.TaskNotFoundException;
+import com.example.taskmanager.services.TaskProjectionService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(SpringExtension.class)
+@WebMvcTest(TaskProjectionController.class)
+class TaskProjectionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TaskProjectionService taskProjectionService;
+
+    @Test
+    void getTaskById_shouldReturnProjectedTask() throws Exception {
+        when(taskProjectionService.getTask(1L)).thenReturn(TaskDTO.builder().id(1L).title("Test Task").build());
+
+        mockMvc.perform(get("/api/v1/projection/task/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Test Task"));
+    }
+
+    @Test
+    void getTaskById_shouldReturnNotFoundWhenMissing() throws Exception {
+        when(taskProjectionService.getTask(1L)).thenThrow(new TaskNotFoundException("Task item with id not found, id: 1"));
+
+        mockMvc.perform(get("/api/v1/projection/task/1"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getTasks_shouldPassFilterToProjection() throws Exception {
+        when(taskProjectionService.getTasks(argThat((TaskFilterDTO filter) ->
+                Boolean.TRUE.equals(filter.getCompleted()) && filter.getPriority() == Priority.HIGH), eq(10)))
+                .thenReturn(List.of(TaskDTO.builder().id(1L).title("Test Task").build()));
+
+        mockMvc.perform(get("/api/v1/projection/task")
+                        .param("completed", "true")
+                        .param("priority", "HIGH")
+                        .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1));
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.taskmanager.controllers;
+
+import com.example.taskmanager.dtos.TaskQuotaDTO;
+import com.example.taskmanager.services.TaskQuotaService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(SpringExtension.class)
+@WebMvcTest(TaskQuotaController.class)
+class TaskQuotaControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TaskQuotaService taskQuotaService;
+
+    @Test
+    void getQuota_shouldReturnLimitAndUsage() throws Exception {
+        when(taskQuotaService.getQuota("acme")).thenReturn(TaskQuotaDTO.builder().owner("acme").limit(500).used(42).build());
+
+        mockMvc.perform(get("/api/v1/admin/quota/acme"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.limit").value(500))
+                .andExpect(jsonPath("$.used").value(42));
+    }
+
+    @Test
+    void setQuota_shouldSetLimitOfOwner() throws Exception {
+        when(taskQuotaService.setLimit("acme", 1000)).thenReturn(TaskQuotaDTO.builder().owner("acme").limit(1000).used(42).build());
+
+        mockMvc.perform(put("/api/v1/admin/quota/acme")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"limit\": 1000}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.limit").value(1000));
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.taskmanager.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Migrates H2 in PostgreSQL mode, standing in for the PostgreSQL backup database. H2 has no partial indexes, so only
+ * the migrations shared with the main database are applied.
+ */
+@Slf4j
+class BackupSchemaMigratorTest {
+
+    private DriverManagerDataSource backupDataSource;
+    private JdbcTemplate backup;
+    private BackupSchemaProperties schemaProperties;
+
+    @BeforeEach
+    void setUp() {
+        backupDataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:backup-schema;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        backup = new JdbcTemplate(backupDataSource);
+        schemaProperties = new BackupSchemaProperties();
+        schemaProperties.setLocations(List.of("classpath:db/migration"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        backup.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void migrate_shouldCreateSchemaOfEmptyBackup() {
+        log.info("Starting test: migrate_shouldCreateSchemaOfEmptyBackup");
+        BackupSchemaMigrator migrator = new BackupSchemaMigrator(backupDataSource, schemaProperties);
+
+        migrator.migrate();
+
+        assertTrue(migrator.isMigrated());
+        assertEquals(List.of("1", "2"), appliedVersions());
+        assertTrue(indexes().contains("idx_task_completed_due_date_id"));
+        assertEquals(0, backup.queryForObject("SELECT COUNT(*) FROM task_outbox", Integer.class));
+    }
+
+    @Test
+    void migrate_shouldBaselineBackupThatAlreadyHoldsTheTables() {
+        log.info("Starting test: migrate_shouldBaselineBackupThatAlreadyHoldsTheTables");
+        backup.execute("""
+                CREATE TABLE task
+                (
+                    id           BIGINT PRIMARY KEY,
+                    title        VARCHAR(255) NOT NULL,
+                    description  TEXT,
+                    created_date TIMESTAMP    NOT NULL,
+                    due_date     TIMESTAMP,
+                    completed    BOOLEAN      NOT NULL DEFAULT FALSE,
+                    priority     VARCHAR(50)  NOT NULL,
+                    owner        VARCHAR(64)  NOT NULL DEFAULT 'default',
+                    CONSTRAINT uk_task_owner_title UNIQUE (owner, title)
+                )""");
+        backup.update("INSERT INTO task (id, title, created_date, priority) VALUES (1, 'Task 1', NOW(), 'LOW')");
+        BackupSchemaMigrator migrator = new BackupSchemaMigrator(backupDataSource, schemaProperties);
+
+        migrator.migrate();
+
+        assertTrue(migrator.isMigrated());
+        assertEquals(List.of("0", "1", "2"), appliedVersions());
+        assertTrue(indexes().containsAll(List.of("idx_task_due_date_id", "idx_task_completed_due_date_id")));
+        assertEquals("Task 1", backup.queryForObject("SELECT title FROM task WHERE id = 1", String.class));
+        assertEquals(0L, backup.queryForObject("SELECT version FROM task WHERE id = 1", Long.class));
+    }
+
+    @Test
+    void migrate_shouldRetryWhileBackupIsDown() {
+        log.info("Starting test: migrate_shouldRetryWhileBackupIsDown");
+        DriverManagerDataSource downDataSource = new DriverManagerDataSource("jdbc:h2:tcp://localhost:1/backup", "sa", "");
+        BackupSchemaMigrator migrator = new BackupSchemaMigrator(downDataSource, schemaProperties);
+
+        assertDoesNotThrow(migrator::migrate);
+
+        assertFalse(migrator.isMigrated());
+    }
+
+    private List<String> appliedVersions() {
+        return backup.queryForList(
+                "SELECT \"version\" FROM \"flyway_schema_history\" WHERE \"version\" IS NOT NULL ORDER BY \"installed_rank\"",
+                String.class);
+    }
+
+    private List<String> indexes() {
+        return backup.queryForList(
+                "SELECT LOWER(index_name) FROM information_schema.indexes WHERE LOWER(table_name) = 'task'",
+                String.class);
+    }
+}
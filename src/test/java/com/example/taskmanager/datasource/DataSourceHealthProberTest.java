@@ -0,0 +1,119 @@
+package com.example.taskmanager.datasource;
+
+import com.example.taskmanager.configs.DataSourceConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@Slf4j
+@ExtendWith(MockitoExtension.class)
+class DataSourceHealthProberTest {
+
+    @Mock
+    private DataSource mainDataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private Statement statement;
+
+    private SimpleMeterRegistry meterRegistry;
+    private DataSourceHealthProber prober;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        lenient().when(connection.createStatement()).thenReturn(statement);
+        meterRegistry = new SimpleMeterRegistry();
+        prober = new DataSourceHealthProber(mainDataSource, new DataSourceHealthProperties(), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        DatabaseOperationHandler.setFailbackGuard(null);
+        DatabaseOperationHandler.closeMainCircuit();
+    }
+
+    @Test
+    void probe_shouldSwitchAllThreadsToBackupWhenMainFails() throws Exception {
+        log.info("Starting test: probe_shouldSwitchAllThreadsToBackupWhenMainFails");
+
+        when(mainDataSource.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        prober.probe();
+
+        assertEquals(DataSourceContextHolder.BACKUP, CompletableFuture.supplyAsync(DataSourceContextHolder::getDataSourceKey).get());
+        assertEquals(1, meterRegistry.get("taskmanager.datasource.route").tag("route", "backup").gauge().value());
+    }
+
+    @Test
+    void probe_shouldFailBackAfterConsecutiveHealthyProbes() throws Exception {
+        log.info("Starting test: probe_shouldFailBackAfterConsecutiveHealthyProbes");
+
+        DataSourceConfig.switchToBackup();
+        long switchesToMain = DataSourceContextHolder.getSwitchCount(DataSourceContextHolder.MAIN);
+        when(mainDataSource.getConnection()).thenReturn(connection);
+
+        prober.probe();
+        prober.probe();
+        assertEquals(DataSourceContextHolder.BACKUP, DataSourceContextHolder.getDataSourceKey());
+
+        prober.probe();
+        assertEquals(DataSourceContextHolder.MAIN, DataSourceContextHolder.getDataSourceKey());
+        assertEquals(switchesToMain + 1,
+                meterRegistry.get("taskmanager.datasource.switches").tag("to", "main").functionCounter().count());
+    }
+
+    @Test
+    void probe_shouldNotFailBackWhileFailbackGuardHoldsMainOpen() throws Exception {
+        log.info("Starting test: probe_shouldNotFailBackWhileFailbackGuardHoldsMainOpen");
+
+        DatabaseOperationHandler.openMainCircuit();
+        AtomicBoolean mainCaughtUp = new AtomicBoolean();
+        DatabaseOperationHandler.setFailbackGuard(mainCaughtUp::get);
+        when(mainDataSource.getConnection()).thenReturn(connection);
+
+        for (int i = 0; i < 5; i++) {
+            prober.probe();
+        }
+        assertEquals(DataSourceContextHolder.BACKUP, DataSourceContextHolder.getDataSourceKey());
+
+        mainCaughtUp.set(true);
+        prober.probe();
+        assertEquals(DataSourceContextHolder.MAIN, DataSourceContextHolder.getDataSourceKey());
+    }
+
+    @Test
+    void probe_shouldStayOnBackupWhileMainFlaps() throws Exception {
+        log.info("Starting test: probe_shouldStayOnBackupWhileMainFlaps");
+
+        DataSourceConfig.switchToBackup();
+        when(mainDataSource.getConnection())
+                .thenReturn(connection)
+                .thenReturn(connection)
+                .thenThrow(new SQLException("Connection refused"))
+                .thenReturn(connection);
+
+        for (int i = 0; i < 5; i++) {
+            prober.probe();
+        }
+
+        assertEquals(DataSourceContextHolder.BACKUP, DataSourceContextHolder.getDataSourceKey());
+    }
+}
@@ -0,0 +1,254 @@
+package com.example.taskmanager.datasource;
+
+import com.example.taskmanager.enums.CircuitBreakerState;
+import com.example.taskmanager.enums.FailoverReason;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DeadlockLoserDataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+class DatabaseOperationHandlerTest {
+
+    private static final String QUERY = "SELECT 1";
+
+    private SwitchableDataSource main;
+    private SwitchableDataSource backup;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        main = new SwitchableDataSource("handler-main");
+        backup = new SwitchableDataSource("handler-backup");
+        RoutingDataSource routingDataSource = new RoutingDataSource();
+        routingDataSource.setTargetDataSources(Map.of(
+                DataSourceContextHolder.MAIN, main,
+                DataSourceContextHolder.BACKUP, backup));
+        routingDataSource.afterPropertiesSet();
+        jdbcTemplate = new JdbcTemplate(routingDataSource);
+
+        DataSourceResilienceProperties properties = new DataSourceResilienceProperties();
+        properties.getCircuitBreaker().setSlidingWindowSize(4);
+        properties.getCircuitBreaker().setMinimumCalls(4);
+        properties.getCircuitBreaker().setFailureRateThreshold(50);
+        properties.getCircuitBreaker().setSlowCallDurationMs(100);
+        properties.getCircuitBreaker().setSlowCallRateThreshold(75);
+        properties.getCircuitBreaker().setOpenWaitMs(200);
+        properties.getCircuitBreaker().setPermittedHalfOpenCalls(2);
+        properties.getRetry().setInitialBackoffMs(1);
+        properties.getRetry().setMaxBackoffMs(1);
+        DatabaseOperationHandler.configure(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        DatabaseOperationHandler.setFailoverGuard(null);
+        DatabaseOperationHandler.setFailbackGuard(null);
+        DatabaseOperationHandler.configure(new DataSourceResilienceProperties());
+    }
+
+    @Test
+    void execute_shouldRetryOnBackupWhenMainFails() {
+        log.info("Starting test: execute_shouldRetryOnBackupWhenMainFails");
+
+        main.setFailing(true);
+        long failovers = DatabaseOperationHandler.getFailoverCount(FailoverReason.ERROR);
+
+        assertEquals(1, query());
+        assertEquals(1, main.getConnectionAttempts());
+        assertEquals(1, backup.getConnectionAttempts());
+        assertEquals(failovers + 1, DatabaseOperationHandler.getFailoverCount(FailoverReason.ERROR));
+        assertEquals(CircuitBreakerState.CLOSED, DatabaseOperationHandler.getCircuitState(DataSourceContextHolder.MAIN));
+    }
+
+    @Test
+    void execute_shouldSendCallsStraightToBackupWhileMainCircuitIsOpen() {
+        log.info("Starting test: execute_shouldSendCallsStraightToBackupWhileMainCircuitIsOpen");
+
+        tripMainCircuit();
+        int mainAttempts = main.getConnectionAttempts();
+        long failovers = DatabaseOperationHandler.getFailoverCount(FailoverReason.CIRCUIT_OPEN);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(1, query());
+        }
+
+        assertEquals(mainAttempts, main.getConnectionAttempts());
+        assertEquals(failovers + 10, DatabaseOperationHandler.getFailoverCount(FailoverReason.CIRCUIT_OPEN));
+        assertEquals(DataSourceContextHolder.BACKUP, DataSourceContextHolder.getDataSourceKey());
+    }
+
+    @Test
+    void execute_shouldCloseMainCircuitAfterSuccessfulHalfOpenProbes() throws InterruptedException {
+        log.info("Starting test: execute_shouldCloseMainCircuitAfterSuccessfulHalfOpenProbes");
+
+        tripMainCircuit();
+        main.setFailing(false);
+        TimeUnit.MILLISECONDS.sleep(250);
+        int mainAttempts = main.getConnectionAttempts();
+
+        assertEquals(1, query());
+        assertEquals(CircuitBreakerState.HALF_OPEN, DatabaseOperationHandler.getCircuitState(DataSourceContextHolder.MAIN));
+        assertEquals(1, query());
+
+        assertEquals(mainAttempts + 2, main.getConnectionAttempts());
+        assertEquals(CircuitBreakerState.CLOSED, DatabaseOperationHandler.getCircuitState(DataSourceContextHolder.MAIN));
+        assertEquals(DataSourceContextHolder.MAIN, DataSourceContextHolder.getDataSourceKey());
+    }
+
+    @Test
+    void execute_shouldKeepMainCircuitOpenWhileFailbackGuardHoldsIt() throws InterruptedException {
+        log.info("Starting test: execute_shouldKeepMainCircuitOpenWhileFailbackGuardHoldsIt");
+
+        tripMainCircuit();
+        main.setFailing(false);
+        DatabaseOperationHandler.setFailbackGuard(() -> false);
+        TimeUnit.MILLISECONDS.sleep(250);
+        int mainAttempts = main.getConnectionAttempts();
+
+        assertEquals(1, query());
+        assertFalse(DatabaseOperationHandler.closeMainCircuit());
+
+        assertEquals(mainAttempts, main.getConnectionAttempts());
+        assertEquals(CircuitBreakerState.OPEN, DatabaseOperationHandler.getCircuitState(DataSourceContextHolder.MAIN));
+        assertEquals(DataSourceContextHolder.BACKUP, DataSourceContextHolder.getDataSourceKey());
+
+        DatabaseOperationHandler.setFailbackGuard(() -> true);
+
+        assertEquals(1, query());
+        assertEquals(mainAttempts + 1, main.getConnectionAttempts());
+        assertEquals(CircuitBreakerState.HALF_OPEN, DatabaseOperationHandler.getCircuitState(DataSourceContextHolder.MAIN));
+    }
+
+    @Test
+    void execute_shouldReopenMainCircuitWhenHalfOpenProbeFails() throws InterruptedException {
+        log.info("Starting test: execute_shouldReopenMainCircuitWhenHalfOpenProbeFails");
+
+        tripMainCircuit();
+        TimeUnit.MILLISECONDS.sleep(250);
+        int mainAttempts = main.getConnectionAttempts();
+
+        assertEquals(1, query());
+        assertEquals(1, query());
+
+        assertEquals(mainAttempts + 1, main.getConnectionAttempts());
+        assertEquals(CircuitBreakerState.OPEN, DatabaseOperationHandler.getCircuitState(DataSourceContextHolder.MAIN));
+        assertEquals(DataSourceContextHolder.BACKUP, DataSourceContextHolder.getDataSourceKey());
+    }
+
+    @Test
+    void execute_shouldOpenMainCircuitOnSlowCalls() {
+        log.info("Starting test: execute_shouldOpenMainCircuitOnSlowCalls");
+
+        main.setDelayMs(120);
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(1, query());
+        }
+
+        assertEquals(0, backup.getConnectionAttempts());
+        assertEquals(CircuitBreakerState.OPEN, DatabaseOperationHandler.getCircuitState(DataSourceContextHolder.MAIN));
+        assertEquals(1, query());
+        assertEquals(1, backup.getConnectionAttempts());
+    }
+
+    @Test
+    void execute_shouldNotRetryFailureThatIsNotRetryable() {
+        log.info("Starting test: execute_shouldNotRetryFailureThatIsNotRetryable");
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(BadSqlGrammarException.class, () -> DatabaseOperationHandler.execute(
+                    () -> jdbcTemplate.queryForObject("SELECT * FROM missing_table", Integer.class)));
+        }
+
+        assertEquals(4, main.getConnectionAttempts());
+        assertEquals(0, backup.getConnectionAttempts());
+        assertEquals(CircuitBreakerState.CLOSED, DatabaseOperationHandler.getCircuitState(DataSourceContextHolder.MAIN));
+    }
+
+    @Test
+    void execute_shouldRethrowConcurrencyFailuresWithoutCountingThem() {
+        log.info("Starting test: execute_shouldRethrowConcurrencyFailuresWithoutCountingThem");
+
+        List<ConcurrencyFailureException> failures = List.of(
+                new CannotAcquireLockException("lock wait timeout"),
+                new DeadlockLoserDataAccessException("deadlock", null),
+                new PessimisticLockingFailureException("row locked"),
+                new OptimisticLockingFailureException("version changed"));
+        for (ConcurrencyFailureException failure : failures) {
+            ConcurrencyFailureException thrown = assertThrows(ConcurrencyFailureException.class,
+                    () -> DatabaseOperationHandler.execute(() -> {
+                        jdbcTemplate.queryForObject(QUERY, Integer.class);
+                        throw failure;
+                    }));
+            assertSame(failure, thrown);
+        }
+
+        assertEquals(4, main.getConnectionAttempts());
+        assertEquals(0, backup.getConnectionAttempts());
+        assertEquals(CircuitBreakerState.CLOSED, DatabaseOperationHandler.getCircuitState(DataSourceContextHolder.MAIN));
+    }
+
+    @Test
+    void execute_shouldNotFailOverWhileGuardHoldsBackupBack() {
+        log.info("Starting test: execute_shouldNotFailOverWhileGuardHoldsBackupBack");
+
+        main.setFailing(true);
+        DatabaseOperationHandler.setFailoverGuard(() -> false);
+
+        assertThrows(DataAccessResourceFailureException.class, this::query);
+        assertEquals(3, main.getConnectionAttempts());
+        assertEquals(0, backup.getConnectionAttempts());
+
+        DatabaseOperationHandler.setFailoverGuard(() -> true);
+
+        assertEquals(1, query());
+        assertEquals(1, backup.getConnectionAttempts());
+    }
+
+    @Test
+    void execute_shouldFailFastWhenAllCircuitsAreOpen() {
+        log.info("Starting test: execute_shouldFailFastWhenAllCircuitsAreOpen");
+
+        main.setFailing(true);
+        backup.setFailing(true);
+        for (int i = 0; i < 4; i++) {
+            assertThrows(DataAccessResourceFailureException.class, this::query);
+        }
+        int mainAttempts = main.getConnectionAttempts();
+        int backupAttempts = backup.getConnectionAttempts();
+
+        assertThrows(DataAccessResourceFailureException.class, this::query);
+
+        assertEquals(mainAttempts, main.getConnectionAttempts());
+        assertEquals(backupAttempts, backup.getConnectionAttempts());
+        assertEquals(CircuitBreakerState.OPEN, DatabaseOperationHandler.getCircuitState(DataSourceContextHolder.BACKUP));
+    }
+
+    private Integer query() {
+        return DatabaseOperationHandler.execute(() -> jdbcTemplate.queryForObject(QUERY, Integer.class));
+    }
+
+    private void tripMainCircuit() {
+        main.setFailing(true);
+        for (int i = 0; i < 4; i++) {
+            query();
+        }
+        assertEquals(CircuitBreakerState.OPEN, DatabaseOperationHandler.getCircuitState(DataSourceContextHolder.MAIN));
+    }
+}
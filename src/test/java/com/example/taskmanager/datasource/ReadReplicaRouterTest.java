@@ -0,0 +1,170 @@
+package com.example.taskmanager.datasource;
+
+import com.example.taskmanager.enums.ReplicaBalancing;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+class ReadReplicaRouterTest {
+
+    private static final String WHOAMI = "SELECT name FROM whoami";
+
+    private ReadReplicaRouter router;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnlyTransaction;
+    private TransactionTemplate readWriteTransaction;
+
+    @AfterEach
+    void tearDown() {
+        router.close();
+    }
+
+    @Test
+    void readOnlyTransactions_shouldBeBalancedRoundRobinAcrossReplicas() {
+        log.info("Starting test: readOnlyTransactions_shouldBeBalancedRoundRobinAcrossReplicas");
+
+        setUp(ReplicaBalancing.ROUND_ROBIN, null);
+        router.probe();
+
+        List<String> reads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            reads.add(readOnlyTransaction.execute(status -> jdbcTemplate.queryForObject(WHOAMI, String.class)));
+        }
+
+        assertEquals(List.of("replica-a", "replica-b", "replica-a", "replica-b"), reads);
+        assertEquals("main", readWriteTransaction.execute(status -> jdbcTemplate.queryForObject(WHOAMI, String.class)));
+    }
+
+    @Test
+    void readOnlyTransactions_shouldGoToReplicaWithLeastOutstandingConnections() {
+        log.info("Starting test: readOnlyTransactions_shouldGoToReplicaWithLeastOutstandingConnections");
+
+        setUp(ReplicaBalancing.LEAST_OUTSTANDING, null);
+        router.probe();
+
+        DataSource busy = router.select();
+        List<String> reads = new ArrayList<>();
+        assertDoesNotThrow(() -> {
+            try (Connection held = busy.getConnection()) {
+                String busyName = new JdbcTemplate(busy).queryForObject(WHOAMI, String.class);
+                for (int i = 0; i < 3; i++) {
+                    String read = readOnlyTransaction.execute(status -> jdbcTemplate.queryForObject(WHOAMI, String.class));
+                    assertNotEquals(busyName, read);
+                    reads.add(read);
+                }
+            }
+        });
+
+        assertEquals(3, reads.size());
+    }
+
+    @Test
+    void readOnlyTransactions_shouldSkipLaggingReplicasAndFallBackToMain() {
+        log.info("Starting test: readOnlyTransactions_shouldSkipLaggingReplicasAndFallBackToMain");
+
+        setUp(ReplicaBalancing.ROUND_ROBIN, "SELECT lag_ms FROM replica_lag");
+        router.probe();
+        assertEquals("replica-a", readOnlyTransaction.execute(status -> jdbcTemplate.queryForObject(WHOAMI, String.class)));
+        assertEquals("replica-b", readOnlyTransaction.execute(status -> jdbcTemplate.queryForObject(WHOAMI, String.class)));
+
+        new JdbcTemplate(database("replica-b")).update("UPDATE replica_lag SET lag_ms = 60000");
+        router.probe();
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("replica-a", readOnlyTransaction.execute(status -> jdbcTemplate.queryForObject(WHOAMI, String.class)));
+        }
+
+        new JdbcTemplate(database("replica-a")).update("UPDATE replica_lag SET lag_ms = 60000");
+        router.probe();
+
+        assertEquals("main", readOnlyTransaction.execute(status -> jdbcTemplate.queryForObject(WHOAMI, String.class)));
+    }
+
+    @Test
+    void readOnlyTransactions_shouldMoveOnToNextReplicaAndThenMainWhenReplicaRefuses() throws Exception {
+        log.info("Starting test: readOnlyTransactions_shouldMoveOnToNextReplicaAndThenMainWhenReplicaRefuses");
+
+        setUp(ReplicaBalancing.ROUND_ROBIN, null);
+        router.probe();
+        HikariDataSource replicaA = router.select().unwrap(HikariDataSource.class);
+        HikariDataSource replicaB = router.select().unwrap(HikariDataSource.class);
+        assertEquals("replica-replica-a", replicaA.getPoolName());
+
+        replicaA.close();
+        for (int i = 0; i < 3; i++) {
+            assertEquals("replica-b", readOnlyTransaction.execute(status -> jdbcTemplate.queryForObject(WHOAMI, String.class)));
+        }
+
+        replicaB.close();
+        assertEquals("main", readOnlyTransaction.execute(status -> jdbcTemplate.queryForObject(WHOAMI, String.class)));
+        assertNull(router.select());
+    }
+
+    private void setUp(ReplicaBalancing balancing, String lagQuery) {
+        DataSource main = database("main");
+        DataSource backup = database("backup");
+        ReadReplicaProperties properties = new ReadReplicaProperties();
+        properties.setBalancing(balancing);
+        properties.setLagQuery(lagQuery);
+        properties.setMaxLag(Duration.ofSeconds(5));
+        for (String name : List.of("replica-a", "replica-b")) {
+            database(name);
+            HikariConfig pool = new HikariConfig();
+            pool.setJdbcUrl(url(name));
+            pool.setUsername("sa");
+            properties.getNodes().put(name, pool);
+        }
+        router = new ReadReplicaRouter(properties, new SimpleMeterRegistry());
+
+        RoutingDataSource routingDataSource = new RoutingDataSource();
+        routingDataSource.setTargetDataSources(Map.of(
+                DataSourceContextHolder.MAIN, main,
+                DataSourceContextHolder.BACKUP, backup));
+        routingDataSource.setReadReplicaRouter(router);
+        routingDataSource.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Creates the database if needed; it knows its name and reports a replication lag of 0.
+     */
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(url(name), "sa", "");
+        JdbcTemplate database = new JdbcTemplate(dataSource);
+        database.execute("CREATE TABLE IF NOT EXISTS whoami (name VARCHAR(32))");
+        database.execute("CREATE TABLE IF NOT EXISTS replica_lag (lag_ms BIGINT)");
+        database.update("DELETE FROM whoami");
+        database.update("DELETE FROM replica_lag");
+        database.update("INSERT INTO whoami VALUES (?)", name);
+        database.update("INSERT INTO replica_lag VALUES (0)");
+        return dataSource;
+    }
+
+    private static String url(String name) {
+        return "jdbc:h2:mem:rw-" + name + ";DB_CLOSE_DELAY=-1";
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.taskmanager.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory H2 database that can be made to refuse or delay connections on demand.
+ */
+class SwitchableDataSource extends DelegatingDataSource {
+
+    private final AtomicInteger connectionAttempts = new AtomicInteger();
+    private volatile boolean failing;
+    private volatile long delayMs;
+
+    SwitchableDataSource(String name) throws SQLException {
+        super(new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", ""));
+        // creates the database up front, so that the first call does not count as slow
+        obtainTargetDataSource().getConnection().close();
+    }
+
+    void setFailing(boolean failing) {
+        this.failing = failing;
+    }
+
+    void setDelayMs(long delayMs) {
+        this.delayMs = delayMs;
+    }
+
+    int getConnectionAttempts() {
+        return connectionAttempts.get();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        connectionAttempts.incrementAndGet();
+        if (delayMs > 0) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (failing) {
+            throw new SQLException("Connection refused");
+        }
+        return super.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection();
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.taskmanager.listeners;
+
+import com.example.taskmanager.configs.kafka.KafkaConsumerConfig;
+import com.example.taskmanager.configs.kafka.KafkaProducerConfig;
+import com.example.taskmanager.configs.kafka.KafkaTopicConfig;
+import com.example.taskmanager.dtos.TaskDTO;
+import com.example.taskmanager.dtos.TaskEvent;
+import com.example.taskmanager.enums.Priority;
+import com.example.taskmanager.enums.TaskEventType;
+import com.example.taskmanager.serialization.TaskEventSerializer;
+import com.example.taskmanager.services.TaskProjectionService;
+import com.example.taskmanager.services.impl.TaskProjectionServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+@EnableKafka
+@SpringJUnitConfig({KafkaConsumerConfig.class, KafkaProducerConfig.class, TaskEventListener.class, TaskProjectionServiceImpl.class,
+        SimpleMeterRegistry.class})
+@EmbeddedKafka(partitions = 1,
+        topics = {KafkaTopicConfig.TASK_TOPIC, KafkaTopicConfig.TASK_DEAD_LETTER_TOPIC},
+        bootstrapServersProperty = "spring.kafka.bootstrap-servers")
+@TestPropertySource(properties = {
+        "taskmanager.projection.group-id=projection-test",
+        "taskmanager.kafka.consumer.retry-backoff-ms=50",
+        "taskmanager.kafka.topic.partitions=1"
+})
+class TaskEventListenerTest {
+
+    @Autowired
+    private EmbeddedKafkaBroker broker;
+
+    @Autowired
+    private TaskProjectionService taskProjectionService;
+
+    @Test
+    void onTaskEvents_shouldMaterializeProjectionAndDeadLetterPoisonRecords() throws Exception {
+        log.info("Starting test: onTaskEvents_shouldMaterializeProjectionAndDeadLetterPoisonRecords");
+
+        TaskEventSerializer serializer = new TaskEventSerializer();
+        byte[] poison = {0x7F, 0x01};
+        try (KafkaProducer<String, byte[]> producer = new KafkaProducer<>(
+                KafkaTestUtils.producerProps(broker), new StringSerializer(), new ByteArraySerializer())) {
+            producer.send(record("1", serializer.serialize(null, taskEvent(TaskEventType.CREATED, 1L, 1L, "First"))));
+            producer.send(record("2", serializer.serialize(null, taskEvent(TaskEventType.CREATED, 2L, 2L, "Second"))));
+            producer.send(record("3", poison));
+            producer.send(record("1", serializer.serialize(null, taskEvent(TaskEventType.UPDATED, 1L, 4L, "First, updated"))));
+            producer.send(record("2", serializer.serialize(null, TaskEvent.builder()
+                    .eventType(TaskEventType.DELETED).taskId(2L).version(5L).build())));
+            producer.send(record("2", null));
+        }
+
+        awaitUntil(() -> taskProjectionService.size() == 1
+                && "First, updated".equals(taskProjectionService.getTask(1L).getTitle()));
+
+        Map<String, Object> consumerProps = KafkaTestUtils.consumerProps("dead-letter-test", "false", broker);
+        try (Consumer<String, byte[]> consumer = new DefaultKafkaConsumerFactory<>(
+                consumerProps, new StringDeserializer(), new ByteArrayDeserializer()).createConsumer()) {
+            broker.consumeFromAnEmbeddedTopic(consumer, KafkaTopicConfig.TASK_DEAD_LETTER_TOPIC);
+            ConsumerRecord<String, byte[]> deadLetter = KafkaTestUtils.getSingleRecord(
+                    consumer, KafkaTopicConfig.TASK_DEAD_LETTER_TOPIC, Duration.ofSeconds(30));
+
+            assertEquals("3", deadLetter.key());
+            assertArrayEquals(poison, deadLetter.value());
+        }
+    }
+
+    private static ProducerRecord<String, byte[]> record(String key, byte[] value) {
+        return new ProducerRecord<>(KafkaTopicConfig.TASK_TOPIC, key, value);
+    }
+
+    private static TaskEvent taskEvent(TaskEventType eventType, Long taskId, Long version, String title) {
+        return TaskEvent.builder()
+                .eventType(eventType)
+                .taskId(taskId)
+                .version(version)
+                .changedFields(TaskEvent.ALL_FIELDS)
+                .task(TaskDTO.builder().id(taskId).title(title).completed(false).priority(Priority.LOW).build())
+                .build();
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Projection did not catch up in time");
+            Thread.sleep(100);
+        }
+    }
+}
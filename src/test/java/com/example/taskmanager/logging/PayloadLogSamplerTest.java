@@ -0,0 +1,57 @@
+package com.example.taskmanager.logging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@Slf4j
+class PayloadLogSamplerTest {
+
+    private final Logger logger = mock(Logger.class);
+
+    @AfterEach
+    void tearDown() {
+        PayloadLogSampler.configure(new TaskLoggingProperties());
+    }
+
+    @Test
+    void sample_shouldNeverSampleWithoutDebug() {
+        log.info("Starting test: sample_shouldNeverSampleWithoutDebug");
+        configure(1);
+        when(logger.isDebugEnabled()).thenReturn(false);
+
+        assertFalse(PayloadLogSampler.sample(logger));
+    }
+
+    @Test
+    void sample_shouldFollowTheConfiguredRate() {
+        log.info("Starting test: sample_shouldFollowTheConfiguredRate");
+        when(logger.isDebugEnabled()).thenReturn(true);
+
+        configure(1);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(PayloadLogSampler.sample(logger));
+        }
+        configure(0);
+        for (int i = 0; i < 100; i++) {
+            assertFalse(PayloadLogSampler.sample(logger));
+        }
+        configure(0.5);
+        int sampled = 0;
+        for (int i = 0; i < 10_000; i++) {
+            sampled += PayloadLogSampler.sample(logger) ? 1 : 0;
+        }
+        assertTrue(sampled > 4_000 && sampled < 6_000, "sampled " + sampled + " of 10000");
+    }
+
+    private static void configure(double rate) {
+        TaskLoggingProperties properties = new TaskLoggingProperties();
+        properties.setPayloadSampleRate(rate);
+        PayloadLogSampler.configure(properties);
+    }
+}
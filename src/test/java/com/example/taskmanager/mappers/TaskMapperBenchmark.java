@@ -0,0 +1,79 @@
+package com.example.taskmanager.mappers;
+
+import com.example.taskmanager.benchmark.JmhBaseline;
+import com.example.taskmanager.dtos.TaskDTO;
+import com.example.taskmanager.enums.Priority;
+import com.example.taskmanager.models.Task;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the generated task mapper in ns per mapping.
+ * Run with {@code mvn test -Pbenchmark}; the JMH annotation processor is only enabled in that profile.
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskMapperBenchmark {
+
+    private TaskMapper taskMapper;
+    private Task task;
+    private TaskDTO taskDTO;
+    private Task target;
+
+    @Setup
+    public void setUp() {
+        taskMapper = Mappers.getMapper(TaskMapper.class);
+        task = Task.builder()
+                .id(1L)
+                .title("Prepare the quarterly report")
+                .description("Collect the figures of every branch and summarize them for the board")
+                .createdDate(LocalDateTime.of(2024, 6, 1, 9, 0))
+                .dueDate(LocalDateTime.of(2024, 6, 30, 18, 0))
+                .completed(false)
+                .priority(Priority.HIGH)
+                .owner("finance")
+                .build();
+        taskDTO = taskMapper.toDto(task);
+        target = taskMapper.toEntity(taskDTO);
+    }
+
+    @Benchmark
+    public TaskDTO toDto() {
+        return taskMapper.toDto(task);
+    }
+
+    @Benchmark
+    public Task toEntity() {
+        return taskMapper.toEntity(taskDTO);
+    }
+
+    @Benchmark
+    public Task updateTaskFromDto() {
+        taskMapper.updateTaskFromDto(taskDTO, target);
+        return target;
+    }
+
+    @Test
+    void runBenchmarks() throws Exception {
+        JmhBaseline.run(TaskMapperBenchmark.class);
+    }
+}
@@ -0,0 +1,434 @@
+package com.example.taskmanager.replication;
+
+import com.example.taskmanager.datasource.DataSourceContextHolder;
+import com.example.taskmanager.datasource.DatabaseOperationHandler;
+import com.example.taskmanager.dtos.TaskDTO;
+import com.example.taskmanager.dtos.TaskEvent;
+import com.example.taskmanager.enums.CircuitBreakerState;
+import com.example.taskmanager.enums.OutboxStatus;
+import com.example.taskmanager.enums.Priority;
+import com.example.taskmanager.enums.TaskEventType;
+import com.example.taskmanager.models.OutboxEvent;
+import com.example.taskmanager.models.Task;
+import com.example.taskmanager.repositories.OutboxEventRepository;
+import com.example.taskmanager.services.impl.KafkaServiceImpl;
+import com.example.taskmanager.services.impl.OutboxServiceImpl;
+import com.example.taskmanager.services.impl.TaskProjectionServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Replicates into H2 in PostgreSQL mode, standing in for the PostgreSQL backup database, with the schema of the
+ * migrations shared with the main database. Changes made on the backup database are replicated back into a second
+ * H2 database standing in for the main one.
+ */
+@Slf4j
+@ExtendWith(MockitoExtension.class)
+class TaskReplicatorTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    private ObjectMapper objectMapper;
+    private DriverManagerDataSource backupDataSource;
+    private JdbcTemplate backup;
+    private JdbcTemplate main;
+    private SimpleMeterRegistry meterRegistry;
+    private TaskReplicator replicator;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        backupDataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:replica;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        backup = new JdbcTemplate(backupDataSource);
+        Flyway.configure()
+                .dataSource(backupDataSource)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+        DriverManagerDataSource mainDataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:replicated-main;DB_CLOSE_DELAY=-1", "sa", "");
+        main = new JdbcTemplate(mainDataSource);
+        Flyway.configure()
+                .dataSource(mainDataSource)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+        meterRegistry = new SimpleMeterRegistry();
+        replicator = new TaskReplicator(outboxEventRepository, objectMapper, new TaskReplicationProperties(),
+                mainDataSource, backupDataSource, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        replicator.stop();
+        DatabaseOperationHandler.closeMainCircuit();
+        backup.execute("DROP ALL OBJECTS");
+        main.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void replicateBatch_shouldApplyLatestStateOfEachTask() throws Exception {
+        log.info("Starting test: replicateBatch_shouldApplyLatestStateOfEachTask");
+
+        List<OutboxEvent> events = List.of(
+                outboxEvent(1L, TaskEventType.CREATED, taskDTO(1L, "Task 1")),
+                outboxEvent(2L, TaskEventType.CREATED, taskDTO(2L, "Task 2")),
+                outboxEvent(3L, TaskEventType.UPDATED, taskDTO(1L, "Task 1 renamed", 1L)),
+                outboxEvent(4L, TaskEventType.DELETED, 2L),
+                outboxEvent(5L, TaskEventType.CREATED, taskDTO(3L, "Task 3")));
+        when(outboxEventRepository.findByReplicatedDateIsNullOrderByIdAsc(any())).thenReturn(events);
+
+        assertEquals(5, replicator.replicateBatch());
+
+        assertEquals(Map.of(1L, "Task 1 renamed", 3L, "Task 3"), backupTitles());
+        verify(outboxEventRepository).markReplicated(eq(List.of(1L, 2L, 3L, 4L, 5L)), any());
+        assertEquals(5, meterRegistry.get("taskmanager.replication.events").functionCounter().count());
+    }
+
+    @Test
+    void replicateBatch_shouldLeaveBackupUnchangedWhenBatchIsAppliedAgain() throws Exception {
+        log.info("Starting test: replicateBatch_shouldLeaveBackupUnchangedWhenBatchIsAppliedAgain");
+
+        List<OutboxEvent> events = List.of(
+                outboxEvent(1L, TaskEventType.CREATED, taskDTO(1L, "Task 1")),
+                outboxEvent(2L, TaskEventType.PATCHED, taskDTO(1L, "Task 1 patched", 1L)),
+                outboxEvent(3L, TaskEventType.CREATED, taskDTO(2L, "Task 2")));
+        when(outboxEventRepository.findByReplicatedDateIsNullOrderByIdAsc(any())).thenReturn(events);
+
+        replicator.replicateBatch();
+        replicator.replicateBatch();
+
+        assertEquals(Map.of(1L, "Task 1 patched", 2L, "Task 2"), backupTitles());
+    }
+
+    @Test
+    void replicateBatch_shouldReplayChangesInOrderWhenLatestStatesCollide() throws Exception {
+        log.info("Starting test: replicateBatch_shouldReplayChangesInOrderWhenLatestStatesCollide");
+
+        when(outboxEventRepository.findByReplicatedDateIsNullOrderByIdAsc(any()))
+                .thenReturn(List.of(
+                        outboxEvent(1L, TaskEventType.CREATED, taskDTO(1L, "x")),
+                        outboxEvent(2L, TaskEventType.CREATED, taskDTO(2L, "y"))))
+                .thenReturn(List.of(
+                        outboxEvent(3L, TaskEventType.UPDATED, taskDTO(1L, "z", 1L)),
+                        outboxEvent(4L, TaskEventType.UPDATED, taskDTO(2L, "x", 1L)),
+                        outboxEvent(5L, TaskEventType.UPDATED, taskDTO(1L, "y", 2L))));
+
+        replicator.replicateBatch();
+        assertEquals(3, replicator.replicateBatch());
+
+        assertEquals(Map.of(1L, "y", 2L, "x"), backupTitles());
+    }
+
+    @Test
+    void replicateBatch_shouldKeepNewerVersionWhenAnOlderOneArrivesLater() throws Exception {
+        log.info("Starting test: replicateBatch_shouldKeepNewerVersionWhenAnOlderOneArrivesLater");
+
+        when(outboxEventRepository.findByReplicatedDateIsNullOrderByIdAsc(any()))
+                .thenReturn(List.of(
+                        outboxEvent(1L, TaskEventType.CREATED, taskDTO(1L, "Task 1")),
+                        outboxEvent(2L, TaskEventType.CREATED, taskDTO(2L, "Task 2")),
+                        outboxEvent(3L, TaskEventType.UPDATED, taskDTO(1L, "Task 1 v2", 2L)),
+                        outboxEvent(4L, TaskEventType.UPDATED, taskDTO(1L, "Task 1 v1", 1L)),
+                        outboxEvent(5L, TaskEventType.UPDATED, taskDTO(2L, "Task 2 v2", 2L))))
+                .thenReturn(List.of(
+                        outboxEvent(6L, TaskEventType.UPDATED, taskDTO(2L, "Task 2 v1", 1L))));
+
+        replicator.replicateBatch();
+        replicator.replicateBatch();
+
+        assertEquals(Map.of(1L, "Task 1 v2", 2L, "Task 2 v2"), backupTitles());
+        assertEquals(2L, backup.queryForObject("SELECT version FROM task WHERE id = 2", Long.class));
+    }
+
+    @Test
+    void replicateBatch_shouldMoveBackupSequencePastReplicatedIds() throws Exception {
+        log.info("Starting test: replicateBatch_shouldMoveBackupSequencePastReplicatedIds");
+
+        when(outboxEventRepository.findByReplicatedDateIsNullOrderByIdAsc(any())).thenReturn(List.of(
+                outboxEvent(1L, TaskEventType.CREATED, taskDTO(1L, "Task 1")),
+                outboxEvent(2L, TaskEventType.CREATED, taskDTO(2L, "Task 2")),
+                outboxEvent(3L, TaskEventType.CREATED, taskDTO(120L, "Task 120"))));
+        replicator.replicateBatch();
+
+        // as after a failover: Hibernate takes the IDs of new tasks from the backup sequence
+        LocalContainerEntityManagerFactoryBean factory = backupEntityManagerFactory();
+        EntityManager entityManager = factory.getObject().createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            for (int i = 0; i < 3; i++) {
+                entityManager.persist(Task.builder()
+                        .title("Created on backup " + i)
+                        .createdDate(LocalDateTime.parse("2024-06-01T10:00:00"))
+                        .completed(false)
+                        .priority(Priority.LOW)
+                        .owner("finance")
+                        .build());
+            }
+            assertDoesNotThrow(() -> entityManager.getTransaction().commit());
+        } finally {
+            entityManager.close();
+            factory.destroy();
+        }
+
+        assertEquals(6, backup.queryForObject("SELECT COUNT(*) FROM task", Integer.class));
+        assertEquals(3, backup.queryForObject("SELECT COUNT(*) FROM task WHERE id > 120", Integer.class));
+    }
+
+    @Test
+    void replicateBatch_shouldMoveBackupOutboxSequenceSoThatFailoverEventsAreNewer() throws Exception {
+        log.info("Starting test: replicateBatch_shouldMoveBackupOutboxSequenceSoThatFailoverEventsAreNewer");
+
+        when(outboxEventRepository.findByReplicatedDateIsNullOrderByIdAsc(any())).thenReturn(List.of(
+                outboxEvent(1L, TaskEventType.CREATED, taskDTO(1L, "Task 1")),
+                outboxEvent(300L, TaskEventType.UPDATED, taskDTO(1L, "Task 1 renamed", 1L))));
+        replicator.replicateBatch();
+        // a consumer has seen the last event the main database relayed
+        TaskProjectionServiceImpl projection = new TaskProjectionServiceImpl();
+        TaskEvent consumed = objectMapper.readValue(outboxEvent(300L, TaskEventType.UPDATED,
+                taskDTO(1L, "Task 1 renamed", 1L)).getPayload(), TaskEvent.class);
+        consumed.setVersion(300L);
+        projection.apply(consumed);
+
+        // failover: the task service writes the task and its event on the backup database
+        TaskEvent failoverEvent = TaskEvent.builder()
+                .eventType(TaskEventType.UPDATED)
+                .taskId(1L)
+                .occurredAt(LocalDateTime.parse("2024-06-01T11:00:00"))
+                .changedFields(List.of("title"))
+                .task(taskDTO(1L, "Renamed during failover", 2L))
+                .build();
+        LocalContainerEntityManagerFactoryBean factory = backupEntityManagerFactory();
+        EntityManager entityManager = factory.getObject().createEntityManager();
+        OutboxEvent recorded = OutboxEvent.builder()
+                .taskId(1L)
+                .eventType(TaskEventType.UPDATED)
+                .payload(objectMapper.writeValueAsString(failoverEvent))
+                .status(OutboxStatus.PENDING)
+                .createdDate(LocalDateTime.now())
+                .build();
+        try {
+            entityManager.getTransaction().begin();
+            entityManager.persist(recorded);
+            entityManager.getTransaction().commit();
+        } finally {
+            entityManager.close();
+            factory.destroy();
+        }
+
+        // and the relay, reading the outbox of the backup database, sends it
+        OutboxEventRepository backupOutbox = mock(OutboxEventRepository.class);
+        KafkaServiceImpl kafkaService = mock(KafkaServiceImpl.class);
+        when(backupOutbox.findByStatusOrderByIdAsc(eq(OutboxStatus.PENDING), any())).thenReturn(List.of(recorded));
+        when(kafkaService.sendTaskEvent(any())).thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+        new OutboxServiceImpl(backupOutbox, kafkaService, objectMapper, true, 100, 5000, 3, Duration.ofHours(1), true)
+                .relayBatch();
+
+        ArgumentCaptor<TaskEvent> relayed = ArgumentCaptor.forClass(TaskEvent.class);
+        verify(kafkaService).sendTaskEvent(relayed.capture());
+        assertTrue(relayed.getValue().getVersion() > 300L);
+        assertTrue(projection.apply(relayed.getValue()));
+        assertEquals("Renamed during failover", projection.getTask(1L).getTitle());
+    }
+
+    @Test
+    void replicatePendingEvents_shouldMoveChangesMadeOnBackupBackToMain() throws Exception {
+        log.info("Starting test: replicatePendingEvents_shouldMoveChangesMadeOnBackupBackToMain");
+
+        insertTask(main, taskDTO(1L, "Task 1"));
+        insertTask(backup, taskDTO(1L, "Task 1"));
+        // made on the backup database during a failover: a rename, sent already, and a new task, not sent yet
+        insertOutboxEvent(backup, outboxEvent(400L, TaskEventType.UPDATED, taskDTO(1L, "Renamed on backup", 1L)),
+                OutboxStatus.SENT);
+        insertOutboxEvent(backup, outboxEvent(401L, TaskEventType.CREATED, taskDTO(250L, "Created on backup")),
+                OutboxStatus.PENDING);
+
+        replicator.replicatePendingEvents();
+
+        assertEquals(Map.of(1L, "Renamed on backup", 250L, "Created on backup"), titles(main));
+        assertEquals(List.of("SENT", "PENDING"),
+                main.queryForList("SELECT status FROM task_outbox ORDER BY id", String.class));
+        assertEquals(0, main.queryForObject("SELECT COUNT(*) FROM task_outbox WHERE replicated_date IS NULL", Integer.class));
+        assertEquals(0, backup.queryForObject("SELECT COUNT(*) FROM task_outbox", Integer.class));
+        assertTrue(main.queryForObject("SELECT NEXT VALUE FOR task_outbox_seq", Long.class) > 401L);
+        assertTrue(main.queryForObject("SELECT NEXT VALUE FOR task_seq", Long.class) > 250L);
+        assertTrue(replicator.isMainCaughtUp());
+        verify(outboxEventRepository, never()).markReplicated(anyCollection(), any());
+    }
+
+    @Test
+    void replicatePendingEvents_shouldHoldBackFailbackWhileChangesWaitOnBackup() throws Exception {
+        log.info("Starting test: replicatePendingEvents_shouldHoldBackFailbackWhileChangesWaitOnBackup");
+
+        insertOutboxEvent(backup, outboxEvent(400L, TaskEventType.CREATED, taskDTO(250L, "Created on backup")),
+                OutboxStatus.PENDING);
+        main.execute("ALTER TABLE task RENAME TO task_unavailable");
+        replicator.catchUp();
+        DatabaseOperationHandler.openMainCircuit();
+
+        assertFalse(replicator.isMainCaughtUp());
+        assertEquals(1, meterRegistry.get("taskmanager.replication.failback.pending").gauge().value());
+        assertFalse(DatabaseOperationHandler.closeMainCircuit());
+        assertEquals(CircuitBreakerState.OPEN, DatabaseOperationHandler.getCircuitState(DataSourceContextHolder.MAIN));
+
+        main.execute("ALTER TABLE task_unavailable RENAME TO task");
+        replicator.replicatePendingEvents();
+
+        assertTrue(replicator.isMainCaughtUp());
+        assertTrue(DatabaseOperationHandler.closeMainCircuit());
+    }
+
+    @Test
+    void replicatePendingEvents_shouldKeepEventsPendingWhenBackupFails() throws Exception {
+        log.info("Starting test: replicatePendingEvents_shouldKeepEventsPendingWhenBackupFails");
+
+        backup.execute("DROP TABLE task");
+        when(outboxEventRepository.findByReplicatedDateIsNullOrderByIdAsc(any()))
+                .thenReturn(List.of(outboxEvent(1L, TaskEventType.CREATED, taskDTO(1L, "Task 1"))));
+
+        assertDoesNotThrow(() -> replicator.replicatePendingEvents());
+
+        verify(outboxEventRepository, never()).markReplicated(anyCollection(), any());
+    }
+
+    @Test
+    void replicatePendingEvents_shouldReportLagAndHoldBackFailoverWhileBehind() throws Exception {
+        log.info("Starting test: replicatePendingEvents_shouldReportLagAndHoldBackFailoverWhileBehind");
+
+        OutboxEvent oldest = outboxEvent(1L, TaskEventType.CREATED, taskDTO(1L, "Task 1"));
+        oldest.setCreatedDate(LocalDateTime.now().minusSeconds(10));
+        when(outboxEventRepository.findFirstByReplicatedDateIsNullOrderByIdAsc())
+                .thenReturn(Optional.of(oldest))
+                .thenReturn(Optional.empty());
+        when(outboxEventRepository.countByReplicatedDateIsNull()).thenReturn(3L);
+
+        replicator.replicatePendingEvents();
+
+        assertTrue(meterRegistry.get("taskmanager.replication.lag").timeGauge().value(TimeUnit.SECONDS) >= 10);
+        assertEquals(3, meterRegistry.get("taskmanager.replication.pending").gauge().value());
+        assertFalse(replicator.isBackupCaughtUp());
+
+        replicator.replicatePendingEvents();
+
+        assertEquals(0, meterRegistry.get("taskmanager.replication.lag").timeGauge().value());
+        assertTrue(replicator.isBackupCaughtUp());
+    }
+
+    private LocalContainerEntityManagerFactoryBean backupEntityManagerFactory() {
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(backupDataSource);
+        factory.setPackagesToScan(Task.class.getPackageName());
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(Map.of(AvailableSettings.PHYSICAL_NAMING_STRATEGY,
+                CamelCaseToUnderscoresNamingStrategy.class.getName()));
+        factory.afterPropertiesSet();
+        return factory;
+    }
+
+    private Map<Long, String> backupTitles() {
+        return titles(backup);
+    }
+
+    private static Map<Long, String> titles(JdbcTemplate database) {
+        return database.query("SELECT id, title FROM task", rs -> {
+            Map<Long, String> titles = new HashMap<>();
+            while (rs.next()) {
+                titles.put(rs.getLong("id"), rs.getString("title"));
+            }
+            return titles;
+        });
+    }
+
+    private static void insertTask(JdbcTemplate database, TaskDTO task) {
+        database.update("INSERT INTO task (id, title, created_date, completed, priority, owner, version) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?)",
+                task.getId(), task.getTitle(), task.getCreatedDate(), false, task.getPriority().name(),
+                task.getOwner(), task.getVersion());
+    }
+
+    private static void insertOutboxEvent(JdbcTemplate database, OutboxEvent event, OutboxStatus status) {
+        database.update("INSERT INTO task_outbox (id, task_id, event_type, payload, status, attempts, created_date) "
+                        + "VALUES (?, ?, ?, ?, ?, 0, ?)",
+                event.getId(), event.getTaskId(), event.getEventType().name(), event.getPayload(), status.name(),
+                event.getCreatedDate());
+    }
+
+    private TaskDTO taskDTO(Long id, String title) {
+        return taskDTO(id, title, 0L);
+    }
+
+    private TaskDTO taskDTO(Long id, String title, Long version) {
+        return TaskDTO.builder()
+                .id(id)
+                .title(title)
+                .createdDate(LocalDateTime.parse("2024-06-01T10:00:00"))
+                .completed(false)
+                .priority(Priority.MEDIUM)
+                .owner("finance")
+                .version(version)
+                .build();
+    }
+
+    private OutboxEvent outboxEvent(Long id, TaskEventType eventType, Long taskId) throws Exception {
+        return outboxEvent(id, TaskEvent.builder().eventType(eventType).taskId(taskId).build());
+    }
+
+    private OutboxEvent outboxEvent(Long id, TaskEventType eventType, TaskDTO taskDTO) throws Exception {
+        return outboxEvent(id, TaskEvent.builder()
+                .eventType(eventType)
+                .taskId(taskDTO.getId())
+                .occurredAt(LocalDateTime.parse("2024-06-01T10:00:00"))
+                .changedFields(TaskEvent.ALL_FIELDS)
+                .task(taskDTO)
+                .build());
+    }
+
+    private OutboxEvent outboxEvent(Long id, TaskEvent taskEvent) throws Exception {
+        return OutboxEvent.builder()
+                .id(id)
+                .taskId(taskEvent.getTaskId())
+                .eventType(taskEvent.getEventType())
+                .payload(objectMapper.writeValueAsString(taskEvent))
+                .status(OutboxStatus.PENDING)
+                .createdDate(LocalDateTime.now())
+                .build();
+    }
+}
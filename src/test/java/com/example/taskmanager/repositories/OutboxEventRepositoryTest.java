@@ -0,0 +1,87 @@
+package com.example.taskmanager.repositories;
+
+import com.example.taskmanager.enums.OutboxStatus;
+import com.example.taskmanager.enums.TaskEventType;
+import com.example.taskmanager.models.OutboxEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+@DataJpaTest
+class OutboxEventRepositoryTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 3, 9, 0);
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void purge_shouldDeleteOnlyOldEventsThatWereSentAndReplicated() {
+        log.info("Starting test: purge_shouldDeleteOnlyOldEventsThatWereSentAndReplicated");
+        OutboxEvent purged = saved(OutboxStatus.SENT, NOW.minusHours(2), NOW.minusHours(2));
+        OutboxEvent recent = saved(OutboxStatus.SENT, NOW.minusMinutes(10), NOW.minusMinutes(10));
+        OutboxEvent notReplicated = saved(OutboxStatus.SENT, NOW.minusHours(2), null);
+        OutboxEvent pending = saved(OutboxStatus.PENDING, null, NOW.minusHours(2));
+        OutboxEvent failed = saved(OutboxStatus.FAILED, null, NOW.minusHours(2));
+
+        assertEquals(1, outboxEventRepository.purge(OutboxStatus.SENT, NOW.minusHours(1), false));
+
+        assertEquals(List.of(recent.getId(), notReplicated.getId(), pending.getId(), failed.getId()),
+                remainingIds());
+        assertFalse(outboxEventRepository.existsById(purged.getId()));
+    }
+
+    @Test
+    void purge_shouldIgnoreReplicationWhileItIsDisabled() {
+        log.info("Starting test: purge_shouldIgnoreReplicationWhileItIsDisabled");
+        saved(OutboxStatus.SENT, NOW.minusHours(2), null);
+        OutboxEvent recent = saved(OutboxStatus.SENT, NOW.minusMinutes(10), null);
+
+        assertEquals(1, outboxEventRepository.purge(OutboxStatus.SENT, NOW.minusHours(1), true));
+
+        assertEquals(List.of(recent.getId()), remainingIds());
+    }
+
+    @Test
+    void save_shouldKeepPayloadsLongerThanAVarchar() {
+        log.info("Starting test: save_shouldKeepPayloadsLongerThanAVarchar");
+        String payload = "{\"description\":\"" + "x".repeat(20_000) + "\"}";
+        OutboxEvent event = outboxEventRepository.saveAndFlush(OutboxEvent.builder()
+                .taskId(1L)
+                .eventType(TaskEventType.UPDATED)
+                .payload(payload)
+                .status(OutboxStatus.PENDING)
+                .createdDate(NOW)
+                .build());
+        entityManager.clear();
+
+        assertEquals(payload, outboxEventRepository.findById(event.getId()).orElseThrow().getPayload());
+    }
+
+    private List<Long> remainingIds() {
+        return outboxEventRepository.findAll().stream().map(OutboxEvent::getId).sorted().toList();
+    }
+
+    private OutboxEvent saved(OutboxStatus status, LocalDateTime sentDate, LocalDateTime replicatedDate) {
+        return outboxEventRepository.save(OutboxEvent.builder()
+                .taskId(1L)
+                .eventType(TaskEventType.UPDATED)
+                .payload("{}")
+                .status(status)
+                .createdDate(NOW.minusHours(3))
+                .sentDate(sentDate)
+                .replicatedDate(replicatedDate)
+                .build());
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.taskmanager.repositories;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks with {@code EXPLAIN} that the hot queries on the migrated H2 schema read an index instead of scanning the
+ * table. The statements are those the repositories issue, with literals in place of the parameters and the sort
+ * order of {@link TaskSpecifications#sortedBy}.
+ */
+@Slf4j
+@DataJpaTest
+class TaskQueryPlanTest {
+
+    private static final int TASKS = 2000;
+    private static final LocalDateTime CREATED = LocalDateTime.parse("2024-06-01T09:00:00");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        List<Object[]> tasks = new ArrayList<>();
+        List<Object[]> events = new ArrayList<>();
+        for (int i = 1; i <= TASKS; i++) {
+            tasks.add(new Object[]{i, "Task " + i, CREATED.plusMinutes(i), i % 5 == 0, i % 3 == 0 ? "HIGH" : "LOW",
+                    "owner-" + i % 10});
+            events.add(new Object[]{i, i, i % 100 == 0 ? "PENDING" : "SENT", i % 100 == 0 ? null : CREATED});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO task (id, title, created_date, due_date, completed, priority, owner, version) "
+                + "VALUES (?, ?, TIMESTAMP '2024-06-01 09:00:00', ?, ?, ?, ?, 0)", tasks);
+        jdbcTemplate.batchUpdate("INSERT INTO task_outbox (id, task_id, event_type, status, attempts, created_date, "
+                + "replicated_date) VALUES (?, ?, 'CREATED', ?, 0, TIMESTAMP '2024-06-01 09:00:00', ?)", events);
+    }
+
+    @Test
+    void findById_shouldUsePrimaryKey() {
+        log.info("Starting test: findById_shouldUsePrimaryKey");
+
+        assertUsesIndex("primary_key", "SELECT * FROM task t WHERE t.id = 42");
+    }
+
+    @Test
+    void keysetPageByDueDate_shouldUseDueDateIndex() {
+        log.info("Starting test: keysetPageByDueDate_shouldUseDueDateIndex");
+
+        assertUsesIndex("idx_task_due_date_id", "SELECT * FROM task t WHERE t.due_date IS NOT NULL "
+                + "AND (t.due_date > TIMESTAMP '2024-06-01 09:10:00' "
+                + "OR t.due_date = TIMESTAMP '2024-06-01 09:10:00' AND t.id > 600) "
+                + "ORDER BY t.due_date, t.id FETCH FIRST 50 ROWS ONLY");
+    }
+
+    @Test
+    void keysetPageOfOpenTasksByDueDate_shouldUseCompletedDueDateIndex() {
+        log.info("Starting test: keysetPageOfOpenTasksByDueDate_shouldUseCompletedDueDateIndex");
+
+        assertUsesIndex("idx_task_completed_due_date_id", "SELECT * FROM task t WHERE t.completed = FALSE "
+                + "AND t.due_date IS NOT NULL ORDER BY t.completed, t.due_date, t.id FETCH FIRST 50 ROWS ONLY");
+    }
+
+    @Test
+    void openTasksDueWithinHorizon_shouldUseDueDateIndex() {
+        log.info("Starting test: openTasksDueWithinHorizon_shouldUseDueDateIndex");
+
+        assertUsesIndex("idx_task_due_date_id", "SELECT t.id, t.due_date FROM task t "
+                + "WHERE (t.completed = FALSE OR t.completed IS NULL) AND t.due_date < TIMESTAMP '2024-06-01 10:10:00' "
+                + "AND (t.due_date > TIMESTAMP '2024-06-01 09:10:00' "
+                + "OR t.due_date = TIMESTAMP '2024-06-01 09:10:00' AND t.id > 600) "
+                + "ORDER BY t.due_date, t.id FETCH FIRST 1000 ROWS ONLY");
+    }
+
+    @Test
+    void keysetPageByCompletedAndPriority_shouldUseCompletedPriorityIndex() {
+        log.info("Starting test: keysetPageByCompletedAndPriority_shouldUseCompletedPriorityIndex");
+
+        assertUsesIndex("idx_task_completed_priority", "SELECT * FROM task t WHERE t.completed = TRUE "
+                + "AND t.priority = 'HIGH' AND t.id > 600 ORDER BY t.id FETCH FIRST 50 ROWS ONLY");
+    }
+
+    @Test
+    void pendingOutboxEvents_shouldUseStatusIndex() {
+        log.info("Starting test: pendingOutboxEvents_shouldUseStatusIndex");
+
+        assertUsesIndex("idx_task_outbox_status_id",
+                "SELECT * FROM task_outbox e WHERE e.status = 'PENDING' ORDER BY e.id FETCH FIRST 500 ROWS ONLY");
+    }
+
+    @Test
+    void unreplicatedOutboxEvents_shouldUseReplicatedDateIndex() {
+        log.info("Starting test: unreplicatedOutboxEvents_shouldUseReplicatedDateIndex");
+
+        assertUsesIndex("idx_task_outbox_replicated_date_id",
+                "SELECT * FROM task_outbox e WHERE e.replicated_date IS NULL ORDER BY e.id FETCH FIRST 500 ROWS ONLY");
+    }
+
+    private void assertUsesIndex(String index, String query) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + query, String.class);
+        log.info("Plan: {}", plan);
+        String normalized = plan.toLowerCase(Locale.ROOT);
+        assertFalse(normalized.contains("tablescan"), plan);
+        assertTrue(normalized.contains(index), plan);
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.taskmanager.repositories;
+
+import com.example.taskmanager.enums.Priority;
+import com.example.taskmanager.exceptions.InvalidTaskPatchException;
+import com.example.taskmanager.models.Task;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+@DataJpaTest
+class TaskRepositoryPatchTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Test
+    void patch_shouldWriteOnlyPatchedColumnsAndReturnTheNewRow() {
+        log.info("Starting test: patch_shouldWriteOnlyPatchedColumnsAndReturnTheNewRow");
+        Task task = saved("Draft");
+
+        Optional<Task> patched = taskRepository.patch(task.getId(), null, TaskPatch.of(Map.of(
+                "title", "Quarterly report",
+                "dueDate", "2024-06-30T18:00:00",
+                "priority", "HIGH")));
+
+        assertTrue(patched.isPresent());
+        assertEquals(task.getId(), patched.get().getId());
+        assertEquals("Quarterly report", patched.get().getTitle());
+        assertEquals(LocalDateTime.parse("2024-06-30T18:00:00"), patched.get().getDueDate());
+        assertEquals(Priority.HIGH, patched.get().getPriority());
+        assertEquals("Collect the figures", patched.get().getDescription());
+        assertEquals(false, patched.get().getCompleted());
+        assertEquals("finance", patched.get().getOwner());
+    }
+
+    @Test
+    void patch_shouldClearColumnsPatchedToNull() {
+        log.info("Starting test: patch_shouldClearColumnsPatchedToNull");
+        Task task = saved("Draft");
+        Map<String, Object> updates = new HashMap<>();
+        updates.put("description", null);
+
+        assertNull(taskRepository.patch(task.getId(), null, TaskPatch.of(updates)).orElseThrow().getDescription());
+    }
+
+    @Test
+    void patch_shouldStoreDescriptionOfTheLengthTheApiAccepts() {
+        log.info("Starting test: patch_shouldStoreDescriptionOfTheLengthTheApiAccepts");
+        Task task = saved("Draft");
+        String description = "x".repeat(1000);
+
+        Task patched = taskRepository.patch(task.getId(), null, TaskPatch.of(Map.of("description", description))).orElseThrow();
+
+        assertEquals(description, patched.getDescription());
+    }
+
+    @Test
+    void patch_shouldReturnEmptyWhenTaskDoesNotExist() {
+        log.info("Starting test: patch_shouldReturnEmptyWhenTaskDoesNotExist");
+
+        assertTrue(taskRepository.patch(404L, null, TaskPatch.of(Map.of("completed", true))).isEmpty());
+        assertTrue(taskRepository.patch(404L, null, TaskPatch.of(Map.of())).isEmpty());
+    }
+
+    @Test
+    void patch_shouldTranslateUniqueConstraintViolations() {
+        log.info("Starting test: patch_shouldTranslateUniqueConstraintViolations");
+        saved("Existing");
+        Task task = saved("Draft");
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> taskRepository.patch(task.getId(), null, TaskPatch.of(Map.of("title", "Existing"))));
+    }
+
+    @Test
+    void patch_shouldIncrementVersionAndOnlyWriteExpectedVersion() {
+        log.info("Starting test: patch_shouldIncrementVersionAndOnlyWriteExpectedVersion");
+        Task task = saved("Draft");
+        assertEquals(0L, task.getVersion());
+
+        Task patched = taskRepository.patch(task.getId(), 0L, TaskPatch.of(Map.of("completed", true))).orElseThrow();
+
+        assertEquals(1L, patched.getVersion());
+        assertTrue(taskRepository.patch(task.getId(), 0L, TaskPatch.of(Map.of("completed", false))).isEmpty());
+        assertTrue(taskRepository.patch(task.getId(), 0L, TaskPatch.of(Map.of())).isEmpty());
+        assertEquals(1L, taskRepository.patch(task.getId(), 1L, TaskPatch.of(Map.of())).orElseThrow().getVersion());
+    }
+
+    @Test
+    void deleteByIdAndVersion_shouldOnlyDeleteExpectedVersion() {
+        log.info("Starting test: deleteByIdAndVersion_shouldOnlyDeleteExpectedVersion");
+        Task task = saved("Draft");
+
+        assertEquals(0, taskRepository.deleteByIdAndVersion(task.getId(), 1L));
+        assertEquals(1, taskRepository.deleteByIdAndVersion(task.getId(), 0L));
+        assertFalse(taskRepository.existsById(task.getId()));
+    }
+
+    @Test
+    void of_shouldRejectUnknownFieldsAndMistypedValues() {
+        log.info("Starting test: of_shouldRejectUnknownFieldsAndMistypedValues");
+
+        assertThrows(InvalidTaskPatchException.class, () -> TaskPatch.of(Map.of("owner", "hr")));
+        assertThrows(InvalidTaskPatchException.class, () -> TaskPatch.of(Map.of("completed", "yes")));
+        assertThrows(InvalidTaskPatchException.class, () -> TaskPatch.of(Map.of("dueDate", "tomorrow")));
+        assertThrows(InvalidTaskPatchException.class, () -> TaskPatch.of(Map.of("priority", "URGENT")));
+    }
+
+    @Test
+    void of_shouldHoldValuesToTaskConstraints() {
+        log.info("Starting test: of_shouldHoldValuesToTaskConstraints");
+
+        assertThrows(InvalidTaskPatchException.class, () -> TaskPatch.of(Collections.singletonMap("title", null)));
+        assertThrows(InvalidTaskPatchException.class, () -> TaskPatch.of(Map.of("title", " ")));
+        assertThrows(InvalidTaskPatchException.class, () -> TaskPatch.of(Map.of("title", "t".repeat(256))));
+        assertThrows(InvalidTaskPatchException.class, () -> TaskPatch.of(Map.of("description", "d".repeat(1001))));
+        assertThrows(InvalidTaskPatchException.class, () -> TaskPatch.of(Collections.singletonMap("priority", null)));
+
+        assertFalse(TaskPatch.of(Map.of("title", "t".repeat(255), "description", "d".repeat(1000))).isEmpty());
+        assertFalse(TaskPatch.of(Collections.singletonMap("description", null)).isEmpty());
+    }
+
+    private Task saved(String title) {
+        return taskRepository.saveAndFlush(Task.builder()
+                .title(title)
+                .description("Collect the figures")
+                .createdDate(LocalDateTime.parse("2024-06-01T09:00:00"))
+                .completed(false)
+                .priority(Priority.LOW)
+                .owner("finance")
+                .build());
+    }
+}
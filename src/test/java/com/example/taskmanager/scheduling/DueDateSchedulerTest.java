@@ -0,0 +1,323 @@
+package com.example.taskmanager.scheduling;
+
+import com.example.taskmanager.dtos.TaskEvent;
+import com.example.taskmanager.enums.Priority;
+import com.example.taskmanager.enums.TaskEventType;
+import com.example.taskmanager.mappers.TaskMapper;
+import com.example.taskmanager.mappers.TaskMapperImpl;
+import com.example.taskmanager.models.Task;
+import com.example.taskmanager.repositories.TaskRepository;
+import com.example.taskmanager.services.impl.KafkaServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+
+/**
+ * Drives the scheduler with a simulated clock against tasks held in memory behind the mocked repository.
+ */
+@Slf4j
+@ExtendWith(MockitoExtension.class)
+class DueDateSchedulerTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 6, 3, 9, 0);
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private KafkaServiceImpl kafkaService;
+
+    private final TaskMapper taskMapper = new TaskMapperImpl();
+    private final Map<Long, Task> tasks = new TreeMap<>();
+    private final List<TaskEvent> sent = new ArrayList<>();
+    private final List<LocalDateTime> queriedAfter = new ArrayList<>();
+    private final SimulatedClock clock = new SimulatedClock(START);
+    private DueDateProperties dueDateProperties;
+    private DueDateScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        dueDateProperties = new DueDateProperties();
+        dueDateProperties.setEnabled(true);
+        dueDateProperties.setBatchSize(2);
+
+        lenient().when(taskRepository.findOpenDueAfter(any(), any(), any(), any())).thenAnswer(invocation ->
+                findOpenDueAfter(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2),
+                        invocation.getArgument(3)));
+        lenient().when(taskRepository.findAllById(any())).thenAnswer(invocation -> {
+            Iterable<Long> ids = invocation.getArgument(0);
+            List<Task> found = new ArrayList<>();
+            ids.forEach(id -> {
+                if (tasks.containsKey(id)) {
+                    found.add(tasks.get(id));
+                }
+            });
+            return found;
+        });
+        lenient().when(kafkaService.sendDueEvent(any())).thenAnswer(invocation -> {
+            sent.add(invocation.getArgument(0));
+            return null;
+        });
+    }
+
+    @Test
+    void tick_shouldSendDueAtDueDateAndOverdueAfterwards() {
+        log.info("Starting test: tick_shouldSendDueAtDueDateAndOverdueAfterwards");
+        save(1L, START.plusMinutes(10));
+        start();
+
+        advanceTo(START.plusMinutes(10).minusSeconds(1));
+        assertTrue(sent.isEmpty());
+
+        advanceTo(START.plusMinutes(10));
+        assertEquals(List.of(TaskEventType.DUE), sentTypes(1L));
+        assertEquals("Task 1", sent.get(0).getTask().getTitle());
+        assertEquals(START.plusMinutes(10), sent.get(0).getOccurredAt());
+
+        advanceTo(START.plusMinutes(70).minusSeconds(1));
+        assertEquals(1, sent.size());
+
+        advanceTo(START.plusMinutes(70));
+        assertEquals(List.of(TaskEventType.DUE, TaskEventType.OVERDUE), sentTypes(1L));
+        assertEquals(0, scheduler.scheduledCount());
+
+        advanceTo(START.plusHours(5));
+        assertEquals(2, sent.size());
+    }
+
+    @Test
+    void changed_shouldDropTasksCompletedOrDeletedBeforeTheirDueDate() {
+        log.info("Starting test: changed_shouldDropTasksCompletedOrDeletedBeforeTheirDueDate");
+        save(1L, START.plusMinutes(10));
+        save(2L, START.plusMinutes(20));
+        start();
+        assertEquals(2, scheduler.scheduledCount());
+
+        tasks.get(1L).setCompleted(true);
+        scheduler.changed(taskMapper.toDto(tasks.get(1L)), false);
+        tasks.remove(2L);
+        scheduler.removed(List.of(2L));
+        advanceTo(START.plusHours(3));
+
+        assertTrue(sent.isEmpty());
+        assertEquals(0, scheduler.scheduledCount());
+    }
+
+    @Test
+    void changed_shouldFireOnlyAtTheNewDueDate() {
+        log.info("Starting test: changed_shouldFireOnlyAtTheNewDueDate");
+        save(1L, START.plusMinutes(10));
+        start();
+
+        tasks.get(1L).setDueDate(START.plusMinutes(30));
+        scheduler.changed(taskMapper.toDto(tasks.get(1L)), true);
+
+        advanceTo(START.plusMinutes(29));
+        assertTrue(sent.isEmpty());
+        advanceTo(START.plusMinutes(30));
+        assertEquals(List.of(TaskEventType.DUE), sentTypes(1L));
+    }
+
+    @Test
+    void changed_shouldScheduleNewTasksAndDueDatesSetInThePast() {
+        log.info("Starting test: changed_shouldScheduleNewTasksAndDueDatesSetInThePast");
+        save(1L, START.minusHours(3));
+        start();
+
+        scheduler.changed(taskMapper.toDto(save(2L, START.plusMinutes(5))), true);
+        tasks.get(1L).setTitle("Renamed");
+        scheduler.changed(taskMapper.toDto(tasks.get(1L)), false);
+        advanceTo(START.plusSeconds(1));
+        assertTrue(sent.isEmpty());
+
+        tasks.get(1L).setDueDate(START.minusMinutes(1));
+        scheduler.changed(taskMapper.toDto(tasks.get(1L)), true);
+        advanceTo(START.plusSeconds(2));
+        assertEquals(List.of(TaskEventType.DUE), sentTypes(1L));
+
+        advanceTo(START.plusMinutes(5));
+        assertEquals(List.of(TaskEventType.DUE), sentTypes(2L));
+    }
+
+    @Test
+    void tick_shouldReadTaskBackBeforeSendingIt() {
+        log.info("Starting test: tick_shouldReadTaskBackBeforeSendingIt");
+        save(1L, START.plusMinutes(10));
+        save(2L, START.plusMinutes(10));
+        start();
+
+        // changed through another instance, so the scheduler is not told
+        tasks.get(1L).setCompleted(true);
+        tasks.get(2L).setDueDate(START.plusMinutes(40));
+        advanceTo(START.plusMinutes(10));
+        assertTrue(sent.isEmpty());
+        assertEquals(1, scheduler.scheduledCount());
+
+        advanceTo(START.plusMinutes(40));
+        assertEquals(List.of(TaskEventType.DUE), sentTypes(2L));
+    }
+
+    @Test
+    void tick_shouldOnlyReportOverdueTasksThatWereDueBeforeStart() {
+        log.info("Starting test: tick_shouldOnlyReportOverdueTasksThatWereDueBeforeStart");
+        save(1L, START.minusMinutes(30));
+        save(2L, START.minusHours(2));
+        start();
+
+        advanceTo(START.plusMinutes(30));
+
+        assertEquals(List.of(TaskEventType.OVERDUE), sentTypes(1L));
+        assertEquals(List.of(), sentTypes(2L));
+    }
+
+    @Test
+    void tick_shouldSlideHorizonAndLoadOnlyTasksThatCameIntoIt() {
+        log.info("Starting test: tick_shouldSlideHorizonAndLoadOnlyTasksThatCameIntoIt");
+        for (long id = 1; id <= 5; id++) {
+            save(id, START.plusMinutes(30));
+        }
+        save(6L, START.plusMinutes(90));
+        start();
+        assertEquals(5, scheduler.scheduledCount());
+        // pages of 2, 2 and 1 tasks starting overdue-after back
+        assertEquals(3, queriedAfter.size());
+        assertEquals(START.minusHours(1), queriedAfter.get(0));
+
+        advanceTo(START.plusMinutes(31));
+        assertEquals(5, sent.size());
+        assertEquals(6, scheduler.scheduledCount());
+        // the rescan continues where the previous horizon ended
+        assertEquals(START.plusHours(1), queriedAfter.get(3));
+
+        advanceTo(START.plusMinutes(90));
+        assertEquals(List.of(TaskEventType.DUE), sentTypes(6L));
+    }
+
+    @Test
+    void tick_shouldHoldAtMostMaxScheduledTasks() {
+        log.info("Starting test: tick_shouldHoldAtMostMaxScheduledTasks");
+        dueDateProperties.setMaxScheduled(2);
+        save(1L, START.plusMinutes(20));
+        save(2L, START.plusMinutes(10));
+        save(3L, START.plusMinutes(30));
+        start();
+
+        assertEquals(2, scheduler.scheduledCount());
+        advanceTo(START.plusMinutes(30));
+        assertEquals(List.of(), sentTypes(3L));
+
+        // the overdue timer of 2 makes room again
+        advanceTo(START.plusMinutes(70));
+        advanceTo(START.plusMinutes(71));
+        assertEquals(List.of(TaskEventType.DUE, TaskEventType.OVERDUE), sentTypes(2L));
+        assertEquals(List.of(TaskEventType.DUE), sentTypes(3L));
+    }
+
+    private void start() {
+        scheduler = new DueDateScheduler(taskRepository, taskMapper, kafkaService, dueDateProperties,
+                new SimpleMeterRegistry(), clock);
+        scheduler.tick();
+    }
+
+    private void advanceTo(LocalDateTime now) {
+        clock.set(now);
+        scheduler.tick();
+    }
+
+    private Task save(Long id, LocalDateTime dueDate) {
+        Task task = Task.builder()
+                .id(id)
+                .title("Task " + id)
+                .createdDate(START.minusDays(1))
+                .dueDate(dueDate)
+                .completed(false)
+                .priority(Priority.MEDIUM)
+                .owner("default")
+                .version(0L)
+                .build();
+        tasks.put(id, task);
+        return task;
+    }
+
+    private List<TaskEventType> sentTypes(Long taskId) {
+        return sent.stream().filter(event -> event.getTaskId().equals(taskId)).map(TaskEvent::getEventType).toList();
+    }
+
+    private List<TaskRepository.TaskDue> findOpenDueAfter(LocalDateTime afterDueDate, Long afterId,
+                                                         LocalDateTime until, Limit limit) {
+        queriedAfter.add(afterDueDate);
+        return tasks.values().stream()
+                .filter(task -> !Boolean.TRUE.equals(task.getCompleted()) && task.getDueDate() != null)
+                .filter(task -> task.getDueDate().isBefore(until))
+                .filter(task -> task.getDueDate().isAfter(afterDueDate)
+                        || task.getDueDate().isEqual(afterDueDate) && task.getId() > afterId)
+                .sorted(Comparator.comparing(Task::getDueDate).thenComparing(Task::getId))
+                .limit(limit.max())
+                .map(DueDateSchedulerTest::taskDue)
+                .toList();
+    }
+
+    private static TaskRepository.TaskDue taskDue(Task task) {
+        Long id = task.getId();
+        LocalDateTime dueDate = task.getDueDate();
+        return new TaskRepository.TaskDue() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getDueDate() {
+                return dueDate;
+            }
+        };
+    }
+
+    private static final class SimulatedClock extends Clock {
+
+        private Instant now;
+
+        private SimulatedClock(LocalDateTime now) {
+            set(now);
+        }
+
+        void set(LocalDateTime now) {
+            this.now = now.toInstant(ZoneOffset.UTC);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.taskmanager.scheduling;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+class TimingWheelTest {
+
+    private static final long TICK_MS = 10;
+    private static final int WHEEL_SIZE = 8;
+
+    @Test
+    void advance_shouldFireEveryTimerOnTheFirstTickAtOrAfterItsDeadline() {
+        log.info("Starting test: advance_shouldFireEveryTimerOnTheFirstTickAtOrAfterItsDeadline");
+        long spanMs = 100_000;
+        long startMs = 12_340;
+        TimingWheel<TimingWheel.Timer> wheel = new TimingWheel<>(TICK_MS, WHEEL_SIZE,
+                TimingWheel.levelsFor(TICK_MS, WHEEL_SIZE, spanMs), startMs);
+        Random random = new Random(42);
+        Set<TimingWheel.Timer> pending = new HashSet<>();
+        for (int i = 0; i < 5_000; i++) {
+            TimingWheel.Timer timer = new TimingWheel.Timer(startMs + random.nextLong(spanMs));
+            wheel.add(timer);
+            pending.add(timer);
+        }
+
+        List<TimingWheel.Timer> expired = new ArrayList<>();
+        for (long now = startMs; now <= startMs + spanMs + TICK_MS; now += TICK_MS) {
+            expired.clear();
+            wheel.advance(now, expired);
+            for (TimingWheel.Timer timer : expired) {
+                assertTrue(timer.deadlineMs <= now, "Timer fired before its deadline");
+                assertTrue(timer.deadlineMs > now - TICK_MS || timer.deadlineMs <= startMs + TICK_MS,
+                        "Timer fired more than a tick late");
+                assertFalse(timer.isScheduled());
+                assertTrue(pending.remove(timer), "Timer fired twice");
+            }
+        }
+        assertTrue(pending.isEmpty());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void add_shouldFireDeadlinesAlreadyReachedOnTheNextTick() {
+        log.info("Starting test: add_shouldFireDeadlinesAlreadyReachedOnTheNextTick");
+        TimingWheel<TimingWheel.Timer> wheel = new TimingWheel<>(TICK_MS, WHEEL_SIZE, 2, 1_000);
+        TimingWheel.Timer timer = new TimingWheel.Timer(500);
+        wheel.add(timer);
+        List<TimingWheel.Timer> expired = new ArrayList<>();
+
+        wheel.advance(1_009, expired);
+        assertTrue(expired.isEmpty());
+
+        wheel.advance(1_010, expired);
+        assertEquals(List.of(timer), expired);
+    }
+
+    @Test
+    void remove_shouldKeepTimerFromFiring() {
+        log.info("Starting test: remove_shouldKeepTimerFromFiring");
+        TimingWheel<TimingWheel.Timer> wheel = new TimingWheel<>(TICK_MS, WHEEL_SIZE, 3, 0);
+        TimingWheel.Timer removed = new TimingWheel.Timer(2_000);
+        TimingWheel.Timer kept = new TimingWheel.Timer(2_000);
+        wheel.add(removed);
+        wheel.add(kept);
+
+        wheel.remove(removed);
+        List<TimingWheel.Timer> expired = new ArrayList<>();
+        wheel.advance(2_000, expired);
+
+        assertEquals(List.of(kept), expired);
+        assertFalse(removed.isScheduled());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void add_shouldRejectDeadlineBeyondTheSpan() {
+        log.info("Starting test: add_shouldRejectDeadlineBeyondTheSpan");
+        TimingWheel<TimingWheel.Timer> wheel = new TimingWheel<>(TICK_MS, WHEEL_SIZE, 2, 0);
+
+        assertThrows(IllegalArgumentException.class, () -> wheel.add(new TimingWheel.Timer(TICK_MS * 64)));
+        assertEquals(0, wheel.size());
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.taskmanager.serialization;
+
+import com.example.taskmanager.benchmark.JmhBaseline;
+import com.example.taskmanager.dtos.TaskEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the binary task event format with the JSON serializer it replaced, in bytes per record and ns per operation.
+ * Run with {@code mvn test -Pbenchmark}; the JMH annotation processor is only enabled in that profile.
+ */
+@Slf4j
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskEventSerializationBenchmark {
+
+    private static final String TOPIC = "taskmanager-topic";
+
+    private TaskEvent event;
+    private TaskEventSerializer binarySerializer;
+    private TaskEventDeserializer binaryDeserializer;
+    private JsonSerializer<TaskEvent> jsonSerializer;
+    private JsonDeserializer<TaskEvent> jsonDeserializer;
+    private byte[] binary;
+    private byte[] json;
+
+    @Setup
+    public void setUp() {
+        event = TaskEventSerializerTest.taskEvent();
+        binarySerializer = new TaskEventSerializer();
+        binaryDeserializer = new TaskEventDeserializer();
+        jsonSerializer = new JsonSerializer<>();
+        jsonDeserializer = new JsonDeserializer<>(TaskEvent.class, false);
+        binary = binarySerializer.serialize(TOPIC, event);
+        json = jsonSerializer.serialize(TOPIC, event);
+    }
+
+    @TearDown
+    public void tearDown() {
+        jsonSerializer.close();
+        jsonDeserializer.close();
+    }
+
+    @Benchmark
+    public byte[] binarySerialize() {
+        return binarySerializer.serialize(TOPIC, event);
+    }
+
+    @Benchmark
+    public TaskEvent binaryDeserialize() {
+        return binaryDeserializer.deserialize(TOPIC, binary);
+    }
+
+    @Benchmark
+    public byte[] jsonSerialize() {
+        return jsonSerializer.serialize(TOPIC, event);
+    }
+
+    @Benchmark
+    public TaskEvent jsonDeserialize() {
+        return jsonDeserializer.deserialize(TOPIC, json);
+    }
+
+    @Test
+    void runBenchmarks() throws Exception {
+        setUp();
+        log.info("Bytes per record: binary {}, JSON {}", binary.length, json.length);
+        tearDown();
+
+        JmhBaseline.run(TaskEventSerializationBenchmark.class);
+    }
+}
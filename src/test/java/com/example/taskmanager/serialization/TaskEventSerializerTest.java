@@ -0,0 +1,122 @@
+package com.example.taskmanager.serialization;
+
+import com.example.taskmanager.dtos.TaskDTO;
+import com.example.taskmanager.dtos.TaskEvent;
+import com.example.taskmanager.enums.Priority;
+import com.example.taskmanager.enums.TaskEventType;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+class TaskEventSerializerTest {
+
+    private final TaskEventSerializer serializer = new TaskEventSerializer();
+    private final TaskEventDeserializer deserializer = new TaskEventDeserializer();
+
+    @Test
+    void serialize_shouldRoundTripFullEvent() {
+        log.info("Starting test: serialize_shouldRoundTripFullEvent");
+
+        TaskEvent event = taskEvent();
+
+        assertEquals(event, deserializer.deserialize("taskmanager-topic", serializer.serialize("taskmanager-topic", event)));
+    }
+
+    @Test
+    void serialize_shouldRoundTripDeleteWithoutSnapshot() {
+        log.info("Starting test: serialize_shouldRoundTripDeleteWithoutSnapshot");
+
+        TaskEvent event = TaskEvent.builder()
+                .eventType(TaskEventType.DELETED)
+                .taskId(42L)
+                .version(7L)
+                .occurredAt(LocalDateTime.parse("1969-12-31T23:59:59.5"))
+                .changedFields(List.of())
+                .build();
+
+        assertEquals(event, deserializer.deserialize("taskmanager-topic", serializer.serialize("taskmanager-topic", event)));
+    }
+
+    @Test
+    void serialize_shouldKeepTombstonesNull() {
+        log.info("Starting test: serialize_shouldKeepTombstonesNull");
+
+        assertNull(serializer.serialize("taskmanager-topic", null));
+        assertNull(deserializer.deserialize("taskmanager-topic", null));
+    }
+
+    @Test
+    void serialize_shouldBeSmallerThanJson() {
+        log.info("Starting test: serialize_shouldBeSmallerThanJson");
+
+        TaskEvent event = taskEvent();
+        byte[] binary = serializer.serialize("taskmanager-topic", event);
+        byte[] json;
+        try (JsonSerializer<TaskEvent> jsonSerializer = new JsonSerializer<>()) {
+            json = jsonSerializer.serialize("taskmanager-topic", event);
+        }
+
+        log.info("Task event size: {} bytes binary, {} bytes JSON", binary.length, json.length);
+        assertTrue(binary.length * 2 < json.length);
+    }
+
+    @Test
+    void deserialize_shouldRejectUnknownFormatVersion() {
+        log.info("Starting test: deserialize_shouldRejectUnknownFormatVersion");
+
+        byte[] data = serializer.serialize("taskmanager-topic", taskEvent());
+        data[0] = 2;
+
+        assertThrows(SerializationException.class, () -> deserializer.deserialize("taskmanager-topic", data));
+    }
+
+    @Test
+    void deserialize_shouldRejectTruncatedData() {
+        log.info("Starting test: deserialize_shouldRejectTruncatedData");
+
+        byte[] data = serializer.serialize("taskmanager-topic", taskEvent());
+
+        assertThrows(SerializationException.class,
+                () -> deserializer.deserialize("taskmanager-topic", Arrays.copyOf(data, data.length - 5)));
+    }
+
+    @Test
+    void serialize_shouldRejectUnknownChangedField() {
+        log.info("Starting test: serialize_shouldRejectUnknownChangedField");
+
+        TaskEvent event = taskEvent();
+        event.setChangedFields(List.of("owner"));
+
+        assertThrows(SerializationException.class, () -> serializer.serialize("taskmanager-topic", event));
+    }
+
+    static TaskEvent taskEvent() {
+        TaskDTO task = TaskDTO.builder()
+                .id(1L)
+                .title("Prepare quarterly report")
+                .description("Collect figures from all departments and summarise them")
+                .createdDate(LocalDateTime.parse("2024-06-01T10:15:30.123456"))
+                .dueDate(LocalDateTime.parse("2024-06-30T18:00:00"))
+                .completed(true)
+                .priority(Priority.HIGH)
+                .owner("finance")
+                .version(7L)
+                .build();
+        return TaskEvent.builder()
+                .eventType(TaskEventType.PATCHED)
+                .taskId(1L)
+                .version(12345L)
+                .occurredAt(LocalDateTime.parse("2024-06-02T08:00:00.5"))
+                .changedFields(List.of("description", "completed"))
+                .task(task)
+                .build();
+    }
+}
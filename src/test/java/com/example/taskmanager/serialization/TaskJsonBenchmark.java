@@ -0,0 +1,110 @@
+package com.example.taskmanager.serialization;
+
+import com.example.taskmanager.benchmark.JmhBaseline;
+import com.example.taskmanager.dtos.TaskDTO;
+import com.example.taskmanager.enums.Priority;
+import com.example.taskmanager.models.Task;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures JSON serialization of tasks as the REST API does it, with Spring Boot's default object mapper, in ns per
+ * operation. {@code TaskDTO} is the request and response body; {@code Task} is returned by {@code GET /api/v1/task/{id}}.
+ * Run with {@code mvn test -Pbenchmark}; the JMH annotation processor is only enabled in that profile.
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskJsonBenchmark {
+
+    private ObjectWriter taskDTOWriter;
+    private ObjectReader taskDTOReader;
+    private ObjectWriter taskWriter;
+    private ObjectReader taskReader;
+    private TaskDTO taskDTO;
+    private Task task;
+    private byte[] taskDTOJson;
+    private byte[] taskJson;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        taskDTOWriter = objectMapper.writerFor(TaskDTO.class);
+        taskDTOReader = objectMapper.readerFor(TaskDTO.class);
+        taskWriter = objectMapper.writerFor(Task.class);
+        taskReader = objectMapper.readerFor(Task.class);
+        task = Task.builder()
+                .id(1L)
+                .title("Prepare the quarterly report")
+                .description("Collect the figures of every branch and summarize them for the board")
+                .createdDate(LocalDateTime.of(2024, 6, 1, 9, 0))
+                .dueDate(LocalDateTime.of(2024, 6, 30, 18, 0))
+                .completed(false)
+                .priority(Priority.HIGH)
+                .owner("finance")
+                .build();
+        taskDTO = TaskDTO.builder()
+                .id(task.getId())
+                .title(task.getTitle())
+                .description(task.getDescription())
+                .createdDate(task.getCreatedDate())
+                .dueDate(task.getDueDate())
+                .completed(task.getCompleted())
+                .priority(task.getPriority())
+                .owner(task.getOwner())
+                .build();
+        taskDTOJson = taskDTOWriter.writeValueAsBytes(taskDTO);
+        taskJson = taskWriter.writeValueAsBytes(task);
+    }
+
+    @Benchmark
+    public byte[] serializeTaskDTO() throws JsonProcessingException {
+        return taskDTOWriter.writeValueAsBytes(taskDTO);
+    }
+
+    @Benchmark
+    public TaskDTO deserializeTaskDTO() throws IOException {
+        return taskDTOReader.readValue(taskDTOJson);
+    }
+
+    @Benchmark
+    public byte[] serializeTask() throws JsonProcessingException {
+        return taskWriter.writeValueAsBytes(task);
+    }
+
+    @Benchmark
+    public Task deserializeTask() throws IOException {
+        return taskReader.readValue(taskJson);
+    }
+
+    @Test
+    void runBenchmarks() throws Exception {
+        JmhBaseline.run(TaskJsonBenchmark.class);
+    }
+}
@@ -1,33 +1,44 @@
 package com.example.taskmanager.services.impl;
 
 import com.example.taskmanager.dtos.TaskDTO;
+import com.example.taskmanager.dtos.TaskEvent;
 import com.example.taskmanager.enums.Priority;
+import com.example.taskmanager.enums.TaskEventType;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.apache.kafka.common.errors.TimeoutException;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 
 import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @Slf4j
 @ExtendWith(MockitoExtension.class)
 class KafkaServiceImplTest {
     @Mock
-    private KafkaTemplate<String, Object> kafkaTemplate;
+    private KafkaTemplate<String, TaskEvent> kafkaTemplate;
 
-    @InjectMocks
+    private SimpleMeterRegistry meterRegistry;
     private KafkaServiceImpl kafkaService;
-
     private TaskDTO taskDTO;
 
     @BeforeEach
     void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        kafkaService = new KafkaServiceImpl(kafkaTemplate, meterRegistry);
         taskDTO = TaskDTO.builder()
                 .id(1L)
                 .title("Test Task")
@@ -40,12 +51,77 @@ class KafkaServiceImplTest {
     }
 
     @Test
-    void sendTaskToKafka_shouldSendTaskToKafkaTopic() {
-        log.info("Starting test: sendTaskToKafka_shouldSendTaskToKafkaTopic");
+    void sendTaskEvent_shouldSendEventKeyedByTaskId() {
+        log.info("Starting test: sendTaskEvent_shouldSendEventKeyedByTaskId");
+
+        TaskEvent taskEvent = TaskEvent.builder()
+                .eventType(TaskEventType.CREATED)
+                .taskId(1L)
+                .version(1L)
+                .task(taskDTO)
+                .build();
+
+        kafkaService.sendTaskEvent(taskEvent);
+
+        verify(kafkaTemplate).send("taskmanager-topic", "1", taskEvent);
+        log.info("Task event sent to Kafka topic successfully");
+    }
+
+    @Test
+    void sendTombstone_shouldSendNullValueKeyedByTaskId() {
+        log.info("Starting test: sendTombstone_shouldSendNullValueKeyedByTaskId");
+
+        kafkaService.sendTombstone(1L);
+
+        verify(kafkaTemplate).send("taskmanager-topic", "1", null);
+    }
+
+    @Test
+    void flush_shouldFlushProducer() {
+        log.info("Starting test: flush_shouldFlushProducer");
+
+        kafkaService.flush();
+
+        verify(kafkaTemplate).flush();
+    }
+
+    @Test
+    void flush_shouldRecordRecordsSentSincePreviousFlush() {
+        log.info("Starting test: flush_shouldRecordRecordsSentSincePreviousFlush");
+
+        kafkaService.sendTombstone(1L);
+        kafkaService.sendTombstone(2L);
+        kafkaService.flush();
+        kafkaService.flush();
+
+        DistributionSummary batchSize = meterRegistry.get("taskmanager.kafka.batch.size").summary();
+        assertEquals(1, batchSize.count());
+        assertEquals(2, batchSize.totalAmount());
+    }
+
+    @Test
+    void sendTaskEvent_shouldTimeSendUntilAcknowledged() {
+        log.info("Starting test: sendTaskEvent_shouldTimeSendUntilAcknowledged");
+
+        TaskEvent taskEvent = TaskEvent.builder().eventType(TaskEventType.CREATED).taskId(1L).task(taskDTO).build();
+        CompletableFuture<SendResult<String, TaskEvent>> pending = new CompletableFuture<>();
+        when(kafkaTemplate.send("taskmanager-topic", "1", taskEvent)).thenReturn(pending);
+
+        kafkaService.sendTaskEvent(taskEvent);
+        assertEquals(0, meterRegistry.find("taskmanager.kafka.send").timers().size());
+
+        pending.completeExceptionally(new TimeoutException("Expiring 1 record"));
+        Timer errors = meterRegistry.get("taskmanager.kafka.send").tag("type", "event").tag("outcome", "error").timer();
+        assertEquals(1, errors.count());
+    }
+
+    @Test
+    void sendTombstone_shouldCountRejectedSendAsError() {
+        log.info("Starting test: sendTombstone_shouldCountRejectedSendAsError");
 
-        kafkaService.sendTaskToKafka(taskDTO);
+        when(kafkaTemplate.send("taskmanager-topic", "1", null)).thenThrow(new TimeoutException("Topic not present in metadata"));
 
-        verify(kafkaTemplate).send("taskmanager-topic", taskDTO);
-        log.info("Task sent to Kafka topic successfully");
+        assertThrows(TimeoutException.class, () -> kafkaService.sendTombstone(1L));
+        assertEquals(1, meterRegistry.get("taskmanager.kafka.send").tag("type", "tombstone").tag("outcome", "error").timer().count());
     }
-}
\ No newline at end of file
+}
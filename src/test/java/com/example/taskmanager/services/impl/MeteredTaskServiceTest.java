@@ -0,0 +1,75 @@
+package com.example.taskmanager.services.impl;
+
+import com.example.taskmanager.dtos.TaskDTO;
+import com.example.taskmanager.enums.Priority;
+import com.example.taskmanager.exceptions.DuplicateTaskException;
+import com.example.taskmanager.exceptions.TaskNotFoundException;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@Slf4j
+@ExtendWith(MockitoExtension.class)
+class MeteredTaskServiceTest {
+
+    @Mock
+    private TaskServiceImpl taskServiceImpl;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MeteredTaskService taskService;
+    private TaskDTO taskDTO;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        taskService = new MeteredTaskService(taskServiceImpl, meterRegistry);
+        taskDTO = TaskDTO.builder().id(1L).title("Test Task").priority(Priority.HIGH).build();
+    }
+
+    @Test
+    void createTask_shouldRecordSuccessTaggedWithOperationAndRoute() {
+        log.info("Starting test: createTask_shouldRecordSuccessTaggedWithOperationAndRoute");
+
+        when(taskServiceImpl.createTask(taskDTO)).thenReturn(taskDTO);
+
+        assertEquals(taskDTO, taskService.createTask(taskDTO));
+
+        Timer timer = meterRegistry.get(MeteredTaskService.OPERATION_METRIC)
+                .tag("operation", "createTask")
+                .tag("datasource", "main")
+                .tag("outcome", "success")
+                .timer();
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void operations_shouldRecordOutcomeOfFailures() {
+        log.info("Starting test: operations_shouldRecordOutcomeOfFailures");
+
+        when(taskServiceImpl.deleteTask(1L, null)).thenThrow(new TaskNotFoundException("not found"));
+        when(taskServiceImpl.createTask(any())).thenThrow(new DuplicateTaskException("duplicate"));
+        when(taskServiceImpl.updateTask(1L, taskDTO, null)).thenThrow(new DataAccessResourceFailureException("down"));
+
+        assertThrows(TaskNotFoundException.class, () -> taskService.deleteTask(1L, null));
+        assertThrows(DuplicateTaskException.class, () -> taskService.createTask(taskDTO));
+        assertThrows(DataAccessResourceFailureException.class, () -> taskService.updateTask(1L, taskDTO, null));
+
+        assertEquals(1, meterRegistry.get(MeteredTaskService.OPERATION_METRIC)
+                .tag("operation", "deleteTask").tag("outcome", "not_found").timer().count());
+        assertEquals(1, meterRegistry.get(MeteredTaskService.OPERATION_METRIC)
+                .tag("operation", "createTask").tag("outcome", "rejected").timer().count());
+        assertEquals(1, meterRegistry.get(MeteredTaskService.OPERATION_METRIC)
+                .tag("operation", "updateTask").tag("outcome", "error").timer().count());
+    }
+}
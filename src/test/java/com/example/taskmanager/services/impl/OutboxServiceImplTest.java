@@ -0,0 +1,264 @@
+package com.example.taskmanager.services.impl;
+
+import com.example.taskmanager.configs.kafka.KafkaProducerConfig;
+import com.example.taskmanager.configs.kafka.KafkaProducerProperties;
+import com.example.taskmanager.dtos.TaskDTO;
+import com.example.taskmanager.dtos.TaskEvent;
+import com.example.taskmanager.enums.OutboxStatus;
+import com.example.taskmanager.enums.Priority;
+import com.example.taskmanager.enums.TaskEventType;
+import com.example.taskmanager.models.OutboxEvent;
+import com.example.taskmanager.repositories.OutboxEventRepository;
+import com.example.taskmanager.serialization.TaskEventDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.condition.EmbeddedKafkaCondition;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@Slf4j
+@ExtendWith(MockitoExtension.class)
+@EmbeddedKafka(partitions = 1, topics = "taskmanager-topic")
+class OutboxServiceImplTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private KafkaServiceImpl kafkaService;
+
+    private ObjectMapper objectMapper;
+
+    private OutboxServiceImpl outboxService;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        outboxService = new OutboxServiceImpl(outboxEventRepository, kafkaService, objectMapper, true, 100, 5000, 3,
+                Duration.ofHours(1), true);
+    }
+
+    @Test
+    void enqueue_shouldStorePendingEventWithTaskPayload() throws Exception {
+        log.info("Starting test: enqueue_shouldStorePendingEventWithTaskPayload");
+
+        TaskEvent taskEvent = taskEvent(TaskEventType.UPDATED, taskDTO(7L));
+
+        outboxService.enqueue(taskEvent);
+
+        ArgumentCaptor<OutboxEvent> captor = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository).save(captor.capture());
+        OutboxEvent event = captor.getValue();
+        assertEquals(7L, event.getTaskId());
+        assertEquals(TaskEventType.UPDATED, event.getEventType());
+        assertEquals(OutboxStatus.PENDING, event.getStatus());
+        assertEquals(taskEvent, objectMapper.readValue(event.getPayload(), TaskEvent.class));
+    }
+
+    @Test
+    void relayBatch_shouldHoldBackLaterEventsOfFailedTask() throws Exception {
+        log.info("Starting test: relayBatch_shouldHoldBackLaterEventsOfFailedTask");
+
+        OutboxEvent first = outboxEvent(1L, 1L);
+        OutboxEvent other = outboxEvent(2L, 2L);
+        OutboxEvent second = outboxEvent(3L, 1L);
+        when(outboxEventRepository.findByStatusOrderByIdAsc(OutboxStatus.PENDING, Limit.of(100)))
+                .thenReturn(List.of(first, other, second));
+        when(kafkaService.sendTaskEvent(any(TaskEvent.class))).thenAnswer(invocation -> {
+            TaskEvent sent = invocation.getArgument(0);
+            return sent.getTaskId() == 1L && sent.getVersion() != 3L
+                    ? CompletableFuture.failedFuture(new IllegalStateException("broker unavailable"))
+                    : CompletableFuture.completedFuture(mock(SendResult.class));
+        });
+
+        int sent = outboxService.relayBatch();
+
+        assertEquals(1, sent);
+        verify(kafkaService).flush();
+        verify(outboxEventRepository).markSent(eq(List.of(2L)), eq(OutboxStatus.SENT), any(LocalDateTime.class));
+        verify(outboxEventRepository).recordFailure(eq(1L), eq(OutboxStatus.PENDING), anyString());
+        verify(outboxEventRepository, never()).recordFailure(eq(3L), any(), any());
+        verify(kafkaService, never()).sendTaskEvent(argThat(event -> event.getVersion() == 3L));
+    }
+
+    @Test
+    void relayBatch_shouldSendNextEventOfTaskOnlyAfterPreviousWasAcknowledged() throws Exception {
+        log.info("Starting test: relayBatch_shouldSendNextEventOfTaskOnlyAfterPreviousWasAcknowledged");
+
+        when(outboxEventRepository.findByStatusOrderByIdAsc(OutboxStatus.PENDING, Limit.of(100)))
+                .thenReturn(List.of(outboxEvent(1L, 1L), outboxEvent(2L, 2L), outboxEvent(3L, 1L), outboxEvent(4L, 1L)));
+        Map<Long, CompletableFuture<SendResult<String, TaskEvent>>> lastSendOfTask = new HashMap<>();
+        when(kafkaService.sendTaskEvent(any(TaskEvent.class))).thenAnswer(invocation -> {
+            TaskEvent event = invocation.getArgument(0);
+            CompletableFuture<SendResult<String, TaskEvent>> previous = lastSendOfTask.get(event.getTaskId());
+            assertTrue(previous == null || previous.isDone());
+            CompletableFuture<SendResult<String, TaskEvent>> send = new CompletableFuture<>();
+            lastSendOfTask.put(event.getTaskId(), send);
+            return send;
+        });
+        doAnswer(invocation -> {
+            lastSendOfTask.values().forEach(send -> send.complete(mock(SendResult.class)));
+            return null;
+        }).when(kafkaService).flush();
+
+        assertEquals(4, outboxService.relayBatch());
+
+        verify(kafkaService, times(3)).flush();
+        verify(outboxEventRepository).markSent(eq(List.of(1L, 2L, 3L, 4L)), eq(OutboxStatus.SENT), any(LocalDateTime.class));
+    }
+
+    @Test
+    void relayBatch_shouldGiveUpAfterMaxAttempts() throws Exception {
+        log.info("Starting test: relayBatch_shouldGiveUpAfterMaxAttempts");
+
+        OutboxEvent event = outboxEvent(1L, 1L);
+        event.setAttempts(2);
+        when(outboxEventRepository.findByStatusOrderByIdAsc(OutboxStatus.PENDING, Limit.of(100))).thenReturn(List.of(event));
+        when(kafkaService.sendTaskEvent(any(TaskEvent.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker unavailable")));
+
+        assertEquals(0, outboxService.relayBatch());
+
+        verify(outboxEventRepository).recordFailure(eq(1L), eq(OutboxStatus.FAILED), anyString());
+        verify(outboxEventRepository, never()).markSent(any(), any(), any());
+    }
+
+    @Test
+    void relayBatch_shouldStampVersionAndFollowDeleteWithTombstone() throws Exception {
+        log.info("Starting test: relayBatch_shouldStampVersionAndFollowDeleteWithTombstone");
+
+        OutboxEvent deleted = outboxEvent(5L, TaskEvent.builder()
+                .eventType(TaskEventType.DELETED)
+                .taskId(1L)
+                .changedFields(List.of())
+                .build());
+        when(outboxEventRepository.findByStatusOrderByIdAsc(OutboxStatus.PENDING, Limit.of(100))).thenReturn(List.of(deleted));
+        when(kafkaService.sendTaskEvent(any(TaskEvent.class))).thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+        when(kafkaService.sendTombstone(1L)).thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        assertEquals(1, outboxService.relayBatch());
+
+        verify(kafkaService).sendTaskEvent(argThat(event -> event.getVersion() == 5L && event.getEventType() == TaskEventType.DELETED));
+        verify(kafkaService).sendTombstone(1L);
+        verify(outboxEventRepository).markSent(eq(List.of(5L)), eq(OutboxStatus.SENT), any(LocalDateTime.class));
+    }
+
+    @Test
+    void relayBatch_shouldDeliverKeyedEventsToEmbeddedBroker() throws Exception {
+        log.info("Starting test: relayBatch_shouldDeliverKeyedEventsToEmbeddedBroker");
+
+        EmbeddedKafkaBroker broker = EmbeddedKafkaCondition.getBroker();
+        KafkaProducerConfig producerConfig = new KafkaProducerConfig(new KafkaProducerProperties());
+        ReflectionTestUtils.setField(producerConfig, "bootstrapServers", broker.getBrokersAsString());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        KafkaTemplate<String, TaskEvent> kafkaTemplate = new KafkaTemplate<>(producerConfig.producerFactory(meterRegistry));
+        OutboxServiceImpl relay = new OutboxServiceImpl(
+                outboxEventRepository, new KafkaServiceImpl(kafkaTemplate, meterRegistry), objectMapper, true, 100, 5000, 3,
+                Duration.ofHours(1), true);
+
+        when(outboxEventRepository.findByStatusOrderByIdAsc(OutboxStatus.PENDING, Limit.of(100)))
+                .thenReturn(List.of(outboxEvent(1L, 1L), outboxEvent(2L, 2L), outboxEvent(3L, 1L)));
+
+        assertEquals(3, relay.relayBatch());
+        verify(outboxEventRepository).markSent(eq(List.of(1L, 2L, 3L)), eq(OutboxStatus.SENT), any(LocalDateTime.class));
+
+        Map<String, Object> consumerProps = KafkaTestUtils.consumerProps("outbox-test", "false", broker);
+        try (Consumer<String, TaskEvent> consumer = new DefaultKafkaConsumerFactory<>(
+                consumerProps, new StringDeserializer(), new TaskEventDeserializer()).createConsumer()) {
+            broker.consumeFromAnEmbeddedTopic(consumer, "taskmanager-topic");
+            List<ConsumerRecord<String, TaskEvent>> records = new ArrayList<>();
+            while (records.size() < 3) {
+                ConsumerRecords<String, TaskEvent> polled = KafkaTestUtils.getRecords(consumer);
+                polled.forEach(records::add);
+            }
+
+            assertEquals(List.of("1", "2", "1"), records.stream().map(ConsumerRecord::key).toList());
+            assertEquals(3L, records.get(2).value().getVersion());
+            assertEquals(TaskEventType.UPDATED, records.get(2).value().getEventType());
+            assertEquals("Task 1", records.get(2).value().getTask().getTitle());
+        } finally {
+            kafkaTemplate.destroy();
+        }
+    }
+
+    @Test
+    void purgeDeliveredEvents_shouldDeleteSentEventsOlderThanRetention() {
+        log.info("Starting test: purgeDeliveredEvents_shouldDeleteSentEventsOlderThanRetention");
+        LocalDateTime before = LocalDateTime.now().minusHours(1);
+
+        outboxService.purgeDeliveredEvents();
+
+        ArgumentCaptor<LocalDateTime> sentBefore = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outboxEventRepository).purge(eq(OutboxStatus.SENT), sentBefore.capture(), eq(false));
+        assertFalse(sentBefore.getValue().isBefore(before));
+        assertFalse(sentBefore.getValue().isAfter(LocalDateTime.now().minusHours(1)));
+    }
+
+    private TaskDTO taskDTO(Long id) {
+        return TaskDTO.builder()
+                .id(id)
+                .title("Task " + id)
+                .createdDate(LocalDateTime.parse("2024-06-01T10:00:00"))
+                .completed(false)
+                .priority(Priority.MEDIUM)
+                .build();
+    }
+
+    private TaskEvent taskEvent(TaskEventType eventType, TaskDTO taskDTO) {
+        return TaskEvent.builder()
+                .eventType(eventType)
+                .taskId(taskDTO.getId())
+                .occurredAt(LocalDateTime.parse("2024-06-01T10:00:00"))
+                .changedFields(List.of("title"))
+                .task(taskDTO)
+                .build();
+    }
+
+    private OutboxEvent outboxEvent(Long id, Long taskId) throws Exception {
+        return outboxEvent(id, taskEvent(TaskEventType.UPDATED, taskDTO(taskId)));
+    }
+
+    private OutboxEvent outboxEvent(Long id, TaskEvent taskEvent) throws Exception {
+        return OutboxEvent.builder()
+                .id(id)
+                .taskId(taskEvent.getTaskId())
+                .eventType(taskEvent.getEventType())
+                .payload(objectMapper.writeValueAsString(taskEvent))
+                .status(OutboxStatus.PENDING)
+                .createdDate(LocalDateTime.now())
+                .build();
+    }
+}
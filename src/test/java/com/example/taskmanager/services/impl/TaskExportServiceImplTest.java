@@ -0,0 +1,97 @@
+package com.example.taskmanager.services.impl;
+
+import com.example.taskmanager.dtos.TaskDTO;
+import com.example.taskmanager.enums.Priority;
+import com.example.taskmanager.mappers.TaskMapper;
+import com.example.taskmanager.models.Task;
+import com.example.taskmanager.repositories.TaskRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@Slf4j
+@ExtendWith(MockitoExtension.class)
+class TaskExportServiceImplTest {
+
+    @Mock
+    private TaskMapper taskMapper;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private ObjectMapper objectMapper;
+
+    private TaskExportServiceImpl taskExportService;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        taskExportService = new TaskExportServiceImpl(taskMapper, taskRepository, objectMapper, 100, 2);
+    }
+
+    @Test
+    void exportTasks_shouldWriteOneJsonObjectPerLine() throws Exception {
+        log.info("Starting test: exportTasks_shouldWriteOneJsonObjectPerLine");
+
+        when(taskMapper.toDto(any(Task.class))).thenAnswer(invocation -> {
+            Task task = invocation.getArgument(0);
+            return TaskDTO.builder()
+                    .id(task.getId())
+                    .title(task.getTitle())
+                    .createdDate(LocalDateTime.parse("2024-06-01T10:00:00"))
+                    .priority(Priority.LOW)
+                    .build();
+        });
+        when(taskRepository.forEachTask(eq(100), eq(2), any())).thenAnswer(invocation -> {
+            Consumer<Task> consumer = invocation.getArgument(2);
+            for (long id = 1; id <= 3; id++) {
+                consumer.accept(Task.builder().id(id).title("Task " + id).build());
+            }
+            return 3L;
+        });
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = taskExportService.exportTasks(out);
+
+        assertEquals(3, exported);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertEquals(4, lines.length);
+        assertEquals("", lines[3]);
+        for (int i = 0; i < 3; i++) {
+            TaskDTO line = objectMapper.readValue(lines[i], TaskDTO.class);
+            assertEquals(i + 1L, line.getId());
+            assertEquals("Task " + (i + 1), line.getTitle());
+        }
+
+        log.info("Exported {} tasks as NDJSON", exported);
+    }
+
+    @Test
+    void exportTasks_shouldWriteNothingForEmptyTable() throws Exception {
+        log.info("Starting test: exportTasks_shouldWriteNothingForEmptyTable");
+
+        when(taskRepository.forEachTask(eq(100), eq(2), any())).thenReturn(0L);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(0, taskExportService.exportTasks(out));
+        assertEquals(0, out.size());
+    }
+}
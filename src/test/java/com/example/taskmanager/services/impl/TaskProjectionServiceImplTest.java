@@ -0,0 +1,82 @@
+package com.example.taskmanager.services.impl;
+
+import com.example.taskmanager.dtos.TaskDTO;
+import com.example.taskmanager.dtos.TaskEvent;
+import com.example.taskmanager.dtos.TaskFilterDTO;
+import com.example.taskmanager.enums.Priority;
+import com.example.taskmanager.enums.TaskEventType;
+import com.example.taskmanager.exceptions.TaskNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+class TaskProjectionServiceImplTest {
+
+    private final TaskProjectionServiceImpl taskProjectionService = new TaskProjectionServiceImpl();
+
+    @Test
+    void apply_shouldKeepNewestVersion() {
+        log.info("Starting test: apply_shouldKeepNewestVersion");
+
+        assertTrue(taskProjectionService.apply(taskEvent(TaskEventType.CREATED, 1L, 1L, "Created")));
+        assertTrue(taskProjectionService.apply(taskEvent(TaskEventType.UPDATED, 1L, 3L, "Updated")));
+        assertFalse(taskProjectionService.apply(taskEvent(TaskEventType.PATCHED, 1L, 2L, "Stale")));
+        assertFalse(taskProjectionService.apply(taskEvent(TaskEventType.UPDATED, 1L, 3L, "Redelivered")));
+
+        assertEquals("Updated", taskProjectionService.getTask(1L).getTitle());
+    }
+
+    @Test
+    void apply_shouldNotResurrectDeletedTaskFromStaleEvent() {
+        log.info("Starting test: apply_shouldNotResurrectDeletedTaskFromStaleEvent");
+
+        taskProjectionService.apply(taskEvent(TaskEventType.CREATED, 1L, 1L, "Created"));
+        taskProjectionService.apply(TaskEvent.builder().eventType(TaskEventType.DELETED).taskId(1L).version(2L).build());
+
+        assertFalse(taskProjectionService.apply(taskEvent(TaskEventType.CREATED, 1L, 1L, "Created")));
+        assertThrows(TaskNotFoundException.class, () -> taskProjectionService.getTask(1L));
+        assertEquals(0, taskProjectionService.size());
+    }
+
+    @Test
+    void evict_shouldDropTask() {
+        log.info("Starting test: evict_shouldDropTask");
+
+        taskProjectionService.apply(taskEvent(TaskEventType.CREATED, 1L, 1L, "Created"));
+
+        taskProjectionService.evict(1L);
+
+        assertThrows(TaskNotFoundException.class, () -> taskProjectionService.getTask(1L));
+    }
+
+    @Test
+    void getTasks_shouldFilterAndLimitInIdOrder() {
+        log.info("Starting test: getTasks_shouldFilterAndLimitInIdOrder");
+
+        taskProjectionService.apply(taskEvent(TaskEventType.CREATED, 3L, 3L, "Third"));
+        taskProjectionService.apply(taskEvent(TaskEventType.CREATED, 1L, 1L, "First"));
+        taskProjectionService.apply(taskEvent(TaskEventType.CREATED, 2L, 2L, "Second"));
+        TaskEvent completed = taskEvent(TaskEventType.CREATED, 4L, 4L, "Fourth");
+        completed.getTask().setCompleted(true);
+        taskProjectionService.apply(completed);
+
+        List<TaskDTO> tasks = taskProjectionService.getTasks(TaskFilterDTO.builder().completed(false).build(), 2);
+
+        assertEquals(List.of("First", "Second"), tasks.stream().map(TaskDTO::getTitle).toList());
+        assertEquals(List.of("Fourth"), taskProjectionService.getTasks(TaskFilterDTO.builder().completed(true).build(), 10)
+                .stream().map(TaskDTO::getTitle).toList());
+    }
+
+    private static TaskEvent taskEvent(TaskEventType eventType, Long taskId, Long version, String title) {
+        return TaskEvent.builder()
+                .eventType(eventType)
+                .taskId(taskId)
+                .version(version)
+                .task(TaskDTO.builder().id(taskId).title(title).completed(false).priority(Priority.LOW).build())
+                .build();
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.taskmanager.services.impl;
+
+import com.example.taskmanager.admission.TaskAdmissionControl;
+import com.example.taskmanager.benchmark.JmhBaseline;
+import com.example.taskmanager.cache.TaskCache;
+import com.example.taskmanager.dtos.TaskDTO;
+import com.example.taskmanager.enums.Priority;
+import com.example.taskmanager.mappers.TaskMapperImpl;
+import com.example.taskmanager.models.Task;
+import com.example.taskmanager.repositories.TaskPatch;
+import com.example.taskmanager.repositories.TaskRepository;
+import com.example.taskmanager.scheduling.DueDateScheduler;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the task service in µs per operation: the conversion of a {@code patchTask} body on its own, and
+ * {@code createTask}, {@code getTaskById} and {@code patchTask} end to end against an in-memory H2 database through the JPA
+ * repositories, transactions, outbox and cache. The outbox relay does not run and Kafka is mocked, and the
+ * service's own logging is turned down to warnings so that console output does not dominate.
+ * Run with {@code mvn test -Pbenchmark}; the JMH annotation processor is only enabled in that profile.
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskServiceBenchmark {
+
+    private Map<String, Object> updates;
+
+    @Setup
+    public void setUp() {
+        updates = new LinkedHashMap<>();
+        updates.put("title", "Prepare the quarterly report");
+        updates.put("description", "Collect the figures of every branch and summarize them for the board");
+        updates.put("createdDate", "2024-06-01T09:00:00");
+        updates.put("dueDate", "2024-06-30T18:00:00");
+        updates.put("completed", true);
+        updates.put("priority", "HIGH");
+    }
+
+    @State(Scope.Benchmark)
+    public static class Service {
+
+        private ConfigurableApplicationContext context;
+        private TaskServiceImpl taskService;
+        private TaskCache taskCache;
+        private long created;
+        private long patched;
+        private Long existingId;
+
+        @Setup(Level.Trial)
+        public void start() {
+            context = new SpringApplicationBuilder(ServiceConfig.class)
+                    .web(WebApplicationType.NONE)
+                    .run("--spring.datasource.url=jdbc:h2:mem:task-service-benchmark;DB_CLOSE_DELAY=-1",
+                            "--taskmanager.quota.default-limit=" + Integer.MAX_VALUE,
+                            "--logging.level.com.example.taskmanager=WARN");
+            taskService = context.getBean(TaskServiceImpl.class);
+            taskCache = context.getBean(TaskCache.class);
+            existingId = taskService.createTask(taskDTO("Existing task")).getId();
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            context.close();
+        }
+
+        TaskDTO nextTask() {
+            return taskDTO("Task " + created++);
+        }
+
+        private static TaskDTO taskDTO(String title) {
+            return TaskDTO.builder()
+                    .title(title)
+                    .description("Collect the figures of every branch and summarize them for the board")
+                    .dueDate(LocalDateTime.now().plusDays(7))
+                    .completed(false)
+                    .priority(Priority.MEDIUM)
+                    .owner("finance")
+                    .build();
+        }
+    }
+
+    @Configuration
+    @EnableAutoConfiguration(exclude = KafkaAutoConfiguration.class)
+    @EntityScan(basePackageClasses = Task.class)
+    @EnableJpaRepositories(basePackageClasses = TaskRepository.class)
+    @Import({TaskServiceImpl.class, OutboxServiceImpl.class, TaskCache.class, TaskAdmissionControl.class, TaskMapperImpl.class,
+            DueDateScheduler.class})
+    static class ServiceConfig {
+
+        @Bean
+        KafkaServiceImpl kafkaService() {
+            return Mockito.mock(KafkaServiceImpl.class);
+        }
+    }
+
+    @Benchmark
+    public TaskPatch patchFields() {
+        return TaskPatch.of(updates);
+    }
+
+    @Benchmark
+    public TaskDTO createTask(Service service) {
+        return service.taskService.createTask(service.nextTask());
+    }
+
+    @Benchmark
+    public Optional<Task> getTaskByIdCached(Service service) {
+        return service.taskService.getTaskById(service.existingId);
+    }
+
+    @Benchmark
+    public Optional<Task> getTaskByIdUncached(Service service) {
+        service.taskCache.evict(service.existingId);
+        return service.taskService.getTaskById(service.existingId);
+    }
+
+    @Benchmark
+    public TaskDTO patchTask(Service service) {
+        return service.taskService.patchTask(service.existingId, Map.of("completed", ++service.patched % 2 == 0), null);
+    }
+
+    @Test
+    void runBenchmarks() throws Exception {
+        JmhBaseline.run(TaskServiceBenchmark.class);
+    }
+}
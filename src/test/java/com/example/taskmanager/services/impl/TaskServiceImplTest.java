@@ -1,14 +1,37 @@
 package com.example.taskmanager.services.impl;
 
+import com.example.taskmanager.admission.TaskAdmissionControl;
+import com.example.taskmanager.admission.TaskQuotaProperties;
+import com.example.taskmanager.cache.TaskCache;
+import com.example.taskmanager.cache.TaskCacheProperties;
+import com.example.taskmanager.datasource.DatabaseOperationHandler;
+import com.example.taskmanager.dtos.BatchResultDTO;
 import com.example.taskmanager.dtos.TaskDTO;
+import com.example.taskmanager.dtos.TaskEvent;
+import com.example.taskmanager.dtos.TaskFilterDTO;
+import com.example.taskmanager.dtos.TaskPageDTO;
+import com.example.taskmanager.enums.AdmissionResult;
+import com.example.taskmanager.enums.BatchItemStatus;
 import com.example.taskmanager.enums.Priority;
+import com.example.taskmanager.enums.TaskEventType;
+import com.example.taskmanager.enums.TaskSortField;
+import com.example.taskmanager.exceptions.BatchSizeExceededException;
 import com.example.taskmanager.exceptions.DuplicateTaskException;
+import com.example.taskmanager.exceptions.InvalidCursorException;
+import com.example.taskmanager.exceptions.InvalidTaskPatchException;
 import com.example.taskmanager.exceptions.TaskLimitExceededException;
 import com.example.taskmanager.exceptions.TaskNotFoundException;
+import com.example.taskmanager.exceptions.TaskVersionMismatchException;
 import com.example.taskmanager.mappers.TaskMapper;
 import com.example.taskmanager.models.Task;
+import com.example.taskmanager.pagination.TaskCursor;
+import com.example.taskmanager.repositories.TaskPatch;
 import com.example.taskmanager.repositories.TaskRepository;
+import com.example.taskmanager.scheduling.DueDateScheduler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,14 +39,25 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataAccessException;
-import org.springframework.kafka.core.KafkaTemplate;
-
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @Slf4j
@@ -37,20 +71,26 @@ class TaskServiceImplTest {
     private TaskRepository taskRepository;
 
     @Mock
-    private KafkaTemplate<String, TaskDTO> kafkaTemplate;
+    private OutboxServiceImpl outboxService;
 
-    @InjectMocks
-    private TaskServiceImpl taskService;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private DueDateScheduler dueDateScheduler;
 
     @InjectMocks
-    private KafkaServiceImpl kafkaService;
+    private TaskServiceImpl taskService;
 
+    private TaskCache taskCache;
+    private TaskAdmissionControl admissionControl;
     private Task task;
     private TaskDTO taskDTO;
 
     @BeforeEach
     void setUp() {
         taskDTO = TaskDTO.builder()
+                .id(1L)
                 .title("Test Task")
                 .description("Test Description")
                 .createdDate(LocalDateTime.now())
@@ -69,7 +109,20 @@ class TaskServiceImplTest {
                 .priority(Priority.HIGH)
                 .build();
 
-        taskService = new TaskServiceImpl(taskMapper, taskRepository, kafkaService);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(new SimpleTransactionStatus());
+        });
+
+        taskCache = new TaskCache(new TaskCacheProperties(), new SimpleMeterRegistry());
+        admissionControl = new TaskAdmissionControl(taskRepository, new TaskQuotaProperties());
+        taskService = new TaskServiceImpl(taskMapper, taskRepository, outboxService, transactionTemplate, taskCache, admissionControl,
+                dueDateScheduler);
+    }
+
+    @AfterEach
+    void tearDown() {
+        DatabaseOperationHandler.closeMainCircuit();
     }
 
     @Test
@@ -85,7 +138,8 @@ class TaskServiceImplTest {
         assertNotNull(result);
         assertEquals(taskDTO.getTitle(), result.getTitle());
         verify(taskRepository).save(task);
-        verify(kafkaTemplate).send("taskmanager-topic", taskDTO);
+        verify(outboxService).enqueue(argThat(event -> event.getEventType() == TaskEventType.CREATED && event.getTask() == taskDTO));
+        verify(dueDateScheduler).changed(taskDTO, true);
         assertEquals(task.getTitle(), result.getTitle());
 
         log.info("Task created successfully: {}", result);
@@ -95,13 +149,14 @@ class TaskServiceImplTest {
     void createTask_shouldThrowExceptionWhenTaskLimitExceeded() {
         log.info("Starting test: createTasks_shouldThrowExceptionWhenTaskLimitExceeded");
 
-        when(taskRepository.count()).thenReturn(100L);
+        admitExistingTasks(new TaskQuotaProperties().getDefaultLimit());
 
         TaskLimitExceededException exception = assertThrows(
                 TaskLimitExceededException.class, () -> taskService.createTask(taskDTO)
         );
 
         assertEquals("Task limit exceeded", exception.getMessage());
+        verifyNoInteractions(taskRepository);
 
         log.warn("Expected exception when limit exceeded caught: {}", exception.getMessage());
     }
@@ -110,32 +165,125 @@ class TaskServiceImplTest {
     void createTask_shouldThrowExceptionWhenTaskTitleExists() {
         log.info("Starting test: createTasks_shouldThrowExceptionWhenTaskTitleExists");
 
-        when(taskRepository.count()).thenReturn(10L);
-        when(taskRepository.existsByTitle("Test Task")).thenReturn(true);
+        admissionControl.admit(TaskAdmissionControl.DEFAULT_OWNER, "Test Task");
+        admissionControl.confirm(2L, TaskAdmissionControl.DEFAULT_OWNER, "Test Task");
 
         DuplicateTaskException exception = assertThrows(
                 DuplicateTaskException.class, () -> taskService.createTask(taskDTO)
         );
 
         assertEquals("Task with title Test Task already exists", exception.getMessage());
+        verifyNoInteractions(taskRepository);
 
         log.warn("Expected exception when task title is duplicate caught: {}", exception.getMessage());
     }
 
+    @Test
+    void createTask_shouldCountTaskAgainstItsOwner() {
+        log.info("Starting test: createTask_shouldCountTaskAgainstItsOwner");
+
+        admitExistingTasks(new TaskQuotaProperties().getDefaultLimit());
+        taskDTO.setOwner("acme");
+        when(taskMapper.toEntity(taskDTO)).thenReturn(task);
+        when(taskRepository.save(task)).thenReturn(task);
+        when(taskMapper.toDto(task)).thenReturn(taskDTO);
+
+        taskService.createTask(taskDTO);
+
+        assertEquals("acme", task.getOwner());
+        assertEquals(1, admissionControl.getQuota("acme").getUsed());
+    }
+
+    @Test
+    void createTask_shouldReleaseAdmissionWhenTransactionFails() {
+        log.info("Starting test: createTask_shouldReleaseAdmissionWhenTransactionFails");
+
+        when(taskMapper.toEntity(taskDTO)).thenReturn(task);
+        when(taskRepository.save(task)).thenThrow(new DataAccessException("Database error") {
+        });
+
+        assertThrows(DataAccessException.class, () -> taskService.createTask(taskDTO));
+
+        assertEquals(0, admissionControl.getQuota(TaskAdmissionControl.DEFAULT_OWNER).getUsed());
+        assertEquals(AdmissionResult.ADMITTED, admissionControl.tryAdmit(TaskAdmissionControl.DEFAULT_OWNER, "Test Task"));
+    }
+
+    @Test
+    void createTask_shouldReportTitleConstraintViolationAsDuplicateWithoutFailover() {
+        log.info("Starting test: createTask_shouldReportTitleConstraintViolationAsDuplicateWithoutFailover");
+
+        when(taskMapper.toEntity(taskDTO)).thenReturn(task);
+        when(taskRepository.save(task)).thenThrow(constraintViolation("PUBLIC.UK_TASK_OWNER_TITLE_INDEX_2"));
+
+        DuplicateTaskException exception = assertThrows(
+                DuplicateTaskException.class, () -> taskService.createTask(taskDTO)
+        );
+
+        assertEquals("Task with title Test Task already exists", exception.getMessage());
+        verify(taskRepository, times(1)).save(task);
+        assertEquals(0, admissionControl.getQuota(TaskAdmissionControl.DEFAULT_OWNER).getUsed());
+    }
+
+    @Test
+    void createTask_shouldRethrowOtherConstraintViolations() {
+        log.info("Starting test: createTask_shouldRethrowOtherConstraintViolations");
+
+        DataIntegrityViolationException violation = constraintViolation("ck_task_priority");
+        when(taskMapper.toEntity(taskDTO)).thenReturn(task);
+        when(taskRepository.save(task)).thenThrow(violation);
+
+        assertSame(violation, assertThrows(DataIntegrityViolationException.class, () -> taskService.createTask(taskDTO)));
+        assertEquals(0, admissionControl.getQuota(TaskAdmissionControl.DEFAULT_OWNER).getUsed());
+    }
+
     @Test
     void getTaskById_shouldReturnTaskWhenExists() {
         log.info("Starting test: getTasksById_shouldReturnTaskWhenExists");
 
         when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskMapper.toDto(task)).thenReturn(taskDTO);
+        when(taskMapper.toEntity(taskDTO)).thenReturn(task);
 
         Optional<Task> result = taskService.getTaskById(1L);
 
         assertTrue(result.isPresent());
         assertEquals(task.getTitle(), result.get().getTitle());
+        verify(transactionTemplate).execute(any());
 
         log.info("Task found successfully: {}", result.get());
     }
 
+    @Test
+    void getTaskById_shouldServeRepeatedLookupsFromCache() {
+        log.info("Starting test: getTaskById_shouldServeRepeatedLookupsFromCache");
+
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskMapper.toDto(task)).thenReturn(taskDTO);
+        when(taskMapper.toEntity(taskDTO)).thenReturn(task);
+
+        taskService.getTaskById(1L);
+        Optional<Task> result = taskService.getTaskById(1L);
+
+        assertTrue(result.isPresent());
+        verify(taskRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void getTaskById_shouldReloadTaskAfterDelete() {
+        log.info("Starting test: getTaskById_shouldReloadTaskAfterDelete");
+
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task), Optional.empty());
+        when(taskRepository.existsById(1L)).thenReturn(true);
+        when(taskMapper.toDto(task)).thenReturn(taskDTO);
+        when(taskMapper.toEntity(taskDTO)).thenReturn(task);
+
+        taskService.getTaskById(1L);
+        taskService.deleteTask(1L, null);
+
+        assertThrows(TaskNotFoundException.class, () -> taskService.getTaskById(1L));
+        verify(taskRepository, times(2)).findById(1L);
+    }
+
     @Test
     void getTaskById_shouldThrowExceptionWhenTaskNotFound() {
         log.info("Starting test: getTasksById_shouldThrowExceptionWhenTaskNotFound");
@@ -156,31 +304,73 @@ class TaskServiceImplTest {
         log.info("Starting test: getAllTasks_shouldReturnAllTasks");
 
         List<Task> tasks = Collections.singletonList(task);
-        when(taskRepository.findAll()).thenReturn(tasks);
+        when(taskRepository.findKeysetPage(any(), any(Sort.class), eq(51))).thenReturn(tasks);
         when(taskMapper.toDto(task)).thenReturn(taskDTO);
 
-        List<TaskDTO> result = taskService.getAllTasks();
+        TaskPageDTO result = taskService.getAllTasks(new TaskFilterDTO(), TaskSortField.ID, null, 50);
 
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(taskDTO.getTitle(), result.getFirst().getTitle());
+        assertEquals(1, result.getItems().size());
+        assertEquals(taskDTO.getTitle(), result.getItems().getFirst().getTitle());
+        assertNull(result.getNextCursor());
 
         log.info("All tasks retrieved successfully: {}", result);
     }
 
+    @Test
+    void getAllTasks_shouldReturnCursorOfLastTaskWhenMoreTasksExist() {
+        log.info("Starting test: getAllTasks_shouldReturnCursorOfLastTaskWhenMoreTasksExist");
+
+        Task next = Task.builder().id(2L).title("Next Task").build();
+        when(taskRepository.findKeysetPage(any(), any(Sort.class), eq(2))).thenReturn(List.of(task, next));
+        when(taskMapper.toDto(task)).thenReturn(taskDTO);
+
+        TaskPageDTO result = taskService.getAllTasks(new TaskFilterDTO(), TaskSortField.DUE_DATE, null, 1);
+
+        assertEquals(1, result.getItems().size());
+        TaskCursor cursor = TaskCursor.decode(result.getNextCursor());
+        assertEquals(TaskSortField.DUE_DATE, cursor.sortBy());
+        assertEquals(task.getId(), cursor.id());
+        assertEquals(task.getDueDate(), cursor.dueDate());
+
+        log.info("Next cursor issued: {}", result.getNextCursor());
+    }
+
+    @Test
+    void getAllTasks_shouldRejectCursorIssuedForDifferentSortOrder() {
+        log.info("Starting test: getAllTasks_shouldRejectCursorIssuedForDifferentSortOrder");
+
+        String cursor = TaskCursor.after(task, TaskSortField.ID).encode();
+
+        assertThrows(InvalidCursorException.class,
+                () -> taskService.getAllTasks(new TaskFilterDTO(), TaskSortField.DUE_DATE, cursor, 10));
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void getAllTasks_shouldRejectMalformedCursor() {
+        log.info("Starting test: getAllTasks_shouldRejectMalformedCursor");
+
+        assertThrows(InvalidCursorException.class,
+                () -> taskService.getAllTasks(new TaskFilterDTO(), TaskSortField.ID, "not-a-cursor", 10));
+    }
+
     @Test
     void updateTasks_shouldUpdateTaskWhenExists() {
         log.info("Starting test: updateTasks_shouldUpdateTaskWhenExists");
 
         when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        when(taskRepository.save(task)).thenReturn(task);
+        when(taskRepository.saveAndFlush(task)).thenReturn(task);
         when(taskMapper.toDto(task)).thenReturn(taskDTO);
 
-        TaskDTO result = taskService.updateTask(1L, taskDTO);
+        TaskDTO result = taskService.updateTask(1L, taskDTO, null);
 
         assertNotNull(result);
         assertEquals(taskDTO.getTitle(), result.getTitle());
-        verify(taskRepository).save(task);
+        verify(taskRepository).saveAndFlush(task);
+        verify(outboxService).enqueue(argThat(event -> isEvent(event, TaskEventType.UPDATED, 1L) && event.getTask() == taskDTO));
+        assertSame(taskDTO, taskCache.get(1L, id -> fail("Updated task should already be cached")));
+        verify(dueDateScheduler).changed(taskDTO, false);
 
         log.info("Task updated successfully: {}", result);
     }
@@ -192,7 +382,7 @@ class TaskServiceImplTest {
         when(taskRepository.findById(1L)).thenReturn(Optional.empty());
 
         TaskNotFoundException exception = assertThrows(
-                TaskNotFoundException.class, () -> taskService.updateTask(1L, taskDTO)
+                TaskNotFoundException.class, () -> taskService.updateTask(1L, taskDTO, null)
         );
 
         assertEquals("Task item with id not found, id: 1", exception.getMessage());
@@ -200,18 +390,100 @@ class TaskServiceImplTest {
         log.warn("Expected exception when task for update not found caught: {}", exception.getMessage());
     }
 
+    @Test
+    void updateTask_shouldRejectStaleVersion() {
+        log.info("Starting test: updateTask_shouldRejectStaleVersion");
+
+        task.setVersion(2L);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+
+        assertThrows(TaskVersionMismatchException.class, () -> taskService.updateTask(1L, taskDTO, 1L));
+        verify(taskRepository, never()).saveAndFlush(any());
+        verify(outboxService, never()).enqueue(any());
+    }
+
+    @Test
+    void updateTask_shouldRejectRenameOntoTitleOfAnotherTask() {
+        log.info("Starting test: updateTask_shouldRejectRenameOntoTitleOfAnotherTask");
+
+        admissionControl.admit(TaskAdmissionControl.DEFAULT_OWNER, "Test Task");
+        admissionControl.confirm(1L, TaskAdmissionControl.DEFAULT_OWNER, "Test Task");
+        admissionControl.admit(TaskAdmissionControl.DEFAULT_OWNER, "Existing Task");
+        admissionControl.confirm(2L, TaskAdmissionControl.DEFAULT_OWNER, "Existing Task");
+        taskDTO.setTitle("Existing Task");
+
+        assertThrows(DuplicateTaskException.class, () -> taskService.updateTask(1L, taskDTO, null));
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void patchTask_shouldReleaseReservedTitleWhenWriteFails() {
+        log.info("Starting test: patchTask_shouldReleaseReservedTitleWhenWriteFails");
+
+        admissionControl.admit(TaskAdmissionControl.DEFAULT_OWNER, "Test Task");
+        admissionControl.confirm(1L, TaskAdmissionControl.DEFAULT_OWNER, "Test Task");
+        when(taskRepository.patch(eq(1L), isNull(), any())).thenThrow(constraintViolation("PUBLIC.UK_TASK_OWNER_TITLE_INDEX_2"));
+
+        assertThrows(DuplicateTaskException.class, () -> taskService.patchTask(1L, Map.of("title", "Renamed Task"), null));
+
+        assertEquals(AdmissionResult.ADMITTED, admissionControl.tryAdmit(TaskAdmissionControl.DEFAULT_OWNER, "Renamed Task"));
+        verify(outboxService, never()).enqueue(any());
+    }
+
+    @Test
+    void deleteTask_shouldDeleteExpectedVersionWithOneStatement() {
+        log.info("Starting test: deleteTask_shouldDeleteExpectedVersionWithOneStatement");
+
+        when(taskRepository.deleteByIdAndVersion(1L, 3L)).thenReturn(1);
+
+        taskService.deleteTask(1L, 3L);
+
+        verify(taskRepository, never()).existsById(any());
+        verify(outboxService).enqueue(argThat(event -> isEvent(event, TaskEventType.DELETED, 1L)));
+    }
+
+    @Test
+    void deleteTask_shouldTellMismatchedVersionFromMissingTask() {
+        log.info("Starting test: deleteTask_shouldTellMismatchedVersionFromMissingTask");
+
+        when(taskRepository.deleteByIdAndVersion(eq(1L), any())).thenReturn(0);
+        when(taskRepository.existsById(1L)).thenReturn(true, false);
+
+        assertThrows(TaskVersionMismatchException.class, () -> taskService.deleteTask(1L, 3L));
+        assertThrows(TaskNotFoundException.class, () -> taskService.deleteTask(1L, 3L));
+        verify(outboxService, never()).enqueue(any());
+    }
+
+    @Test
+    void patchTask_shouldRejectStaleVersion() {
+        log.info("Starting test: patchTask_shouldRejectStaleVersion");
+
+        when(taskRepository.patch(eq(1L), eq(1L), any(TaskPatch.class))).thenReturn(Optional.empty());
+        when(taskRepository.existsById(1L)).thenReturn(true);
+
+        assertThrows(TaskVersionMismatchException.class, () -> taskService.patchTask(1L, Map.of("completed", true), 1L));
+        verify(outboxService, never()).enqueue(any());
+        verifyNoInteractions(dueDateScheduler);
+    }
+
     @Test
     void deleteTasks_shouldDeleteTaskWhenExists() {
         log.info("Starting test: deleteTasks_shouldDeleteTaskWhenExists");
 
+        admissionControl.admit(TaskAdmissionControl.DEFAULT_OWNER, "Test Task");
+        admissionControl.confirm(1L, TaskAdmissionControl.DEFAULT_OWNER, "Test Task");
         when(taskRepository.existsById(1L)).thenReturn(true);
 
-        String result = taskService.deleteTask(1L);
+        String result = taskService.deleteTask(1L, null);
 
         assertNotNull(result);
         assertEquals("Task with ID 1 has been successfully deleted.", result);
 
         verify(taskRepository).deleteById(1L);
+        verify(outboxService).enqueue(argThat(event -> isEvent(event, TaskEventType.DELETED, 1L) && event.getTask() == null));
+        verify(dueDateScheduler).removed(List.of(1L));
+        assertEquals(0, admissionControl.getQuota(TaskAdmissionControl.DEFAULT_OWNER).getUsed());
+        assertEquals(AdmissionResult.ADMITTED, admissionControl.tryAdmit(TaskAdmissionControl.DEFAULT_OWNER, "Test Task"));
 
         log.info(result);
     }
@@ -223,7 +495,7 @@ class TaskServiceImplTest {
         when(taskRepository.existsById(1L)).thenReturn(false);
 
         TaskNotFoundException exception = assertThrows(
-                TaskNotFoundException.class, () -> taskService.deleteTask(1L)
+                TaskNotFoundException.class, () -> taskService.deleteTask(1L, null)
         );
 
         assertEquals("Task item with id not found, id: 1", exception.getMessage());
@@ -231,14 +503,63 @@ class TaskServiceImplTest {
         log.warn("Expected exception when task for delete not found caught: {}", exception.getMessage());
     }
 
+    @Test
+    void patchTask_shouldRecordPatchedFields() {
+        log.info("Starting test: patchTask_shouldRecordPatchedFields");
+
+        task.setCompleted(true);
+        when(taskRepository.patch(eq(1L), isNull(), any(TaskPatch.class))).thenReturn(Optional.of(task));
+        when(taskMapper.toDto(task)).thenReturn(taskDTO);
+
+        taskService.patchTask(1L, Map.of("completed", true), null);
+
+        verify(taskRepository, never()).findById(any());
+        verify(taskRepository, never()).save(any());
+        verify(outboxService).enqueue(argThat(event -> isEvent(event, TaskEventType.PATCHED, 1L)
+                && event.getChangedFields().equals(List.of("completed"))));
+        verify(dueDateScheduler).changed(taskDTO, false);
+    }
+
+    @Test
+    void patchTask_shouldReturnCurrentTaskWithoutEventWhenPatchIsEmpty() {
+        log.info("Starting test: patchTask_shouldReturnCurrentTaskWithoutEventWhenPatchIsEmpty");
+
+        task.setVersion(3L);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskMapper.toDto(task)).thenReturn(taskDTO);
+
+        assertSame(taskDTO, taskService.patchTask(1L, Map.of(), 3L));
+        assertThrows(TaskVersionMismatchException.class, () -> taskService.patchTask(1L, Map.of(), 2L));
+
+        verify(taskRepository, never()).patch(any(), any(), any());
+        verifyNoInteractions(outboxService, dueDateScheduler);
+    }
+
+    @Test
+    void patchTask_shouldThrowTaskNotFoundException() {
+        log.info("Starting test: patchTask_shouldThrowTaskNotFoundException");
+
+        when(taskRepository.patch(eq(1L), isNull(), any(TaskPatch.class))).thenReturn(Optional.empty());
+
+        assertThrows(TaskNotFoundException.class, () -> taskService.patchTask(1L, Map.of("completed", true), null));
+        verify(outboxService, never()).enqueue(any());
+    }
+
+    @Test
+    void patchTask_shouldRejectInvalidFieldsBeforeTouchingTheDatabase() {
+        log.info("Starting test: patchTask_shouldRejectInvalidFieldsBeforeTouchingTheDatabase");
+
+        assertThrows(InvalidTaskPatchException.class, () -> taskService.patchTask(1L, Map.of("owner", "hr"), null));
+        verifyNoInteractions(taskRepository, transactionTemplate);
+    }
+
     @Test
     void createTask_shouldHandleDataAccessExceptionAndSwitchToBackup() {
         log.info("Starting test: createTasks_shouldHandleDataAccessExceptionAndSwitchToBackup");
 
         when(taskMapper.toEntity(taskDTO)).thenReturn(task);
         when(taskRepository.save(task))
-                .thenThrow(new DataAccessException("Database error") {
-                })
+                .thenThrow(new DataAccessResourceFailureException("Database error"))
                 .thenReturn(task);
         when(taskMapper.toDto(task)).thenReturn(taskDTO);
 
@@ -247,7 +568,7 @@ class TaskServiceImplTest {
         assertNotNull(result);
         assertEquals(taskDTO.getTitle(), result.getTitle());
         verify(taskRepository, times(2)).save(task);
-        verify(kafkaTemplate).send("taskmanager-topic", taskDTO);
+        verify(outboxService).enqueue(argThat(event -> event.getEventType() == TaskEventType.CREATED && event.getTask() == taskDTO));
 
         log.info("Task created successfully after switching to backup: {}", result);
     }
@@ -256,9 +577,6 @@ class TaskServiceImplTest {
     void createTasks_shouldCreateTaskWithValidDetails() {
         log.info("Starting test: createTasks_shouldCreateTaskWithValidDetails");
 
-        when(taskRepository.count()).thenReturn(0L);
-        when(taskRepository.existsByTitle("Test Task")).thenReturn(false);
-
         when(taskMapper.toEntity(taskDTO)).thenReturn(task);
         when(taskRepository.save(task)).thenReturn(task);
         when(taskMapper.toDto(task)).thenReturn(taskDTO);
@@ -268,9 +586,183 @@ class TaskServiceImplTest {
         assertNotNull(result);
         assertEquals(taskDTO.getTitle(), result.getTitle());
         verify(taskRepository).save(task);
-        verify(kafkaTemplate).send("taskmanager-topic", taskDTO);
+        verify(outboxService).enqueue(argThat(event -> event.getEventType() == TaskEventType.CREATED && event.getTask() == taskDTO));
         assertEquals(task.getTitle(), result.getTitle());
 
         log.info("Task created successfully with valid details: {}", result);
     }
+
+    @Test
+    void createTasks_shouldReportPerItemResults() {
+        log.info("Starting test: createTasks_shouldReportPerItemResults");
+
+        TaskDTO existing = TaskDTO.builder().title("Existing Task").priority(Priority.LOW).build();
+        TaskDTO repeated = TaskDTO.builder().title("Test Task").priority(Priority.LOW).build();
+        TaskDTO invalid = TaskDTO.builder().title(" ").priority(Priority.LOW).build();
+        TaskDTO created = TaskDTO.builder().id(1L).title("Test Task").build();
+
+        admissionControl.admit(TaskAdmissionControl.DEFAULT_OWNER, "Existing Task");
+        admissionControl.confirm(2L, TaskAdmissionControl.DEFAULT_OWNER, "Existing Task");
+        when(taskMapper.toEntity(taskDTO)).thenReturn(task);
+        when(taskRepository.saveAll(List.of(task))).thenReturn(List.of(task));
+        when(taskMapper.toDto(task)).thenReturn(created);
+
+        BatchResultDTO result = taskService.createTasks(List.of(taskDTO, existing, repeated, invalid));
+
+        assertEquals(1, result.getSucceeded());
+        assertEquals(3, result.getFailed());
+        assertEquals(BatchItemStatus.CREATED, result.getResults().get(0).getStatus());
+        assertEquals(1L, result.getResults().get(0).getId());
+        assertEquals(BatchItemStatus.DUPLICATE, result.getResults().get(1).getStatus());
+        assertEquals(BatchItemStatus.DUPLICATE, result.getResults().get(2).getStatus());
+        assertEquals(BatchItemStatus.INVALID, result.getResults().get(3).getStatus());
+        verify(outboxService).enqueueAll(argThat(events -> events.size() == 1
+                && isEvent(events.getFirst(), TaskEventType.CREATED, 1L)
+                && events.getFirst().getTask() == created));
+
+        log.info("Batch created with results: {}", result.getResults());
+    }
+
+    @Test
+    void createTasks_shouldRejectItemsBeyondTaskLimit() {
+        log.info("Starting test: createTasks_shouldRejectItemsBeyondTaskLimit");
+
+        TaskDTO second = TaskDTO.builder().title("Second Task").priority(Priority.LOW).build();
+
+        admitExistingTasks(new TaskQuotaProperties().getDefaultLimit() - 1);
+        when(taskMapper.toEntity(taskDTO)).thenReturn(task);
+        when(taskRepository.saveAll(List.of(task))).thenReturn(List.of(task));
+        when(taskMapper.toDto(task)).thenReturn(taskDTO);
+
+        BatchResultDTO result = taskService.createTasks(List.of(taskDTO, second));
+
+        assertEquals(BatchItemStatus.CREATED, result.getResults().get(0).getStatus());
+        assertEquals(BatchItemStatus.LIMIT_EXCEEDED, result.getResults().get(1).getStatus());
+    }
+
+    @Test
+    void createTasks_shouldThrowExceptionWhenBatchTooLarge() {
+        log.info("Starting test: createTasks_shouldThrowExceptionWhenBatchTooLarge");
+
+        List<TaskDTO> taskDTOs = Collections.nCopies(1001, taskDTO);
+
+        assertThrows(BatchSizeExceededException.class, () -> taskService.createTasks(taskDTOs));
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void updateTasks_shouldUpdateExistingAndReportMissing() {
+        log.info("Starting test: updateTasks_shouldUpdateExistingAndReportMissing");
+
+        TaskDTO update = TaskDTO.builder().id(1L).title("Updated Task").priority(Priority.LOW).build();
+        TaskDTO missing = TaskDTO.builder().id(2L).title("Missing Task").priority(Priority.LOW).build();
+        TaskDTO before = TaskDTO.builder().id(1L).title("Test Task").priority(Priority.HIGH).build();
+        TaskDTO after = TaskDTO.builder().id(1L).title("Updated Task").priority(Priority.HIGH).build();
+
+        when(taskRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(task));
+        when(taskMapper.toDto(task)).thenReturn(before, after);
+
+        BatchResultDTO result = taskService.updateTasks(List.of(update, missing));
+
+        assertEquals(BatchItemStatus.UPDATED, result.getResults().get(0).getStatus());
+        assertEquals(BatchItemStatus.NOT_FOUND, result.getResults().get(1).getStatus());
+        verify(taskMapper).updateTaskFromDto(update, task);
+        verify(taskRepository).saveAll(any());
+        verify(outboxService).enqueueAll(argThat(events -> events.size() == 1
+                && isEvent(events.getFirst(), TaskEventType.UPDATED, 1L)
+                && events.getFirst().getChangedFields().equals(List.of("title"))));
+    }
+
+    @Test
+    void updateTasks_shouldRejectItemsWithoutTitleOrPriority() {
+        log.info("Starting test: updateTasks_shouldRejectItemsWithoutTitleOrPriority");
+
+        TaskDTO update = TaskDTO.builder().id(1L).title("Updated Task").priority(Priority.LOW).build();
+        TaskDTO blankTitle = TaskDTO.builder().id(2L).title(" ").priority(Priority.LOW).build();
+        TaskDTO noPriority = TaskDTO.builder().id(3L).title("Task 3").build();
+
+        when(taskRepository.findAllById(Set.of(1L))).thenReturn(List.of(task));
+        when(taskMapper.toDto(task)).thenReturn(taskDTO);
+
+        BatchResultDTO result = taskService.updateTasks(List.of(update, blankTitle, noPriority));
+
+        assertEquals(1, result.getSucceeded());
+        assertEquals(BatchItemStatus.INVALID, result.getResults().get(1).getStatus());
+        assertEquals(2L, result.getResults().get(1).getId());
+        assertEquals(BatchItemStatus.INVALID, result.getResults().get(2).getStatus());
+        verify(taskMapper).updateTaskFromDto(update, task);
+        verify(taskMapper, never()).updateTaskFromDto(eq(blankTitle), any());
+        verify(taskMapper, never()).updateTaskFromDto(eq(noPriority), any());
+    }
+
+    @Test
+    void updateTasks_shouldApplyOnlyFirstItemOfRepeatedId() {
+        log.info("Starting test: updateTasks_shouldApplyOnlyFirstItemOfRepeatedId");
+
+        TaskDTO first = TaskDTO.builder().id(1L).title("First Title").priority(Priority.LOW).build();
+        TaskDTO repeated = TaskDTO.builder().id(1L).title("Second Title").priority(Priority.LOW).build();
+
+        when(taskRepository.findAllById(Set.of(1L))).thenReturn(List.of(task));
+        when(taskMapper.toDto(task)).thenReturn(taskDTO);
+
+        BatchResultDTO result = taskService.updateTasks(List.of(first, repeated));
+
+        assertEquals(1, result.getSucceeded());
+        assertEquals(BatchItemStatus.UPDATED, result.getResults().get(0).getStatus());
+        assertEquals(BatchItemStatus.INVALID, result.getResults().get(1).getStatus());
+        assertEquals(1L, result.getResults().get(1).getId());
+        verify(taskMapper).updateTaskFromDto(first, task);
+        verify(taskMapper, never()).updateTaskFromDto(eq(repeated), any());
+        verify(outboxService).enqueueAll(argThat(events -> events.size() == 1));
+    }
+
+    @Test
+    void updateTasks_shouldRejectRenameOntoTitleOfAnotherTask() {
+        log.info("Starting test: updateTasks_shouldRejectRenameOntoTitleOfAnotherTask");
+
+        TaskDTO renamed = TaskDTO.builder().id(1L).title("Existing Task").priority(Priority.LOW).build();
+        admissionControl.admit(TaskAdmissionControl.DEFAULT_OWNER, "Test Task");
+        admissionControl.confirm(1L, TaskAdmissionControl.DEFAULT_OWNER, "Test Task");
+        admissionControl.admit(TaskAdmissionControl.DEFAULT_OWNER, "Existing Task");
+        admissionControl.confirm(2L, TaskAdmissionControl.DEFAULT_OWNER, "Existing Task");
+        when(taskRepository.findAllById(Set.of(1L))).thenReturn(List.of(task));
+
+        BatchResultDTO result = taskService.updateTasks(List.of(renamed));
+
+        assertEquals(0, result.getSucceeded());
+        assertEquals(BatchItemStatus.DUPLICATE, result.getResults().getFirst().getStatus());
+        verify(taskMapper, never()).updateTaskFromDto(any(), any());
+    }
+
+    @Test
+    void deleteTasks_shouldDeleteExistingWithOneStatement() {
+        log.info("Starting test: deleteTasks_shouldDeleteExistingWithOneStatement");
+
+        when(taskRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(task));
+
+        BatchResultDTO result = taskService.deleteTasks(List.of(1L, 2L));
+
+        assertEquals(1, result.getSucceeded());
+        assertEquals(BatchItemStatus.DELETED, result.getResults().get(0).getStatus());
+        assertEquals(BatchItemStatus.NOT_FOUND, result.getResults().get(1).getStatus());
+        verify(taskRepository).deleteAllByIdInBatch(Set.of(1L));
+        verify(outboxService).enqueueAll(argThat(events -> events.size() == 1
+                && isEvent(events.getFirst(), TaskEventType.DELETED, 1L)));
+    }
+
+    private static DataIntegrityViolationException constraintViolation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", new SQLException("violation"), constraintName));
+    }
+
+    private static boolean isEvent(TaskEvent event, TaskEventType eventType, Long taskId) {
+        return event.getEventType() == eventType && taskId.equals(event.getTaskId());
+    }
+
+    private void admitExistingTasks(int count) {
+        for (long id = 100; id < 100 + count; id++) {
+            admissionControl.admit(TaskAdmissionControl.DEFAULT_OWNER, "Existing Task " + id);
+            admissionControl.confirm(id, TaskAdmissionControl.DEFAULT_OWNER, "Existing Task " + id);
+        }
+    }
 }
\ No newline at end of file
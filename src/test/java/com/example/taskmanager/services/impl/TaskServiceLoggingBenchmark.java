@@ -0,0 +1,121 @@
+package com.example.taskmanager.services.impl;
+
+import com.example.taskmanager.benchmark.JmhBaseline;
+import com.example.taskmanager.configs.LoggingConfig;
+import com.example.taskmanager.dtos.TaskDTO;
+import com.example.taskmanager.dtos.TaskPageDTO;
+import com.example.taskmanager.enums.Priority;
+import com.example.taskmanager.enums.TaskSortField;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how the request path logging affects {@code getAllTasks}, in full scans per second of 10,000 tasks read
+ * in pages of 500, end to end against an in-memory H2 database like {@link TaskServiceBenchmark}:
+ * <ul>
+ *     <li>{@code off}: the service logs warnings only, the floor.</li>
+ *     <li>{@code ids}: the default, one INFO line of counts and timings per page.</li>
+ *     <li>{@code sampled}: DEBUG with the default payload sample rate of 1%.</li>
+ *     <li>{@code payload}: DEBUG with every payload logged, as every call used to log its DTOs.</li>
+ * </ul>
+ * Console output is discarded so that the score does not depend on the terminal; building the messages and
+ * handing them to the async appender is still measured.
+ * Run with {@code mvn test -Pbenchmark}; the JMH annotation processor is only enabled in that profile.
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskServiceLoggingBenchmark {
+
+    private static final int TASKS = 10_000;
+    private static final int PAGE_SIZE = 500;
+    private static final int BATCH_SIZE = 1_000;
+
+    @Param({"off", "ids", "sampled", "payload"})
+    private String logging;
+
+    private ConfigurableApplicationContext context;
+    private TaskServiceImpl taskService;
+    private PrintStream stdout;
+
+    @Setup(Level.Trial)
+    public void start() {
+        stdout = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        context = new SpringApplicationBuilder(TaskServiceBenchmark.ServiceConfig.class, LoggingConfig.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:task-service-logging-benchmark;DB_CLOSE_DELAY=-1",
+                        "--taskmanager.quota.default-limit=" + Integer.MAX_VALUE,
+                        "--logging.level.com.example.taskmanager=" + switch (logging) {
+                            case "off" -> "WARN";
+                            case "ids" -> "INFO";
+                            default -> "DEBUG";
+                        },
+                        "--taskmanager.logging.payload-sample-rate=" + ("payload".equals(logging) ? 1 : 0.01));
+        taskService = context.getBean(TaskServiceImpl.class);
+        for (int batch = 0; batch < TASKS / BATCH_SIZE; batch++) {
+            List<TaskDTO> tasks = new ArrayList<>(BATCH_SIZE);
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                tasks.add(TaskDTO.builder()
+                        .title("Task " + (batch * BATCH_SIZE + i))
+                        .description("Collect the figures of every branch and summarize them for the board")
+                        .dueDate(LocalDateTime.now().plusDays(i % 30))
+                        .completed(i % 3 == 0)
+                        .priority(Priority.values()[i % Priority.values().length])
+                        .owner("finance")
+                        .build());
+            }
+            taskService.createTasks(tasks);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+        System.setOut(stdout);
+    }
+
+    @Benchmark
+    public int getAllTasks() {
+        int read = 0;
+        String cursor = null;
+        do {
+            TaskPageDTO page = taskService.getAllTasks(null, TaskSortField.ID, cursor, PAGE_SIZE);
+            read += page.getItems().size();
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return read;
+    }
+
+    @Test
+    void runBenchmarks() throws Exception {
+        JmhBaseline.run(TaskServiceLoggingBenchmark.class);
+    }
+}